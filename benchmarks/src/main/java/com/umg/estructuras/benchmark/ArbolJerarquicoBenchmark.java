@@ -0,0 +1,156 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.arbol.ArbolJerarquicoCompacto;
+import com.umg.estructuras.arbol.ArbolJerarquicoTareas;
+import com.umg.estructuras.arbol.NodoArbolTarea;
+import com.umg.estructuras.arbol.OrdenRecorrido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Árbol jerárquico de tareas (con nodos y compacto) sobre un árbol aleatorio: búsqueda por ID,
+ * consultas de ancestros, recorridos, reducción en uno y en varios hilos, y altas/bajas de hojas.
+ * Las operaciones del árbol registran mensajes INFO, así que se sube el nivel del paquete a WARNING
+ * para no medir la escritura en consola (RegistroBenchmark mide ese coste por separado).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArbolJerarquicoBenchmark {
+    private static final Logger REGISTRO_ESTRUCTURAS = Logger.getLogger("com.umg.estructuras");
+
+    @State(Scope.Benchmark)
+    public static class Arboles {
+        @Param({"100", "1000", "10000", "100000", "1000000"})
+        int tamano;
+
+        ArbolJerarquicoTareas<TareaPrueba> arbol;
+        ArbolJerarquicoCompacto<TareaPrueba> compacto;
+        ForkJoinPool unHilo;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            REGISTRO_ESTRUCTURAS.setLevel(java.util.logging.Level.WARNING);
+            arbol = new ArbolJerarquicoTareas<>(TareaPrueba::getId);
+            compacto = new ArbolJerarquicoCompacto<>(TareaPrueba::getId);
+            SplittableRandom aleatorio = new SplittableRandom(7);
+            for (int i = 0; i < tamano; i++) {
+                TareaPrueba tarea = new TareaPrueba(i, aleatorio.nextInt(1, 40));
+                Long padre = i == 0 ? null : (long) aleatorio.nextInt(i);
+                arbol.agregarTarea(tarea, padre);
+                compacto.agregarTarea(tarea, padre);
+            }
+            compacto.compactar();
+            unHilo = new ForkJoinPool(1);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Consulta {
+        Consultas consultas;
+
+        @Setup(Level.Trial)
+        public void preparar(Arboles arboles) {
+            consultas = new Consultas(arboles.tamano, Thread.currentThread().getId());
+        }
+
+        long id() {
+            return consultas.siguiente();
+        }
+    }
+
+    @Benchmark
+    public NodoArbolTarea<TareaPrueba> buscarNodoPorId(Arboles arboles, Consulta consulta) {
+        return arboles.arbol.buscarNodoPorId(consulta.id());
+    }
+
+    @Benchmark
+    public TareaPrueba buscarTareaCompacto(Arboles arboles, Consulta consulta) {
+        return arboles.compacto.buscarTareaPorId(consulta.id());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public NodoArbolTarea<TareaPrueba> buscarNodoPorIdCuatroHilos(Arboles arboles, Consulta consulta) {
+        return arboles.arbol.buscarNodoPorId(consulta.id());
+    }
+
+    @Benchmark
+    public boolean esDescendiente(Arboles arboles, Consulta consulta) {
+        return arboles.arbol.esDescendiente(consulta.id(), consulta.id());
+    }
+
+    @Benchmark
+    public TareaPrueba ancestroComun(Arboles arboles, Consulta consulta) {
+        return arboles.arbol.ancestroComun(consulta.id(), consulta.id());
+    }
+
+    @Benchmark
+    public long recorrerPreOrden(Arboles arboles) {
+        return arboles.arbol.tareas(OrdenRecorrido.PRE_ORDEN).count();
+    }
+
+    @Benchmark
+    public long recorrerPreOrdenCompacto(Arboles arboles) {
+        return arboles.compacto.tareas(OrdenRecorrido.PRE_ORDEN).count();
+    }
+
+    @Benchmark
+    public Long reducirUnHilo(Arboles arboles) {
+        return arboles.arbol.reducir(TareaPrueba::getHoras, Long::sum, arboles.unHilo);
+    }
+
+    @Benchmark
+    public Long reducirParalelo(Arboles arboles) {
+        return arboles.arbol.reducir(TareaPrueba::getHoras, Long::sum);
+    }
+
+    @Benchmark
+    public Long reducirParaleloCompacto(Arboles arboles) {
+        return arboles.compacto.reducir(TareaPrueba::getHoras, Long::sum);
+    }
+
+    /**
+     * Agrega una hoja bajo un nodo aleatorio y la elimina; cada hilo usa su propio árbol.
+     */
+    @State(Scope.Thread)
+    public static class ArbolPropio {
+        ArbolJerarquicoTareas<TareaPrueba> arbol;
+        Consultas consultas;
+        final TareaPrueba hoja = new TareaPrueba(-1, 1);
+
+        @Setup(Level.Trial)
+        public void preparar(Arboles arboles) {
+            arbol = new ArbolJerarquicoTareas<>(TareaPrueba::getId);
+            for (TareaPrueba tarea : arboles.arbol.obtenerTareasDelArbol()) {
+                TareaPrueba padre = arboles.arbol.obtenerPadre(tarea.getId());
+                arbol.agregarTarea(tarea, padre == null ? null : padre.getId());
+            }
+            consultas = new Consultas(arboles.tamano, 11);
+        }
+    }
+
+    @Benchmark
+    public boolean agregarYEliminarHoja(ArbolPropio propio) {
+        propio.arbol.agregarTarea(propio.hoja, (long) propio.consultas.siguiente());
+        return propio.arbol.eliminarNodoPorId(propio.hoja.getId());
+    }
+}
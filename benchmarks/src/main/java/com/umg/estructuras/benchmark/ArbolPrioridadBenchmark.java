@@ -0,0 +1,68 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.arbol.ArbolPrioridad;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Montículo d-ario de ArbolPrioridad en estado estable, con aridad 2 y 4.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArbolPrioridadBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    int tamano;
+
+    @Param({"2", "4"})
+    int aridad;
+
+    private ArbolPrioridad<TareaPrueba> arbol;
+    private Consultas consultas;
+    private final SplittableRandom aleatorio = new SplittableRandom(3);
+
+    @Setup
+    public void preparar() {
+        arbol = new ArbolPrioridad<>(aridad, true, TareaPrueba::getId);
+        for (int i = 0; i < tamano; i++) {
+            arbol.insertar(new TareaPrueba(i, 1), aleatorio.nextLong());
+        }
+        consultas = new Consultas(tamano, 5);
+    }
+
+    /**
+     * Extrae el máximo y lo reinserta con una prioridad aleatoria.
+     */
+    @Benchmark
+    public TareaPrueba extraerEInsertar() {
+        TareaPrueba tarea = arbol.extraer();
+        arbol.insertar(tarea, aleatorio.nextLong());
+        return tarea;
+    }
+
+    @Benchmark
+    public boolean cambiarPrioridad() {
+        return arbol.cambiarPrioridad(consultas.siguiente(), aleatorio.nextLong());
+    }
+
+    @Benchmark
+    public TareaPrueba peek() {
+        return arbol.peek();
+    }
+}
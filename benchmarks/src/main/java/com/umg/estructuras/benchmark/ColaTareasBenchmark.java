@@ -0,0 +1,110 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.cola.ColaCircularTareas;
+import com.umg.estructuras.cola.ColaTareasConcurrente;
+import com.umg.estructuras.cola.ColaTareasProgramadas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Colas FIFO en estado estable: cada operación encola un dato y desencola otro, de modo que la cola
+ * conserva el tamaño inicial. Los escenarios concurrentes comparten una sola cola entre 4 hilos.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColaTareasBenchmark {
+    private static final Integer DATO = 7;
+
+    @State(Scope.Thread)
+    public static class Colas {
+        @Param({"100", "1000", "10000", "100000", "1000000"})
+        int tamano;
+
+        ColaTareasProgramadas<Integer> programadas;
+        ColaCircularTareas<Integer> circular;
+        ColaTareasConcurrente<Integer> concurrente;
+
+        @Setup
+        public void preparar() {
+            programadas = new ColaTareasProgramadas<>();
+            circular = new ColaCircularTareas<>();
+            concurrente = new ColaTareasConcurrente<>();
+            for (int i = 0; i < tamano; i++) {
+                programadas.enqueue(DATO);
+                circular.enqueue(DATO);
+                concurrente.enqueue(DATO);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ColasCompartidas {
+        @Param({"100", "1000", "10000", "100000", "1000000"})
+        int tamano;
+
+        ColaTareasProgramadas<Integer> programadas;
+        ColaTareasConcurrente<Integer> concurrente;
+
+        @Setup
+        public void preparar() {
+            programadas = new ColaTareasProgramadas<>();
+            concurrente = new ColaTareasConcurrente<>();
+            for (int i = 0; i < tamano; i++) {
+                programadas.enqueue(DATO);
+                concurrente.enqueue(DATO);
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer programadas(Colas colas) {
+        colas.programadas.enqueue(DATO);
+        return colas.programadas.dequeue();
+    }
+
+    @Benchmark
+    public Integer circular(Colas colas) {
+        colas.circular.enqueue(DATO);
+        return colas.circular.dequeue();
+    }
+
+    @Benchmark
+    public Integer concurrenteUnHilo(Colas colas) {
+        colas.concurrente.offer(DATO);
+        return colas.concurrente.poll();
+    }
+
+    /**
+     * Línea base: la cola no concurrente protegida con un cerrojo.
+     */
+    @Benchmark
+    @Threads(4)
+    public Integer programadasSincronizada(ColasCompartidas colas) {
+        synchronized (colas.programadas) {
+            colas.programadas.enqueue(DATO);
+            return colas.programadas.dequeue();
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer concurrenteCuatroHilos(ColasCompartidas colas) {
+        colas.concurrente.offer(DATO);
+        return colas.concurrente.poll();
+    }
+}
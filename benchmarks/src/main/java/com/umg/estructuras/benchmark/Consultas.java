@@ -0,0 +1,25 @@
+package com.umg.estructuras.benchmark;
+
+import java.util.SplittableRandom;
+
+/**
+ * Secuencia circular de índices aleatorios precalculados, para que generar la consulta
+ * no forme parte de lo medido.
+ */
+final class Consultas {
+    private static final int CANTIDAD = 4096; // Potencia de dos
+
+    private final int[] indices = new int[CANTIDAD];
+    private int cursor;
+
+    Consultas(int limite, long semilla) {
+        SplittableRandom aleatorio = new SplittableRandom(semilla);
+        for (int i = 0; i < CANTIDAD; i++) {
+            indices[i] = aleatorio.nextInt(limite);
+        }
+    }
+
+    int siguiente() {
+        return indices[cursor++ & (CANTIDAD - 1)];
+    }
+}
@@ -0,0 +1,139 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.cola.ColaTareasProgramadas;
+import com.umg.estructuras.cola.EjecutorRobaTrabajo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Despacho de tareas cortas con N hilos consumidores: el ejecutor con robo de trabajo frente a
+ * N hilos que compiten por el frente de una sola ColaTareasProgramadas protegida con un cerrojo.
+ * Cada invocación envía un lote y espera a que termine; el resultado es por tarea.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EjecutorBenchmark {
+    private static final int LOTE = 10_000;
+    private static final int TRABAJO = 50; // Unidades de Blackhole.consumeCPU por tarea
+
+    @State(Scope.Benchmark)
+    public static class Consumidores {
+        @Param({"1", "2", "4", "8"})
+        int hilos;
+
+        EjecutorRobaTrabajo<Runnable> ejecutor;
+        ColaCompartida compartida;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            Logger.getLogger("com.umg.estructuras").setLevel(java.util.logging.Level.WARNING);
+            ejecutor = EjecutorRobaTrabajo.deRunnables(hilos, 4 * LOTE, EjecutorRobaTrabajo.hilosDePlataforma("bench-"));
+            compartida = new ColaCompartida(hilos);
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() {
+            ejecutor.close();
+            compartida.cerrar();
+        }
+    }
+
+    /**
+     * Línea base: N hilos sacan tareas de una misma cola con synchronized, wait y notify.
+     */
+    static final class ColaCompartida {
+        private final ColaTareasProgramadas<Runnable> cola = new ColaTareasProgramadas<>();
+        private final Thread[] hilos;
+        private boolean cerrada;
+
+        ColaCompartida(int cantidad) {
+            hilos = new Thread[cantidad];
+            for (int i = 0; i < cantidad; i++) {
+                hilos[i] = new Thread(this::consumir, "bench-compartida-" + i);
+                hilos[i].start();
+            }
+        }
+
+        void enviar(Runnable tarea) {
+            synchronized (cola) {
+                cola.enqueue(tarea);
+                cola.notify();
+            }
+        }
+
+        private void consumir() {
+            while (true) {
+                Runnable tarea;
+                synchronized (cola) {
+                    while (cola.isEmpty()) {
+                        if (cerrada) {
+                            return;
+                        }
+                        try {
+                            cola.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                    tarea = cola.dequeue();
+                }
+                tarea.run();
+            }
+        }
+
+        void cerrar() {
+            synchronized (cola) {
+                cerrada = true;
+                cola.notifyAll();
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void roboDeTrabajo(Consumidores consumidores) throws InterruptedException {
+        CountDownLatch fin = new CountDownLatch(LOTE);
+        Runnable tarea = () -> {
+            Blackhole.consumeCPU(TRABAJO);
+            fin.countDown();
+        };
+        for (int i = 0; i < LOTE; i++) {
+            consumidores.ejecutor.enviar(tarea);
+        }
+        fin.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOTE)
+    public void colaCompartida(Consumidores consumidores) throws InterruptedException {
+        CountDownLatch fin = new CountDownLatch(LOTE);
+        Runnable tarea = () -> {
+            Blackhole.consumeCPU(TRABAJO);
+            fin.countDown();
+        };
+        for (int i = 0; i < LOTE; i++) {
+            consumidores.compartida.enviar(tarea);
+        }
+        fin.await();
+    }
+}
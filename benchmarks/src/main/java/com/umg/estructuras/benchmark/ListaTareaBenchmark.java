@@ -0,0 +1,80 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.lista.ListaTarea;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ListaTarea enlazada, con y sin índice hash: búsqueda, inserción/eliminación y recorridos
+ * secuencial y paralelo.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ListaTareaBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    int tamano;
+
+    @Param({"false", "true"})
+    boolean indexada;
+
+    private ListaTarea<Integer> lista;
+    private Integer[] datos;
+    private Consultas consultas;
+
+    @Setup
+    public void preparar() {
+        datos = new Integer[tamano];
+        lista = new ListaTarea<>(indexada);
+        for (int i = 0; i < tamano; i++) {
+            datos[i] = i;
+            lista.agregar(datos[i]);
+        }
+        consultas = new Consultas(tamano, 42);
+    }
+
+    @Benchmark
+    public boolean buscar() {
+        return lista.buscar(datos[consultas.siguiente()]);
+    }
+
+    /**
+     * Quita un dato y lo vuelve a agregar al final, con el tamaño de la lista constante.
+     */
+    @Benchmark
+    public boolean eliminarYAgregar() {
+        Integer dato = datos[consultas.siguiente()];
+        boolean eliminado = lista.eliminar(dato);
+        lista.agregar(dato);
+        return eliminado;
+    }
+
+    @Benchmark
+    public long recorrer() {
+        long suma = 0;
+        for (Integer dato : lista) {
+            suma += dato;
+        }
+        return suma;
+    }
+
+    @Benchmark
+    public long recorrerParalelo() {
+        return lista.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
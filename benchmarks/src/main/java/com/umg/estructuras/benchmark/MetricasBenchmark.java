@@ -0,0 +1,83 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.arbol.ArbolJerarquicoTareas;
+import com.umg.estructuras.cola.ColaTareasProgramadas;
+import com.umg.estructuras.pila.PilaAcciones;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Costo de las métricas: las mismas operaciones con las métricas deshabilitadas y habilitadas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricasBenchmark {
+    private static final Integer DATO = 7;
+    private static final int TAMANO = 10_000;
+
+    @State(Scope.Thread)
+    public static class Estructuras {
+        @Param({"false", "true"})
+        boolean metricas;
+
+        ColaTareasProgramadas<Integer> cola;
+        PilaAcciones<Integer> pila;
+        ArbolJerarquicoTareas<TareaPrueba> arbol;
+        Consultas consultas;
+
+        @Setup
+        public void preparar() {
+            cola = new ColaTareasProgramadas<>();
+            pila = new PilaAcciones<>();
+            for (int i = 0; i < TAMANO; i++) {
+                cola.enqueue(DATO);
+                pila.push(DATO);
+            }
+            Logger.getLogger("com.umg.estructuras").setLevel(java.util.logging.Level.WARNING);
+            arbol = new ArbolJerarquicoTareas<>(TareaPrueba::getId);
+            SplittableRandom aleatorio = new SplittableRandom(7);
+            for (int i = 0; i < TAMANO; i++) {
+                arbol.agregarTarea(new TareaPrueba(i, 1), i == 0 ? null : (long) aleatorio.nextInt(i));
+            }
+            consultas = new Consultas(TAMANO, 11);
+            if (metricas) {
+                cola.habilitarMetricas("cola");
+                pila.habilitarMetricas("pila");
+                arbol.habilitarMetricas("arbol");
+            }
+        }
+    }
+
+    @Benchmark
+    public Integer cola(Estructuras e) {
+        e.cola.enqueue(DATO);
+        return e.cola.dequeue();
+    }
+
+    @Benchmark
+    public Integer pila(Estructuras e) {
+        e.pila.push(DATO);
+        return e.pila.pop();
+    }
+
+    @Benchmark
+    public TareaPrueba buscarEnArbol(Estructuras e) {
+        return e.arbol.buscarTareaPorId((long) e.consultas.siguiente());
+    }
+}
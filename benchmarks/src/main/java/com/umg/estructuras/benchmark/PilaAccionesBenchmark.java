@@ -0,0 +1,103 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.pila.PilaAcciones;
+import com.umg.estructuras.pila.PilaPersistente;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pilas de acciones: la pila de arreglo circular (sin límite y acotada, siempre llena)
+ * y la pila persistente, incluida la lectura concurrente de una instantánea.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PilaAccionesBenchmark {
+    private static final Integer ACCION = 7;
+
+    @State(Scope.Thread)
+    public static class Pilas {
+        @Param({"100", "1000", "10000", "100000", "1000000"})
+        int tamano;
+
+        PilaAcciones<Integer> pila;
+        PilaAcciones<Integer> acotada;
+        PilaPersistente<Integer> persistente;
+
+        @Setup
+        public void preparar() {
+            pila = new PilaAcciones<>();
+            acotada = new PilaAcciones<>(tamano);
+            persistente = PilaPersistente.vacia();
+            for (int i = 0; i < tamano; i++) {
+                pila.push(ACCION);
+                acotada.push(ACCION);
+                persistente = persistente.push(ACCION);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Instantanea {
+        @Param({"100", "1000", "10000", "100000", "1000000"})
+        int tamano;
+
+        volatile PilaPersistente<Integer> version;
+
+        @Setup
+        public void preparar() {
+            PilaPersistente<Integer> pila = PilaPersistente.vacia();
+            for (int i = 0; i < tamano; i++) {
+                pila = pila.push(i);
+            }
+            version = pila;
+        }
+    }
+
+    @Benchmark
+    public Integer pushPop(Pilas pilas) {
+        pilas.pila.push(ACCION);
+        return pilas.pila.pop();
+    }
+
+    /**
+     * Push sobre una pila acotada llena: cada operación descarta la acción más antigua.
+     */
+    @Benchmark
+    public int pushAcotada(Pilas pilas) {
+        pilas.acotada.push(ACCION);
+        return pilas.acotada.size();
+    }
+
+    @Benchmark
+    public PilaPersistente<Integer> pushPopPersistente(Pilas pilas) {
+        return pilas.persistente.push(ACCION).pop();
+    }
+
+    /**
+     * Cuatro hilos recorren a la vez la misma versión persistente, sin bloqueos.
+     */
+    @Benchmark
+    @Threads(4)
+    public long recorrerInstantaneaConcurrente(Instantanea instantanea) {
+        long suma = 0;
+        for (Integer accion : instantanea.version) {
+            suma += accion;
+        }
+        return suma;
+    }
+}
@@ -0,0 +1,113 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.arbol.ArbolJerarquicoTareas;
+import com.umg.estructuras.cola.ColaTareasProgramadas;
+import com.umg.estructuras.lista.ListaTarea;
+import com.umg.estructuras.pila.PilaAcciones;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Coste del registro (java.util.logging) en las operaciones frecuentes. Con el nivel en INFO, los
+ * mensajes FINE están desactivados y, ejecutado con {@code -prof gc}, gc.alloc.rate.norm debe mostrar
+ * 0 B/op en pushPop e isEmpty y solo el nodo en enqueueDequeue. Con FINE activado cada operación
+ * formatea su mensaje (hacia un manejador que lo descarta), lo que muestra el coste evitado.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RegistroBenchmark {
+    private static final Logger REGISTRO_ESTRUCTURAS = Logger.getLogger("com.umg.estructuras");
+    private static final Integer DATO = 7;
+
+    @Param({"INFO", "FINE"})
+    String nivel;
+
+    private final Handler descartar = new Handler() {
+        @Override
+        public void publish(LogRecord registro) {
+            if (isLoggable(registro) && getFormatter() != null) {
+                getFormatter().formatMessage(registro);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private PilaAcciones<Integer> pila;
+    private ColaTareasProgramadas<Integer> cola;
+    private ListaTarea<Integer> lista;
+    private ArbolJerarquicoTareas<TareaPrueba> arbol;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        descartar.setFormatter(new java.util.logging.SimpleFormatter());
+        descartar.setLevel(java.util.logging.Level.ALL);
+        REGISTRO_ESTRUCTURAS.setUseParentHandlers(false);
+        REGISTRO_ESTRUCTURAS.addHandler(descartar);
+        REGISTRO_ESTRUCTURAS.setLevel(java.util.logging.Level.parse(nivel));
+        pila = new PilaAcciones<>();
+        cola = new ColaTareasProgramadas<>();
+        cola.enqueue(DATO);
+        lista = new ListaTarea<>();
+        arbol = new ArbolJerarquicoTareas<>(TareaPrueba::getId);
+        arbol.agregarTarea(new TareaPrueba(1, 1), null);
+    }
+
+    @TearDown(Level.Trial)
+    public void terminar() {
+        REGISTRO_ESTRUCTURAS.removeHandler(descartar);
+        REGISTRO_ESTRUCTURAS.setUseParentHandlers(true);
+        REGISTRO_ESTRUCTURAS.setLevel(null);
+    }
+
+    @Benchmark
+    public Integer pushPop() {
+        pila.push(DATO);
+        return pila.pop();
+    }
+
+    @Benchmark
+    public Integer enqueueDequeue() {
+        cola.enqueue(DATO);
+        return cola.dequeue();
+    }
+
+    @Benchmark
+    public boolean isEmpty() {
+        return lista.estaVacia();
+    }
+
+    /**
+     * Búsqueda en el árbol, que todavía registra un mensaje INFO por llamada.
+     */
+    @Benchmark
+    public Object buscarNodoPorId() {
+        return arbol.buscarNodoPorId(1L);
+    }
+}
@@ -0,0 +1,25 @@
+package com.umg.estructuras.benchmark;
+
+import com.umg.estructuras.arbol.Identificable;
+
+/**
+ * Dato mínimo usado por los benchmarks: un ID y unas horas estimadas.
+ */
+public final class TareaPrueba implements Identificable {
+    private final long id;
+    private final long horas;
+
+    public TareaPrueba(long id, long horas) {
+        this.id = id;
+        this.horas = horas;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    public long getHoras() {
+        return horas;
+    }
+}
@@ -0,0 +1,76 @@
+package com.umg.estructuras.arbol;
+
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Valor agregado de un subárbol (por ejemplo, la suma del esfuerzo o el número de tareas pendientes),
+ * definido por el valor de cada dato y una operación combinar asociativa y conmutativa
+ * (un movimiento combina la parte del nodo al final, aunque haya otros hijos después de él).
+ * ArbolJerarquicoTareas lo mantiene en cada nodo al agregar, eliminar y mover tareas.
+ * Si además existe restar (la operación inversa), las eliminaciones cuestan O(profundidad); si no,
+ * cada ancestro se recalcula a partir de sus hijos.
+ * @param <T> Tipo de los datos del árbol.
+ * @param <A> Tipo del valor agregado.
+ */
+public interface Agregado<T, A> {
+
+    /**
+     * Valor que aporta un solo dato, sin contar sus descendientes.
+     */
+    A valor(T dato);
+
+    A combinar(A a, A b);
+
+    /**
+     * Indica si restar está disponible.
+     */
+    default boolean tieneInverso() {
+        return false;
+    }
+
+    /**
+     * Quita una parte de un total, de modo que combinar(restar(total, parte), parte) sea total.
+     */
+    default A restar(A total, A parte) {
+        throw new UnsupportedOperationException("Este agregado no tiene operación inversa.");
+    }
+
+    /**
+     * Suma de un valor numérico de cada dato.
+     * @param valor Función que obtiene el valor de un dato.
+     * @return El agregado de suma.
+     */
+    static <T> Agregado<T, Long> suma(ToLongFunction<? super T> valor) {
+        return new Agregado<T, Long>() {
+            @Override
+            public Long valor(T dato) {
+                return valor.applyAsLong(dato);
+            }
+
+            @Override
+            public Long combinar(Long a, Long b) {
+                return a + b;
+            }
+
+            @Override
+            public boolean tieneInverso() {
+                return true;
+            }
+
+            @Override
+            public Long restar(Long total, Long parte) {
+                return total - parte;
+            }
+        };
+    }
+
+    /**
+     * Número de datos que cumplen una condición.
+     * @param condicion La condición a contar.
+     * @return El agregado de conteo.
+     */
+    static <T> Agregado<T, Long> conteo(Predicate<? super T> condicion) {
+        return suma(dato -> condicion.test(dato) ? 1L : 0L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.umg.estructuras.arbol;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Operaciones comunes a los árboles jerárquicos de tareas, identificadas por el ID de su dato.
+ * ArbolJerarquicoTareas (nodos enlazados) expone además los nodos y mantiene agregados por subárbol;
+ * ArbolJerarquicoCompacto (arreglos paralelos de primitivos) ocupa varias veces menos memoria por tarea.
+ * @param <T> Tipo de los datos.
+ */
+public interface ArbolJerarquico<T> {
+
+    /**
+     * Agrega una tarea como último hijo de la tarea con el ID indicado. Si el árbol está vacío,
+     * la tarea pasa a ser la raíz; si el padre es null o no existe, se agrega como hijo de la raíz.
+     * @param dato El dato a agregar.
+     * @param idPadre El ID del dato padre.
+     */
+    void agregarTarea(T dato, Long idPadre);
+
+    /**
+     * Busca una tarea por su ID.
+     * @param id El ID a buscar.
+     * @return El dato, o null si no se encuentra.
+     */
+    T buscarTareaPorId(Long id);
+
+    /**
+     * Obtiene el padre de una tarea.
+     * @param id El ID de la tarea.
+     * @return El dato padre, o null si la tarea es la raíz o no existe.
+     */
+    T obtenerPadre(Long id);
+
+    /**
+     * Obtiene los hijos directos de una tarea.
+     * @param id El ID de la tarea.
+     * @return Los datos de los hijos (vacía si la tarea no existe o es una hoja).
+     */
+    List<T> obtenerHijos(Long id);
+
+    /**
+     * Obtiene una lista plana de todos los datos del árbol, en pre-orden.
+     * @return Una lista de todos los datos en el árbol.
+     */
+    List<T> obtenerTareasDelArbol();
+
+    /**
+     * Elimina una tarea y todo su subárbol.
+     * @param idDato El ID de la tarea a eliminar.
+     * @return true si la tarea fue eliminada, false en caso contrario.
+     */
+    boolean eliminarNodoPorId(Long idDato);
+
+    /**
+     * Mueve una tarea (con su subárbol) bajo un nuevo padre. Falla si el nuevo padre es la propia
+     * tarea o uno de sus descendientes.
+     * @param idDatoAMover El ID de la tarea a mover.
+     * @param nuevoIdPadre El ID del nuevo padre; si es null, se mueve como hijo de la raíz.
+     * @return true si la tarea fue movida, false en caso contrario.
+     */
+    boolean moverNodo(Long idDatoAMover, Long nuevoIdPadre);
+
+    /**
+     * Devuelve un iterador perezoso sobre los datos del árbol, sin recursión.
+     * @param orden El orden del recorrido.
+     * @return El iterador de datos.
+     */
+    Iterator<T> iteradorTareas(OrdenRecorrido orden);
+
+    /**
+     * Devuelve un Stream secuencial y perezoso de los datos del árbol.
+     * @param orden El orden del recorrido.
+     * @return El Stream de datos.
+     */
+    default Stream<T> tareas(OrdenRecorrido orden) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iteradorTareas(orden),
+                Spliterator.ORDERED), false);
+    }
+
+    /**
+     * Reduce todos los datos del árbol en paralelo; combinar debe ser asociativa y conmutativa.
+     * @param mapeo Función que obtiene el valor de cada dato.
+     * @param combinar Función que combina dos valores.
+     * @return El resultado, o null si el árbol está vacío.
+     */
+    <R> R reducir(Function<? super T, ? extends R> mapeo, BinaryOperator<R> combinar);
+
+    boolean estaVacio();
+
+    int tamano();
+}
@@ -0,0 +1,615 @@
+package com.umg.estructuras.arbol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+/**
+ * Árbol jerárquico de tareas almacenado en arreglos paralelos de primitivos, sin un objeto por nodo.
+ * Cada tarea ocupa una casilla: su dato, su ID y los índices {@code int} de su padre, primer hijo,
+ * último hijo y hermanos anterior y siguiente (unos 44 bytes por tarea contando el índice por ID, frente
+ * a más de 100 de un NodoArbolTarea). Con el hermano anterior, desenlazar una tarea para moverla o
+ * eliminarla es O(1). Las casillas liberadas se reutilizan, y cuando los
+ * huecos superan a las tareas el árbol se compacta dejando las casillas en pre-orden, de modo que el
+ * primer hijo de cada tarea queda justo a continuación y los recorridos avanzan secuencialmente en memoria.
+ * Los recorridos en profundidad no necesitan pila: siguen los índices de padre y hermano.
+ * @param <T> Tipo de los datos.
+ */
+public class ArbolJerarquicoCompacto<T> implements ArbolJerarquico<T> {
+    private static final Logger LOGGER = Logger.getLogger(ArbolJerarquicoCompacto.class.getName());
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final long CONSTANTE_FIBONACCI = 0x9E3779B97F4A7C15L;
+    private static final int NINGUNO = -1;
+    private static final int LIBRE = -2; // Marca en padre[] de una casilla libre
+
+    private final ToLongFunction<? super T> extractorId;
+
+    private Object[] datos;
+    private long[] ids;
+    private int[] padre;
+    private int[] primerHijo;
+    private int[] ultimoHijo;
+    private int[] siguienteHermano; // En las casillas libres, siguiente casilla libre
+    private int[] hermanoAnterior;
+
+    private int raiz = NINGUNO;
+    private int usadas;   // Casillas usadas alguna vez (las demás nunca se han ocupado)
+    private int libre = NINGUNO;
+    private int libres;
+    private int tamano;
+    private int modificaciones; // Cambios estructurales, para los iteradores fail-fast
+
+    // Índice ID → casilla por direccionamiento abierto; guarda casilla + 1 (0 es vacío) y la clave se lee de ids[]
+    private int[] tabla;
+    private int indexadas;
+
+    /**
+     * Crea un árbol que obtiene el ID de cada dato con {@link Identificable#getId()} o su campo 'id'.
+     */
+    public ArbolJerarquicoCompacto() {
+        this(ExtractorIdPorCampo.INSTANCIA);
+    }
+
+    /**
+     * Crea un árbol que obtiene el ID de cada dato con la función indicada.
+     * @param extractorId Función que devuelve el ID de un dato.
+     */
+    public ArbolJerarquicoCompacto(ToLongFunction<? super T> extractorId) {
+        this.extractorId = Objects.requireNonNull(extractorId, "extractorId");
+        reservar(CAPACIDAD_INICIAL);
+        LOGGER.log(Level.INFO, "ArbolJerarquicoCompacto creado.");
+    }
+
+    private void reservar(int capacidad) {
+        datos = new Object[capacidad];
+        ids = new long[capacidad];
+        padre = new int[capacidad];
+        primerHijo = new int[capacidad];
+        ultimoHijo = new int[capacidad];
+        siguienteHermano = new int[capacidad];
+        hermanoAnterior = new int[capacidad];
+        tabla = new int[capacidadTabla(capacidad)];
+    }
+
+    /**
+     * Menor potencia de dos que mantiene el factor de carga del índice por debajo de 0.75.
+     */
+    private static int capacidadTabla(int casillas) {
+        int necesaria = (int) Math.min(1 << 30, (long) casillas * 4 / 3 + 1);
+        return Math.max(CAPACIDAD_INICIAL, Integer.highestOneBit(necesaria - 1) << 1);
+    }
+
+    @Override
+    public void agregarTarea(T dato, Long idPadre) {
+        int casilla = nuevaCasilla(dato);
+        if (raiz == NINGUNO) {
+            raiz = casilla;
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Dato ''{0}'' agregado como raíz del árbol.", dato);
+            }
+        } else {
+            int casillaPadre = idPadre != null ? buscarCasilla(idPadre) : NINGUNO;
+            if (casillaPadre == NINGUNO) {
+                LOGGER.log(Level.WARNING, "Padre con ID {0} no encontrado para el dato ''{1}''. Agregando como hijo de la raíz principal.",
+                        new Object[]{idPadre, dato});
+                casillaPadre = raiz;
+            }
+            enlazar(casilla, casillaPadre);
+        }
+        indexar(casilla);
+        tamano++;
+        modificaciones++;
+    }
+
+    private int nuevaCasilla(T dato) {
+        int casilla;
+        if (libre != NINGUNO) {
+            casilla = libre;
+            libre = siguienteHermano[casilla];
+            libres--;
+        } else {
+            if (usadas == datos.length) {
+                crecer();
+            }
+            casilla = usadas++;
+        }
+        datos[casilla] = dato;
+        padre[casilla] = NINGUNO;
+        primerHijo[casilla] = NINGUNO;
+        ultimoHijo[casilla] = NINGUNO;
+        siguienteHermano[casilla] = NINGUNO;
+        hermanoAnterior[casilla] = NINGUNO;
+        return casilla;
+    }
+
+    private void crecer() {
+        int capacidad = datos.length + (datos.length >> 1);
+        datos = Arrays.copyOf(datos, capacidad);
+        ids = Arrays.copyOf(ids, capacidad);
+        padre = Arrays.copyOf(padre, capacidad);
+        primerHijo = Arrays.copyOf(primerHijo, capacidad);
+        ultimoHijo = Arrays.copyOf(ultimoHijo, capacidad);
+        siguienteHermano = Arrays.copyOf(siguienteHermano, capacidad);
+        hermanoAnterior = Arrays.copyOf(hermanoAnterior, capacidad);
+        if (tabla.length < capacidadTabla(capacidad)) {
+            reconstruirTabla(capacidadTabla(capacidad));
+        }
+    }
+
+    /**
+     * Agrega una casilla como último hijo de otra. O(1).
+     */
+    private void enlazar(int casilla, int casillaPadre) {
+        padre[casilla] = casillaPadre;
+        siguienteHermano[casilla] = NINGUNO;
+        hermanoAnterior[casilla] = ultimoHijo[casillaPadre];
+        if (ultimoHijo[casillaPadre] == NINGUNO) {
+            primerHijo[casillaPadre] = casilla;
+        } else {
+            siguienteHermano[ultimoHijo[casillaPadre]] = casilla;
+        }
+        ultimoHijo[casillaPadre] = casilla;
+    }
+
+    /**
+     * Quita una casilla de la lista de hijos de su padre. O(1).
+     */
+    private void desenlazar(int casilla) {
+        int casillaPadre = padre[casilla];
+        int anterior = hermanoAnterior[casilla];
+        int siguiente = siguienteHermano[casilla];
+        if (anterior == NINGUNO) {
+            primerHijo[casillaPadre] = siguiente;
+        } else {
+            siguienteHermano[anterior] = siguiente;
+        }
+        if (siguiente == NINGUNO) {
+            ultimoHijo[casillaPadre] = anterior;
+        } else {
+            hermanoAnterior[siguiente] = anterior;
+        }
+        padre[casilla] = NINGUNO;
+        siguienteHermano[casilla] = NINGUNO;
+        hermanoAnterior[casilla] = NINGUNO;
+    }
+
+    private int posicionInicial(long id) {
+        return (int) ((id * CONSTANTE_FIBONACCI) >>> 32) & (tabla.length - 1);
+    }
+
+    private void indexar(int casilla) {
+        T dato = dato(casilla);
+        long id;
+        try {
+            id = extractorId.applyAsLong(dato);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "No se pudo obtener el ID del dato {0}; la tarea no queda indexada: {1}", new Object[]{dato, e.getMessage()});
+            ids[casilla] = 0;
+            return;
+        }
+        ids[casilla] = id;
+        int mascara = tabla.length - 1;
+        int i = posicionInicial(id);
+        while (tabla[i] != 0) {
+            if (ids[tabla[i] - 1] == id) {
+                LOGGER.log(Level.WARNING, "Ya existía una tarea con ID {0}; el índice apunta ahora a la más reciente.", id);
+                tabla[i] = casilla + 1;
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        tabla[i] = casilla + 1;
+        if (++indexadas > tabla.length - (tabla.length >> 2)) {
+            reconstruirTabla(tabla.length << 1);
+        }
+    }
+
+    private int buscarCasilla(long id) {
+        int mascara = tabla.length - 1;
+        int i = posicionInicial(id);
+        int entrada;
+        while ((entrada = tabla[i]) != 0) {
+            if (ids[entrada - 1] == id) {
+                return entrada - 1;
+            }
+            i = (i + 1) & mascara;
+        }
+        return NINGUNO;
+    }
+
+    /**
+     * Quita una casilla del índice si el índice apunta a ella, con borrado por desplazamiento hacia atrás.
+     */
+    private void desindexar(int casilla) {
+        int mascara = tabla.length - 1;
+        int i = posicionInicial(ids[casilla]);
+        while (tabla[i] != 0 && tabla[i] != casilla + 1) {
+            i = (i + 1) & mascara;
+        }
+        if (tabla[i] == 0) {
+            return; // Tarea no indexada o reemplazada por otra con el mismo ID
+        }
+        int hueco = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mascara;
+            int entrada = tabla[j];
+            if (entrada == 0) {
+                break;
+            }
+            int inicial = posicionInicial(ids[entrada - 1]);
+            // Se mueve si su posición inicial no está en el tramo circular (hueco, j]
+            if (((j - inicial) & mascara) >= ((j - hueco) & mascara)) {
+                tabla[hueco] = entrada;
+                hueco = j;
+            }
+        }
+        tabla[hueco] = 0;
+        indexadas--;
+    }
+
+    private void reconstruirTabla(int capacidad) {
+        int[] anterior = tabla;
+        tabla = new int[capacidad];
+        int mascara = capacidad - 1;
+        for (int entrada : anterior) {
+            if (entrada != 0) {
+                int i = posicionInicial(ids[entrada - 1]);
+                while (tabla[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                tabla[i] = entrada;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private T dato(int casilla) {
+        return (T) datos[casilla];
+    }
+
+    @Override
+    public T buscarTareaPorId(Long id) {
+        int casilla = id != null ? buscarCasilla(id) : NINGUNO;
+        return casilla == NINGUNO ? null : dato(casilla);
+    }
+
+    @Override
+    public T obtenerPadre(Long id) {
+        int casilla = id != null ? buscarCasilla(id) : NINGUNO;
+        return casilla == NINGUNO || padre[casilla] == NINGUNO ? null : dato(padre[casilla]);
+    }
+
+    @Override
+    public List<T> obtenerHijos(Long id) {
+        List<T> hijos = new ArrayList<>();
+        int casilla = id != null ? buscarCasilla(id) : NINGUNO;
+        if (casilla != NINGUNO) {
+            for (int hijo = primerHijo[casilla]; hijo != NINGUNO; hijo = siguienteHermano[hijo]) {
+                hijos.add(dato(hijo));
+            }
+        }
+        return hijos;
+    }
+
+    /**
+     * Obtiene el dato de la raíz del árbol.
+     * @return El dato raíz, o null si el árbol está vacío.
+     */
+    public T obtenerRaiz() {
+        return raiz == NINGUNO ? null : dato(raiz);
+    }
+
+    @Override
+    public List<T> obtenerTareasDelArbol() {
+        List<T> lista = new ArrayList<>(tamano);
+        for (int casilla = raiz; casilla != NINGUNO; casilla = siguientePreOrden(casilla, raiz)) {
+            lista.add(dato(casilla));
+        }
+        return lista;
+    }
+
+    @Override
+    public boolean estaVacio() {
+        return raiz == NINGUNO;
+    }
+
+    @Override
+    public int tamano() {
+        return tamano;
+    }
+
+    @Override
+    public boolean eliminarNodoPorId(Long idDato) {
+        int casilla = idDato != null ? buscarCasilla(idDato) : NINGUNO;
+        if (casilla == NINGUNO) {
+            LOGGER.log(Level.WARNING, "No se encontró la tarea con ID: {0} para eliminar.", idDato);
+            return false;
+        }
+        if (casilla == raiz) {
+            limpiar();
+            LOGGER.log(Level.INFO, "Raíz del árbol eliminada con ID: {0}", idDato);
+            return true;
+        }
+        desenlazar(casilla);
+        // Se liberan en post-orden: cada casilla se libera después de calcular la siguiente
+        for (int actual = primeraPostOrden(casilla); actual != NINGUNO; ) {
+            int siguiente = siguientePostOrden(actual, casilla);
+            liberar(actual);
+            actual = siguiente;
+        }
+        modificaciones++;
+        if (libres > tamano) {
+            compactar();
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Tarea con ID {0} eliminada junto con su subárbol. Tamaño: {1}", new Object[]{idDato, tamano});
+        }
+        return true;
+    }
+
+    private void liberar(int casilla) {
+        desindexar(casilla);
+        datos[casilla] = null;
+        padre[casilla] = LIBRE;
+        siguienteHermano[casilla] = libre;
+        libre = casilla;
+        libres++;
+        tamano--;
+    }
+
+    /**
+     * Elimina todas las tareas, conservando los arreglos reservados.
+     */
+    public void limpiar() {
+        Arrays.fill(datos, 0, usadas, null);
+        Arrays.fill(tabla, 0);
+        raiz = NINGUNO;
+        usadas = 0;
+        libre = NINGUNO;
+        libres = 0;
+        tamano = 0;
+        indexadas = 0;
+        modificaciones++;
+    }
+
+    @Override
+    public boolean moverNodo(Long idDatoAMover, Long nuevoIdPadre) {
+        int casilla = idDatoAMover != null ? buscarCasilla(idDatoAMover) : NINGUNO;
+        if (casilla == NINGUNO) {
+            LOGGER.log(Level.WARNING, "No se encontró la tarea con ID {0} para mover.", idDatoAMover);
+            return false;
+        }
+        int nuevoPadre;
+        if (nuevoIdPadre != null) {
+            nuevoPadre = buscarCasilla(nuevoIdPadre);
+            if (nuevoPadre == NINGUNO) {
+                LOGGER.log(Level.WARNING, "No se encontró el nuevo padre con ID {0}.", nuevoIdPadre);
+                return false;
+            }
+        } else if (casilla == raiz) {
+            return true;
+        } else {
+            nuevoPadre = raiz;
+        }
+        // Rechazar ciclos: la casilla no puede ser el nuevo padre ni uno de sus ancestros
+        for (int ancestro = nuevoPadre; ancestro != NINGUNO; ancestro = padre[ancestro]) {
+            if (ancestro == casilla) {
+                LOGGER.log(Level.WARNING, "No se puede mover la tarea con ID {0} bajo sí misma o uno de sus descendientes (ID {1}).",
+                        new Object[]{idDatoAMover, nuevoIdPadre});
+                return false;
+            }
+        }
+        desenlazar(casilla);
+        enlazar(casilla, nuevoPadre);
+        modificaciones++;
+        return true;
+    }
+
+    /**
+     * Reubica las tareas en pre-orden al principio de los arreglos, eliminando los huecos y
+     * ajustando la capacidad. Se invoca automáticamente cuando los huecos superan a las tareas. O(n).
+     */
+    public void compactar() {
+        int capacidad = Math.max(CAPACIDAD_INICIAL, tamano + (tamano >> 3));
+        int[] nuevaCasilla = new int[usadas];
+        int n = 0;
+        for (int casilla = raiz; casilla != NINGUNO; casilla = siguientePreOrden(casilla, raiz)) {
+            nuevaCasilla[casilla] = n++;
+        }
+        Object[] nuevosDatos = new Object[capacidad];
+        long[] nuevosIds = new long[capacidad];
+        int[] nuevoPadre = new int[capacidad];
+        int[] nuevoPrimerHijo = new int[capacidad];
+        int[] nuevoUltimoHijo = new int[capacidad];
+        int[] nuevoSiguienteHermano = new int[capacidad];
+        int[] nuevoHermanoAnterior = new int[capacidad];
+        for (int casilla = raiz; casilla != NINGUNO; casilla = siguientePreOrden(casilla, raiz)) {
+            int c = nuevaCasilla[casilla];
+            nuevosDatos[c] = datos[casilla];
+            nuevosIds[c] = ids[casilla];
+            nuevoPadre[c] = reubicar(padre[casilla], nuevaCasilla);
+            nuevoPrimerHijo[c] = reubicar(primerHijo[casilla], nuevaCasilla);
+            nuevoUltimoHijo[c] = reubicar(ultimoHijo[casilla], nuevaCasilla);
+            nuevoSiguienteHermano[c] = reubicar(siguienteHermano[casilla], nuevaCasilla);
+            nuevoHermanoAnterior[c] = reubicar(hermanoAnterior[casilla], nuevaCasilla);
+        }
+        for (int i = 0; i < tabla.length; i++) {
+            if (tabla[i] != 0) {
+                tabla[i] = nuevaCasilla[tabla[i] - 1] + 1;
+            }
+        }
+        datos = nuevosDatos;
+        ids = nuevosIds;
+        padre = nuevoPadre;
+        primerHijo = nuevoPrimerHijo;
+        ultimoHijo = nuevoUltimoHijo;
+        siguienteHermano = nuevoSiguienteHermano;
+        hermanoAnterior = nuevoHermanoAnterior;
+        raiz = tamano == 0 ? NINGUNO : 0;
+        usadas = n;
+        libre = NINGUNO;
+        libres = 0;
+        reconstruirTabla(capacidadTabla(capacidad));
+        modificaciones++;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Árbol compactado: {0} tareas, capacidad {1}.", new Object[]{tamano, capacidad});
+        }
+    }
+
+    /**
+     * Casillas ocupadas alguna vez desde la última compactación, incluidas las libres; para pruebas.
+     */
+    int casillasUsadas() {
+        return usadas;
+    }
+
+    private static int reubicar(int casilla, int[] nuevaCasilla) {
+        return casilla == NINGUNO ? NINGUNO : nuevaCasilla[casilla];
+    }
+
+    /**
+     * Siguiente casilla en pre-orden dentro del subárbol de {@code limite}, o NINGUNO al terminar.
+     */
+    private int siguientePreOrden(int casilla, int limite) {
+        if (primerHijo[casilla] != NINGUNO) {
+            return primerHijo[casilla];
+        }
+        while (casilla != limite) {
+            if (siguienteHermano[casilla] != NINGUNO) {
+                return siguienteHermano[casilla];
+            }
+            casilla = padre[casilla];
+        }
+        return NINGUNO;
+    }
+
+    private int primeraPostOrden(int casilla) {
+        while (primerHijo[casilla] != NINGUNO) {
+            casilla = primerHijo[casilla];
+        }
+        return casilla;
+    }
+
+    /**
+     * Siguiente casilla en post-orden dentro del subárbol de {@code limite}; solo lee la propia casilla
+     * y casillas aún no visitadas.
+     */
+    private int siguientePostOrden(int casilla, int limite) {
+        if (casilla == limite) {
+            return NINGUNO;
+        }
+        int hermano = siguienteHermano[casilla];
+        return hermano != NINGUNO ? primeraPostOrden(hermano) : padre[casilla];
+    }
+
+    @Override
+    public Iterator<T> iteradorTareas(OrdenRecorrido orden) {
+        Objects.requireNonNull(orden, "orden");
+        return orden == OrdenRecorrido.POR_NIVELES ? new IteradorPorNiveles() : new IteradorProfundidad(orden);
+    }
+
+    private final class IteradorProfundidad implements Iterator<T> {
+        private final boolean preOrden;
+        private final int modificacionesEsperadas = modificaciones;
+        private int siguiente;
+
+        IteradorProfundidad(OrdenRecorrido orden) {
+            this.preOrden = orden == OrdenRecorrido.PRE_ORDEN;
+            this.siguiente = raiz == NINGUNO ? NINGUNO : preOrden ? raiz : primeraPostOrden(raiz);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != NINGUNO;
+        }
+
+        @Override
+        public T next() {
+            if (modificaciones != modificacionesEsperadas) {
+                throw new ConcurrentModificationException("El árbol fue modificado durante el recorrido.");
+            }
+            if (siguiente == NINGUNO) {
+                throw new NoSuchElementException();
+            }
+            int casilla = siguiente;
+            siguiente = preOrden ? siguientePreOrden(casilla, raiz) : siguientePostOrden(casilla, raiz);
+            return dato(casilla);
+        }
+    }
+
+    /**
+     * Recorrido en anchura con una cola de casillas; nunca contiene más casillas que tareas tiene el árbol.
+     */
+    private final class IteradorPorNiveles implements Iterator<T> {
+        private final int modificacionesEsperadas = modificaciones;
+        private final int[] cola = new int[tamano];
+        private int inicio;
+        private int fin;
+
+        IteradorPorNiveles() {
+            if (raiz != NINGUNO) {
+                cola[fin++] = raiz;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return inicio < fin;
+        }
+
+        @Override
+        public T next() {
+            if (modificaciones != modificacionesEsperadas) {
+                throw new ConcurrentModificationException("El árbol fue modificado durante el recorrido.");
+            }
+            if (inicio == fin) {
+                throw new NoSuchElementException();
+            }
+            int casilla = cola[inicio++];
+            for (int hijo = primerHijo[casilla]; hijo != NINGUNO; hijo = siguienteHermano[hijo]) {
+                cola[fin++] = hijo;
+            }
+            return dato(casilla);
+        }
+    }
+
+    @Override
+    public <R> R reducir(Function<? super T, ? extends R> mapeo, BinaryOperator<R> combinar) {
+        return reducir(mapeo, combinar, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reduce todos los datos en paralelo sobre el pool indicado. Como el orden de combinación no importa,
+     * se reparten rangos contiguos de casillas en lugar de subárboles.
+     * @param mapeo Función que obtiene el valor de cada dato.
+     * @param combinar Función asociativa y conmutativa que combina dos valores.
+     * @param pool El pool donde se ejecuta la reducción.
+     * @return El resultado, o null si el árbol está vacío.
+     */
+    public <R> R reducir(Function<? super T, ? extends R> mapeo, BinaryOperator<R> combinar, ForkJoinPool pool) {
+        Objects.requireNonNull(mapeo, "mapeo");
+        Objects.requireNonNull(combinar, "combinar");
+        if (raiz == NINGUNO) {
+            return null;
+        }
+        int hasta = usadas;
+        int[] padres = padre;
+        return pool.submit(() -> IntStream.range(0, hasta).parallel()
+                .filter(casilla -> padres[casilla] != LIBRE)
+                .<R>mapToObj(casilla -> mapeo.apply(dato(casilla)))
+                .reduce(combinar)
+                .orElse(null)).join();
+    }
+}
@@ -1,18 +1,60 @@
 package com.umg.estructuras.arbol;
 
+import com.umg.estructuras.metricas.Histograma;
+import com.umg.estructuras.metricas.MetricasEstructura;
+
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
-import java.lang.reflect.Field; // Importa la clase Field para usar reflexión
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-public class ArbolJerarquicoTareas<T> {
+public class ArbolJerarquicoTareas<T> implements ArbolJerarquico<T> {
     private static final Logger LOGGER = Logger.getLogger(ArbolJerarquicoTareas.class.getName());
+    private static final String HISTOGRAMA_SONDEOS = "sondeos-busqueda";
+
+    /**
+     * Operaciones que cuentan las métricas del árbol.
+     */
+    public enum Operacion { AGREGAR, BUSCAR, ELIMINAR, MOVER }
 
     private NodoArbolTarea<T> raiz;
+    private int tamano;
+    private int version; // Cambia con cada modificación estructural hecha a través del árbol
+    private IndiceAncestros<T> indiceAncestros;
+    private int versionIndiceAncestros;
+    // Índice ID → nodo, mantenido por agregarTarea, eliminarNodoPorId, moverNodo y setRaiz.
+    private final IndicePorId<NodoArbolTarea<T>> indice = new IndicePorId<>();
+    private final ToLongFunction<? super T> extractorId;
+    // Agregados registrados; la posición en la lista es la posición de su valor en cada nodo.
+    private final List<Agregado<? super T, ?>> agregados = new ArrayList<>();
+    private MetricasEstructura<Operacion> metricas; // null si las métricas están deshabilitadas
+    private Histograma sondeos;
 
+    /**
+     * Crea un árbol que obtiene el ID de cada dato con {@link Identificable#getId()}
+     * o, si el dato no la implementa, leyendo su campo 'id' (resuelto una vez por clase).
+     */
     public ArbolJerarquicoTareas() {
+        this(ExtractorIdPorCampo.INSTANCIA);
+    }
+
+    /**
+     * Crea un árbol que obtiene el ID de cada dato con la función indicada.
+     * @param extractorId Función que devuelve el ID de un dato.
+     */
+    public ArbolJerarquicoTareas(ToLongFunction<? super T> extractorId) {
         this.raiz = null;
+        this.extractorId = Objects.requireNonNull(extractorId, "extractorId");
         LOGGER.log(Level.INFO, "ArbolJerarquicoTareas creado.");
     }
 
@@ -29,110 +71,296 @@ public class ArbolJerarquicoTareas<T> {
      * @param raiz El nodo a establecer como raíz.
      */
     public void setRaiz(NodoArbolTarea<T> raiz) {
+        if (raiz != null) {
+            raiz.desvincular(); // La raíz no puede seguir colgando de otro nodo
+        }
         this.raiz = raiz;
+        indice.limpiar();
+        tamano = indexarSubarbol(raiz);
+        version++;
+        for (int i = 0; i < agregados.size(); i++) {
+            calcularSubarbol(raiz, i);
+        }
     }
 
+    @Override
     public void agregarTarea(T dato, Long idPadre) {
-        LOGGER.log(Level.INFO, "Intentando agregar dato al árbol. Dato: {0}, ID Padre: {1}", new Object[]{dato, idPadre});
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Intentando agregar dato al árbol. Dato: {0}, ID Padre: {1}", new Object[]{dato, idPadre});
+        }
+        if (metricas != null) {
+            metricas.contar(Operacion.AGREGAR);
+        }
         NodoArbolTarea<T> nuevoNodo = new NodoArbolTarea<>(dato);
 
         if (raiz == null) {
             raiz = nuevoNodo;
-            LOGGER.log(Level.INFO, "Dato '{0}' agregado como raíz del árbol.", dato);
+            indexar(nuevoNodo);
+            tamano++;
+            version++;
+            agregarHoja(nuevoNodo);
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Dato '{0}' agregado como raíz del árbol.", dato);
+            }
         } else {
             if (idPadre == null) {
                 // Si la raíz ya existe y se intenta agregar sin padre, se agrega como hijo de la raíz principal
                 LOGGER.log(Level.WARNING, "El árbol ya tiene una raíz. Dato '{0}' agregado como hijo de la raíz existente.", dato);
                 raiz.agregarHijo(nuevoNodo);
             } else {
-                NodoArbolTarea<T> padre = buscarNodoPorId(raiz, idPadre);
+                NodoArbolTarea<T> padre = indice.obtener(idPadre);
                 if (padre != null) {
                     padre.agregarHijo(nuevoNodo);
-                    LOGGER.log(Level.INFO, "Dato '{0}' agregado como hijo de '{1}' (ID: {2}).", new Object[]{dato, padre.getDato(), idPadre});
+                    if (LOGGER.isLoggable(Level.FINE)) {
+                        LOGGER.log(Level.FINE, "Dato '{0}' agregado como hijo de '{1}' (ID: {2}).", new Object[]{dato, padre.getDato(), idPadre});
+                    }
                 } else {
                     LOGGER.log(Level.WARNING, "No se encontró el padre con ID: {0} para agregar el dato '{1}'. Agregando como hijo de la raíz principal.", new Object[]{idPadre, dato});
                     // Si el padre no se encuentra, se agrega como hijo de la raíz principal para no perderlo.
                     raiz.agregarHijo(nuevoNodo);
                 }
             }
+            indexar(nuevoNodo);
+            tamano++;
+            version++;
+            agregarHoja(nuevoNodo);
+        }
+        if (metricas != null) {
+            metricas.observarTamano(tamano);
         }
     }
 
     /**
-     * Busca un nodo en el árbol por el ID de su dato (Tarea).
-     * Utiliza reflexión para acceder al campo 'id' del objeto genérico T.
-     * @param nodo El nodo actual en la búsqueda recursiva.
-     * @param id El ID del dato a buscar.
-     * @return El NodoArbolTarea encontrado, o null si no se encuentra.
+     * Obtiene el ID del dato (Tarea) con el extractor configurado.
+     * Solo se invoca al indexar un nodo; las búsquedas posteriores usan el índice.
+     * @param dato El dato del que se quiere obtener el ID.
+     * @return El ID del dato, o null si no se pudo obtener.
      */
-    private NodoArbolTarea<T> buscarNodoPorId(NodoArbolTarea<T> nodo, Long id) {
-        if (nodo == null) {
+    private Long obtenerId(T dato) {
+        if (dato == null) {
             return null;
         }
         try {
-            // Usamos reflexión para obtener el campo 'id' del objeto T
-            Field idField = nodo.getDato().getClass().getDeclaredField("id");
-            idField.setAccessible(true); // Permite acceder a campos privados
-            Object idValue = idField.get(nodo.getDato()); // Obtiene el valor del campo 'id'
-
-            if (idValue != null && idValue.equals(id)) {
-                LOGGER.log(Level.FINE, "Nodo encontrado con ID: {0}", id);
-                return nodo;
-            }
-        } catch (NoSuchFieldException e) {
-            LOGGER.log(Level.SEVERE, "La clase {0} no tiene un campo 'id'. Asegúrese de que su clase T tenga un campo 'id'.", nodo.getDato().getClass().getName());
-            return null; // O lanzar una excepción específica
-        } catch (IllegalAccessException e) {
-            LOGGER.log(Level.SEVERE, "No se pudo acceder al campo 'id' en la clase {0}: {1}", new Object[]{nodo.getDato().getClass().getName(), e.getMessage()});
-            return null; // O lanzar una excepción específica
-        }
-
-        for (NodoArbolTarea<T> hijo : nodo.getHijos()) {
-            NodoArbolTarea<T> nodoEncontrado = buscarNodoPorId(hijo, id);
-            if (nodoEncontrado != null) {
-                return nodoEncontrado;
+            return extractorId.applyAsLong(dato);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "No se pudo obtener el ID del dato {0}: {1}", new Object[]{dato, e.getMessage()});
+            return null;
+        }
+    }
+
+    /**
+     * Registra un nodo en el índice por ID. Si ya había otro nodo con el mismo ID, se reemplaza.
+     * @param nodo El nodo a indexar.
+     */
+    private void indexar(NodoArbolTarea<T> nodo) {
+        T dato = nodo.getDato();
+        long id;
+        try {
+            id = extractorId.applyAsLong(dato);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "No se pudo obtener el ID del dato {0}; el nodo no queda indexado: {1}", new Object[]{dato, e.getMessage()});
+            return;
+        }
+        if (indice.poner(id, nodo) != null) {
+            LOGGER.log(Level.WARNING, "Ya existía un nodo con ID {0}; el índice apunta ahora al nodo más reciente.", id);
+        }
+    }
+
+    /**
+     * Registra en el índice un nodo y todos sus descendientes.
+     * @param nodo La raíz del subárbol a indexar.
+     * @return El número de nodos del subárbol.
+     */
+    private int indexarSubarbol(NodoArbolTarea<T> nodo) {
+        int nodos = 0;
+        for (Iterator<NodoArbolTarea<T>> it = RecorridoArbol.iterador(nodo, OrdenRecorrido.PRE_ORDEN); it.hasNext(); ) {
+            indexar(it.next());
+            nodos++;
+        }
+        return nodos;
+    }
+
+    /**
+     * Quita del índice un nodo y todos sus descendientes.
+     * Solo elimina las entradas que todavía apuntan a los nodos del subárbol.
+     * @param nodo La raíz del subárbol a desindexar.
+     * @return El número de nodos del subárbol.
+     */
+    private int desindexarSubarbol(NodoArbolTarea<T> nodo) {
+        int nodos = 0;
+        for (Iterator<NodoArbolTarea<T>> it = RecorridoArbol.iterador(nodo, OrdenRecorrido.PRE_ORDEN); it.hasNext(); ) {
+            NodoArbolTarea<T> actual = it.next();
+            Long id = obtenerId(actual.getDato());
+            if (id != null && indice.obtener(id) == actual) {
+                indice.eliminar(id);
             }
+            nodos++;
         }
-        return null;
+        return nodos;
     }
 
     /**
-     * Inicia la búsqueda de un nodo por ID desde la raíz del árbol.
+     * Busca un nodo por el ID de su dato usando el índice del árbol, en tiempo constante.
      * @param id El ID del dato a buscar.
      * @return El NodoArbolTarea encontrado, o null si no se encuentra.
      */
     public NodoArbolTarea<T> buscarNodoPorId(Long id) {
-        LOGGER.log(Level.INFO, "Buscando nodo en el árbol con ID: {0}", id);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Buscando nodo en el árbol con ID: {0}", id);
+        }
+        if (metricas != null) {
+            metricas.contar(Operacion.BUSCAR);
+        }
         if (raiz == null) {
-            LOGGER.log(Level.INFO, "El árbol está vacío, no se puede buscar el nodo con ID: {0}", id);
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "El árbol está vacío, no se puede buscar el nodo con ID: {0}", id);
+            }
+            return null;
+        }
+        if (id == null) {
             return null;
         }
-        return buscarNodoPorId(raiz, id);
+        NodoArbolTarea<T> nodo = sondeos != null ? indice.obtener(id, sondeos) : indice.obtener(id);
+        if (nodo != null && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Nodo encontrado con ID: {0}", id);
+        }
+        return nodo;
+    }
+
+    @Override
+    public T buscarTareaPorId(Long id) {
+        NodoArbolTarea<T> nodo = null;
+        if (metricas != null) {
+            metricas.contar(Operacion.BUSCAR);
+            if (id != null) {
+                nodo = indice.obtener(id, sondeos); // Una sola búsqueda cuenta también los sondeos
+            }
+        } else if (id != null) {
+            nodo = indice.obtener(id);
+        }
+        return nodo == null ? null : nodo.getDato();
+    }
+
+    @Override
+    public T obtenerPadre(Long id) {
+        NodoArbolTarea<T> nodo = id != null ? indice.obtener(id) : null;
+        return nodo == null || nodo.getPadre() == null ? null : nodo.getPadre().getDato();
+    }
+
+    @Override
+    public List<T> obtenerHijos(Long id) {
+        NodoArbolTarea<T> nodo = id != null ? indice.obtener(id) : null;
+        if (nodo == null) {
+            return new ArrayList<>();
+        }
+        List<T> datos = new ArrayList<>(nodo.numeroHijos());
+        for (NodoArbolTarea<T> hijo = nodo.primerHijo(); hijo != null; hijo = hijo.hermanoSiguiente()) {
+            datos.add(hijo.getDato());
+        }
+        return datos;
+    }
+
+    @Override
+    public boolean estaVacio() {
+        return raiz == null;
+    }
+
+    @Override
+    public int tamano() {
+        return tamano;
     }
 
     /**
-     * Obtiene una lista plana de todos los datos (Tareas) presentes en el árbol.
+     * Obtiene una lista plana de todos los datos (Tareas) presentes en el árbol, en pre-orden.
+     * Para recorrer el árbol sin construir la lista, use iteradorTareas o tareas.
      * @return Una lista de todos los datos en el árbol.
      */
+    @Override
     public List<T> obtenerTareasDelArbol() {
-        LOGGER.log(Level.INFO, "Obteniendo todos los datos del árbol.");
-        List<T> datos = new ArrayList<>();
-        obtenerTareasDelArbolRecursivo(raiz, datos);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Obteniendo todos los datos del árbol.");
+        }
+        List<T> datos = new ArrayList<>(tamano);
+        for (Iterator<T> it = iteradorTareas(OrdenRecorrido.PRE_ORDEN); it.hasNext(); ) {
+            datos.add(it.next());
+        }
         return datos;
     }
 
     /**
-     * Método recursivo para recorrer el árbol y recolectar todos los datos.
-     * @param nodo El nodo actual en el recorrido.
-     * @param datos La lista donde se recolectan los datos.
+     * Devuelve un iterador perezoso sobre los nodos del árbol, sin recursión (admite cualquier profundidad).
+     * El árbol no debe modificarse mientras se recorre.
+     * @param orden El orden del recorrido.
+     * @return El iterador de nodos.
+     */
+    public Iterator<NodoArbolTarea<T>> iteradorNodos(OrdenRecorrido orden) {
+        return RecorridoArbol.iterador(raiz, Objects.requireNonNull(orden, "orden"));
+    }
+
+    /**
+     * Devuelve un iterador perezoso sobre los datos del árbol, sin recursión (admite cualquier profundidad).
+     * El árbol no debe modificarse mientras se recorre.
+     * @param orden El orden del recorrido.
+     * @return El iterador de datos.
      */
-    private void obtenerTareasDelArbolRecursivo(NodoArbolTarea<T> nodo, List<T> datos) {
-        if (nodo != null) {
-            datos.add(nodo.getDato());
-            for (NodoArbolTarea<T> hijo : nodo.getHijos()) {
-                obtenerTareasDelArbolRecursivo(hijo, datos);
+    @Override
+    public Iterator<T> iteradorTareas(OrdenRecorrido orden) {
+        Iterator<NodoArbolTarea<T>> nodos = iteradorNodos(orden);
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return nodos.hasNext();
+            }
+
+            @Override
+            public T next() {
+                return nodos.next().getDato();
             }
+        };
+    }
+
+    /**
+     * Devuelve un Stream secuencial y perezoso de los nodos del árbol; operaciones como
+     * findFirst o anyMatch detienen el recorrido en cuanto tienen la respuesta.
+     * @param orden El orden del recorrido.
+     * @return El Stream de nodos.
+     */
+    public Stream<NodoArbolTarea<T>> nodos(OrdenRecorrido orden) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iteradorNodos(orden),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Reduce todos los datos del árbol en paralelo sobre el ForkJoinPool común, sin copiarlos a una lista.
+     * Por ejemplo, {@code reducir(Tarea::getHoras, Integer::sum)} suma las horas estimadas.
+     * El orden en que se combinan los valores no está definido, por lo que combinar debe ser
+     * asociativa y conmutativa. El árbol no debe modificarse durante la reducción.
+     * @param mapeo Función que obtiene el valor de cada dato.
+     * @param combinar Función que combina dos valores.
+     * @return El resultado, o null si el árbol está vacío.
+     */
+    @Override
+    public <R> R reducir(Function<? super T, ? extends R> mapeo, BinaryOperator<R> combinar) {
+        return reducir(mapeo, combinar, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reduce todos los datos del árbol en paralelo sobre el pool indicado.
+     * Los subárboles se reparten entre los hilos del pool a partir de
+     * unos mil nodos por tarea; los árboles más pequeños se reducen en un solo hilo.
+     * @param mapeo Función que obtiene el valor de cada dato.
+     * @param combinar Función asociativa y conmutativa que combina dos valores.
+     * @param pool El pool donde se ejecuta la reducción.
+     * @return El resultado, o null si el árbol está vacío.
+     */
+    public <R> R reducir(Function<? super T, ? extends R> mapeo, BinaryOperator<R> combinar, ForkJoinPool pool) {
+        Objects.requireNonNull(mapeo, "mapeo");
+        Objects.requireNonNull(combinar, "combinar");
+        Objects.requireNonNull(pool, "pool");
+        if (raiz == null) {
+            return null;
         }
+        return pool.invoke(new TareaReduccionArbol<>(raiz, mapeo, combinar));
     }
 
     /**
@@ -141,185 +369,332 @@ public class ArbolJerarquicoTareas<T> {
      * @param idDato El ID del dato (Tarea) del nodo a eliminar.
      * @return true si el nodo fue eliminado, false en caso contrario.
      */
+    @Override
     public boolean eliminarNodoPorId(Long idDato) {
-        LOGGER.log(Level.INFO, "Intentando eliminar nodo del árbol con ID de dato: {0}", idDato);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Intentando eliminar nodo del árbol con ID de dato: {0}", idDato);
+        }
+        if (metricas != null) {
+            metricas.contar(Operacion.ELIMINAR);
+        }
         if (raiz == null) {
             LOGGER.log(Level.WARNING, "El árbol está vacío, no se puede eliminar el nodo con ID: {0}", idDato);
             return false;
         }
 
-        // Caso especial: eliminar la raíz
-        try {
-            Field idField = raiz.getDato().getClass().getDeclaredField("id");
-            idField.setAccessible(true);
-            Object raizIdValue = idField.get(raiz.getDato());
-            if (raizIdValue != null && raizIdValue.equals(idDato)) {
-                raiz = null; // La raíz se vuelve nula
-                LOGGER.log(Level.INFO, "Raíz del árbol eliminada con ID: {0}", idDato);
-                return true;
-            }
-        } catch (NoSuchFieldException | IllegalAccessException e) {
-            LOGGER.log(Level.SEVERE, "Error al acceder al campo 'id' de la raíz para eliminación: {0}", e.getMessage());
+        NodoArbolTarea<T> nodo = idDato != null ? indice.obtener(idDato) : null;
+        if (nodo == null) {
+            LOGGER.log(Level.WARNING, "No se encontró el nodo con ID: {0} para eliminar.", idDato);
             return false;
         }
 
-        return eliminarNodoRecursivo(raiz, idDato);
-    }
+        // Caso especial: eliminar la raíz
+        if (nodo == raiz) {
+            raiz = null; // La raíz se vuelve nula
+            indice.limpiar();
+            tamano = 0;
+            version++;
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Raíz del árbol eliminada con ID: {0}", idDato);
+            }
+            return true;
+        }
 
-    /**
-     * Método recursivo para buscar y eliminar un nodo en el árbol.
-     * @param nodoActual El nodo actual en el recorrido.
-     * @param idDato El ID del dato a eliminar.
-     * @return true si el nodo fue eliminado, false en caso contrario.
-     */
-    private boolean eliminarNodoRecursivo(NodoArbolTarea<T> nodoActual, Long idDato) {
-        if (nodoActual == null) {
+        if (nodo.getPadre() == null) {
+            LOGGER.log(Level.WARNING, "Nodo con ID {0} indexado pero desconectado del árbol.", idDato);
             return false;
         }
-
-        List<NodoArbolTarea<T>> hijos = nodoActual.getHijos();
-        for (int i = 0; i < hijos.size(); i++) {
-            NodoArbolTarea<T> hijo = hijos.get(i);
-            try {
-                Field idField = hijo.getDato().getClass().getDeclaredField("id");
-                idField.setAccessible(true);
-                Object hijoIdValue = idField.get(hijo.getDato());
-
-                if (hijoIdValue != null && ((Long) hijoIdValue).equals(idDato)) { // <--- CAMBIO AQUÍ: Cast a Long
-                    hijos.remove(i); // Elimina el hijo de la lista de hijos del nodo actual
-                    LOGGER.log(Level.INFO, "Nodo con ID: {0} eliminado del árbol. Sus hijos (si los tiene) también son desconectados.", idDato);
-                    return true;
-                }
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                LOGGER.log(Level.SEVERE, "Error al acceder al campo 'id' del hijo durante la eliminación: {0}", e.getMessage());
-                return false;
-            }
-
-            // Si no es el hijo directo, busca recursivamente en los sub-hijos
-            if (eliminarNodoRecursivo(hijo, idDato)) {
-                return true;
-            }
+        NodoArbolTarea<T> padre = nodo.getPadre();
+        nodo.desvincular(); // Lo quita de la lista de hijos de su padre en O(1)
+        restarEnAncestros(nodo, padre);
+        tamano -= desindexarSubarbol(nodo);
+        version++;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Nodo con ID: {0} eliminado del árbol. Sus hijos (si los tiene) también son desconectados.", idDato);
         }
-        return false;
+        return true;
     }
 
     /**
      * Mueve un nodo existente en el árbol a una nueva posición bajo un nuevo padre.
-     * Si el nodo no se encuentra, o el nuevo padre no existe, la operación falla.
+     * Si el nodo no se encuentra, el nuevo padre no existe, o el nuevo padre es el propio nodo
+     * o uno de sus descendientes, la operación falla y el árbol no cambia.
+     * El costo es O(1) más la verificación de ciclos, acotada por la profundidad del nuevo padre.
      * @param idDatoAMover El ID del dato (Tarea) del nodo que se quiere mover.
-     * @param nuevoIdPadre El ID del dato (Tarea) del nuevo nodo padre. Si es null, se intenta mover a la raíz.
+     * @param nuevoIdPadre El ID del dato (Tarea) del nuevo nodo padre. Si es null, se mueve como hijo de la raíz.
      * @return true si el nodo fue movido exitosamente, false en caso contrario.
      */
+    @Override
     public boolean moverNodo(Long idDatoAMover, Long nuevoIdPadre) {
-        LOGGER.log(Level.INFO, "Intentando mover nodo con ID {0} a nuevo padre ID {1}.", new Object[]{idDatoAMover, nuevoIdPadre});
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Intentando mover nodo con ID {0} a nuevo padre ID {1}.", new Object[]{idDatoAMover, nuevoIdPadre});
+        }
+        if (metricas != null) {
+            metricas.contar(Operacion.MOVER);
+        }
 
         // 1. Encontrar el nodo a mover
-        NodoArbolTarea<T> nodoAMover = buscarNodoPorId(raiz, idDatoAMover);
+        NodoArbolTarea<T> nodoAMover = idDatoAMover != null ? indice.obtener(idDatoAMover) : null;
         if (nodoAMover == null) {
             LOGGER.log(Level.WARNING, "No se encontró el nodo con ID {0} para mover.", idDatoAMover);
             return false;
         }
 
-        // 2. Encontrar el padre actual del nodo a mover y eliminarlo de su posición actual
-        // Necesitamos un método para encontrar el padre directo de un nodo dado
-        NodoArbolTarea<T> padreActual = encontrarPadreDirecto(raiz, nodoAMover);
-
-        if (padreActual != null) {
-            padreActual.getHijos().remove(nodoAMover);
-            Object padreIdValue = null;
-            try {
-                Field idField = padreActual.getDato().getClass().getDeclaredField("id");
-                idField.setAccessible(true);
-                padreIdValue = idField.get(padreActual.getDato());
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                LOGGER.log(Level.SEVERE, "Error al acceder al campo 'id' del padre actual: {0}", e.getMessage());
+        // 2. Encontrar el nuevo nodo padre
+        NodoArbolTarea<T> nuevoPadre;
+        if (nuevoIdPadre != null) {
+            nuevoPadre = indice.obtener(nuevoIdPadre);
+            if (nuevoPadre == null) {
+                LOGGER.log(Level.WARNING, "No se encontró el nuevo nodo padre con ID {0}.", nuevoIdPadre);
+                return false;
             }
-
-            LOGGER.log(Level.INFO, "Nodo con ID {0} removido de su padre actual con ID {1}.",
-                    new Object[]{idDatoAMover, padreIdValue});
         } else if (nodoAMover == raiz) {
-            // Si el nodo a mover es la raíz, no tiene padre actual, y la moveremos a una nueva posición
-            // No podemos simplemente hacer 'raiz = null' aquí, ya que los hijos de la raíz se perderían temporalmente.
-            // La lógica para mover la raíz es más compleja si debe mantener sus hijos y no convertirse en una hoja.
-            // Para simplificar, asumimos que mover la raíz significa que se convierte en un hijo.
-            // Si el nuevo padre es null, la raíz se convierte en la única tarea.
-            // Si tiene hijos y se mueve, sus hijos se mueven con ella.
-            // Manejar la raíz moviéndose a un no-null padre: la "vieja" raíz se convierte en hijo, sus hijos se mueven con ella.
-            LOGGER.log(Level.WARNING, "Mover la raíz del árbol es una operación compleja para esta implementación. Se asume que la raíz se convertirá en un hijo.");
-            // Si la raíz se mueve, sus hijos se mueven con ella. La vieja raíz simplemente se desvincula.
-            // Si el nuevoIdPadre es null, esto causaría un problema de raíz doble.
-            // Por simplicidad, no permitiremos mover la raíz a null si ya tiene hijos, o la convertiremos en una nueva raíz sin hijos si no tiene.
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "El nodo con ID {0} ya es la raíz del árbol.", idDatoAMover);
+            }
+            return true;
         } else {
+            // Sin nuevo padre, el nodo pasa a ser hijo de la raíz principal.
+            nuevoPadre = raiz;
+        }
+
+        // 3. Rechazar movimientos que crearían un ciclo (incluye mover la raíz, que es ancestro de todos)
+        if (nuevoPadre == nodoAMover || nodoAMover.esAncestroDe(nuevoPadre)) {
+            LOGGER.log(Level.WARNING, "No se puede mover el nodo con ID {0} bajo sí mismo o uno de sus descendientes (ID {1}).",
+                    new Object[]{idDatoAMover, nuevoIdPadre});
+            return false;
+        }
+        if (nodoAMover.getPadre() == null) {
             // El nodo a mover no es la raíz y no tiene padre. Esto podría indicar un árbol mal formado.
             LOGGER.log(Level.WARNING, "Nodo con ID {0} encontrado pero no tiene padre en el árbol. No se puede mover.", idDatoAMover);
             return false;
         }
 
-        // 3. Encontrar el nuevo nodo padre
-        NodoArbolTarea<T> nuevoPadre = null;
-        if (nuevoIdPadre != null) {
-            nuevoPadre = buscarNodoPorId(raiz, nuevoIdPadre);
-            if (nuevoPadre == null) {
-                LOGGER.log(Level.WARNING, "No se encontró el nuevo nodo padre con ID {0}.", nuevoIdPadre);
-                // Si no se encuentra el nuevo padre, debemos re-insertar el nodo a mover en su posición original,
-                // o manejar este error de alguna otra forma (ej. volver a la raíz).
-                // Por simplicidad, lo re-insertaremos bajo la raíz si el nuevo padre no se encuentra.
-                // Sin embargo, para una implementación robusta, esto debería ser un error.
-                if(padreActual != null) { // Si tenía padre, lo volvemos a poner donde estaba
-                    padreActual.agregarHijo(nodoAMover);
-                } else if (raiz == null) { // Si era la raíz y el árbol quedó vacío
-                    raiz = nodoAMover;
-                } else { // Si era la raíz pero el árbol tiene otros nodos, se vuelve hijo de la raíz principal
-                    raiz.agregarHijo(nodoAMover);
-                }
-                return false;
+        // 4. Desvincularlo de su padre actual y añadirlo al nuevo padre; sus hijos se mueven con él
+        // Se resta con el nodo ya desvinculado: un ancestro sin inverso se recalcula desde sus hijos
+        NodoArbolTarea<T> padreActual = nodoAMover.getPadre();
+        nodoAMover.desvincular();
+        restarEnAncestros(nodoAMover, padreActual);
+        nuevoPadre.agregarHijo(nodoAMover);
+        sumarEnAncestros(nodoAMover, nuevoPadre);
+        version++;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Nodo con ID {0} movido exitosamente desde el padre con ID {1} bajo el nuevo padre con ID {2}.",
+                    new Object[]{idDatoAMover, obtenerId(padreActual.getDato()), obtenerId(nuevoPadre.getDato())});
+        }
+        return true;
+    }
+
+    /**
+     * Indica si la tarea A está dentro del subárbol de la tarea B (sin ser la propia B).
+     * Responde en O(1) con la numeración de entrada/salida del árbol, que se recalcula en O(n)
+     * la primera vez que se consulta tras una modificación estructural.
+     * @param idA El ID de la tarea A.
+     * @param idB El ID de la tarea B.
+     * @return true si B es ancestro de A, false en caso contrario o si alguna no existe.
+     */
+    public boolean esDescendiente(Long idA, Long idB) {
+        NodoArbolTarea<T> a = idA != null ? indice.obtener(idA) : null;
+        NodoArbolTarea<T> b = idB != null ? indice.obtener(idB) : null;
+        if (a == null || b == null) {
+            return false;
+        }
+        indiceAncestros();
+        return IndiceAncestros.esAncestro(b, a);
+    }
+
+    /**
+     * Obtiene el ancestro común más bajo de dos tareas (si una es ancestro de la otra, es esa misma).
+     * Responde en O(1); tras una modificación estructural, la primera consulta recalcula el índice
+     * en O(n log n).
+     * @param idA El ID de la tarea A.
+     * @param idB El ID de la tarea B.
+     * @return El dato del ancestro común, o null si alguna de las tareas no existe.
+     */
+    public T ancestroComun(Long idA, Long idB) {
+        NodoArbolTarea<T> a = idA != null ? indice.obtener(idA) : null;
+        NodoArbolTarea<T> b = idB != null ? indice.obtener(idB) : null;
+        if (a == null || b == null) {
+            return null;
+        }
+        NodoArbolTarea<T> comun = indiceAncestros().ancestroComun(a, b);
+        return comun == null ? null : comun.getDato();
+    }
+
+    private IndiceAncestros<T> indiceAncestros() {
+        if (indiceAncestros == null || versionIndiceAncestros != version) {
+            indiceAncestros = new IndiceAncestros<>(raiz, tamano);
+            versionIndiceAncestros = version;
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Índice de ancestros reconstruido para {0} nodos.", tamano);
             }
         }
+        return indiceAncestros;
+    }
 
-        // 4. Añadir el nodo al nuevo padre
-        if (nuevoPadre != null) {
-            nuevoPadre.agregarHijo(nodoAMover);
-            LOGGER.log(Level.INFO, "Nodo con ID {0} movido exitosamente bajo el nuevo padre con ID {1}.", new Object[]{idDatoAMover, nuevoIdPadre});
-        } else {
-            // Si el nuevoIdPadre es null, el nodo se convierte en la nueva raíz.
-            // Esto solo es válido si el árbol estaba vacío o si el nodo a mover no tiene hijos.
-            // Si tiene hijos, y lo conviertes en la raíz, ¿qué pasa con la antigua raíz y sus hijos?
-            // Esta lógica necesita ser muy clara en la definición del árbol.
-            if (raiz == null) { // Si el árbol está vacío, el nodo se convierte en la raíz
-                raiz = nodoAMover;
-                LOGGER.log(Level.INFO, "Nodo con ID {0} movido a la raíz del árbol (árbol previamente vacío).", idDatoAMover);
-            } else {
-                // Si la raíz ya existe y se intenta mover un nodo a 'null' (convertirlo en raíz)
-                // y el árbol no está vacío, esto es un error de lógica o debe manejarse de forma específica.
-                // Aquí, por simplicidad, lo agregaremos como hijo de la raíz principal si no se especifica nuevo padre.
-                // Esto es una simplificación; la lógica real de "mover a la raíz' es compleja.
-                raiz.agregarHijo(nodoAMover); // Lo agrega como hijo de la raíz existente.
-                LOGGER.log(Level.INFO, "Nodo con ID {0} movido como hijo de la raíz existente (nuevo padre null).", idDatoAMover);
+    /**
+     * Habilita las métricas del árbol: llamadas por operación, tamaño máximo y el histograma
+     * "sondeos-busqueda" con las casillas del índice que examina cada búsqueda por ID.
+     * @param nombre Nombre con que se identifican las métricas, por ejemplo en JMX.
+     * @return Las métricas, para consultarlas o publicarlas con registrarJmx().
+     */
+    public MetricasEstructura<Operacion> habilitarMetricas(String nombre) {
+        MetricasEstructura<Operacion> nuevas = new MetricasEstructura<>(nombre, Operacion.class, this::tamano, HISTOGRAMA_SONDEOS);
+        nuevas.observarTamano(tamano);
+        sondeos = nuevas.histograma(HISTOGRAMA_SONDEOS);
+        metricas = nuevas;
+        return nuevas;
+    }
+
+    /**
+     * Deshabilita las métricas y las retira de JMX si estaban publicadas.
+     */
+    public void deshabilitarMetricas() {
+        if (metricas != null) {
+            metricas.retirarJmx();
+        }
+        metricas = null;
+        sondeos = null;
+    }
+
+    /**
+     * @return Las métricas del árbol, o null si están deshabilitadas.
+     */
+    public MetricasEstructura<Operacion> getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Registra un agregado para que el árbol lo mantenga en cada nodo. Calcularlo sobre los nodos
+     * existentes cuesta O(n); después, agregarTarea, eliminarNodoPorId y moverNodo lo actualizan
+     * en O(profundidad) y consultarlo cuesta O(1).
+     * Solo se mantienen los cambios hechos a través del árbol; si se modifica el dato de una tarea,
+     * debe llamarse a actualizarTarea.
+     * @param agregado El agregado a registrar.
+     */
+    public void registrarAgregado(Agregado<? super T, ?> agregado) {
+        Objects.requireNonNull(agregado, "agregado");
+        if (indiceAgregado(agregado) >= 0) {
+            return;
+        }
+        agregados.add(agregado);
+        calcularSubarbol(raiz, agregados.size() - 1);
+        LOGGER.log(Level.INFO, "Agregado registrado en el árbol ({0} en total).", agregados.size());
+    }
+
+    /**
+     * Obtiene el valor agregado del subárbol de un nodo en O(1).
+     * @param id El ID del dato del nodo.
+     * @param agregado Un agregado registrado con registrarAgregado.
+     * @return El valor agregado del subárbol, o null si no existe el nodo.
+     * @throws IllegalArgumentException si el agregado no está registrado.
+     */
+    @SuppressWarnings("unchecked")
+    public <A> A obtenerAgregado(Long id, Agregado<? super T, A> agregado) {
+        int i = indiceAgregado(agregado);
+        if (i < 0) {
+            throw new IllegalArgumentException("El agregado no está registrado en el árbol.");
+        }
+        NodoArbolTarea<T> nodo = id != null ? indice.obtener(id) : null;
+        return nodo == null ? null : (A) nodo.agregado(i);
+    }
+
+    /**
+     * Recalcula los agregados tras modificar el dato de una tarea, en O(profundidad)
+     * (más el número de hijos de cada ancestro si algún agregado no tiene inverso).
+     * @param id El ID del dato modificado.
+     * @return true si el nodo existe, false en caso contrario.
+     */
+    public boolean actualizarTarea(Long id) {
+        NodoArbolTarea<T> nodo = id != null ? indice.obtener(id) : null;
+        if (nodo == null) {
+            return false;
+        }
+        for (int i = 0; i < agregados.size(); i++) {
+            Agregado<? super T, Object> agregado = agregado(i);
+            Object anterior = nodo.agregado(i);
+            Object nuevo = calcular(nodo, i);
+            nodo.setAgregado(i, nuevo);
+            for (NodoArbolTarea<T> ancestro = nodo.getPadre(); ancestro != null; ancestro = ancestro.getPadre()) {
+                ancestro.setAgregado(i, agregado.tieneInverso()
+                        ? agregado.combinar(agregado.restar(ancestro.agregado(i), anterior), nuevo)
+                        : calcular(ancestro, i));
             }
         }
         return true;
     }
 
+    private int indiceAgregado(Agregado<?, ?> agregado) {
+        for (int i = 0; i < agregados.size(); i++) {
+            if (agregados.get(i) == agregado) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Agregado<? super T, Object> agregado(int i) {
+        return (Agregado<? super T, Object>) agregados.get(i);
+    }
 
     /**
-     * Metodo auxiliar para encontrar el padre directo de un nodo dado.
-     * @param nodoActual El nodo actual en el recorrido recursivo.
-     * @param nodoBuscado El nodo cuyo padre estamos buscando.
-     * @return El NodoArbolTarea que es padre directo de nodoBuscado, o null si no se encuentra.
+     * Valor agregado de un nodo a partir de su dato y de los valores ya calculados de sus hijos.
      */
-    private NodoArbolTarea<T> encontrarPadreDirecto(NodoArbolTarea<T> nodoActual, NodoArbolTarea<T> nodoBuscado) {
-        if (nodoActual == null || nodoBuscado == null) {
-            return null;
+    private Object calcular(NodoArbolTarea<T> nodo, int i) {
+        Agregado<? super T, Object> agregado = agregado(i);
+        Object valor = agregado.valor(nodo.getDato());
+        for (NodoArbolTarea<T> hijo = nodo.primerHijo(); hijo != null; hijo = hijo.hermanoSiguiente()) {
+            valor = agregado.combinar(valor, hijo.agregado(i));
+        }
+        return valor;
+    }
+
+    /**
+     * Calcula un agregado en todo un subárbol; el post-orden garantiza que los hijos estén listos antes que el padre.
+     */
+    private void calcularSubarbol(NodoArbolTarea<T> nodo, int i) {
+        for (Iterator<NodoArbolTarea<T>> it = RecorridoArbol.iterador(nodo, OrdenRecorrido.POST_ORDEN); it.hasNext(); ) {
+            NodoArbolTarea<T> actual = it.next();
+            actual.setAgregado(i, calcular(actual, i));
+        }
+    }
+
+    /**
+     * Calcula los agregados de una hoja recién agregada y los suma a sus ancestros.
+     */
+    private void agregarHoja(NodoArbolTarea<T> hoja) {
+        for (int i = 0; i < agregados.size(); i++) {
+            hoja.setAgregado(i, calcular(hoja, i));
         }
-        for (NodoArbolTarea<T> hijo : nodoActual.getHijos()) {
-            if (hijo == nodoBuscado) {
-                return nodoActual;
+        sumarEnAncestros(hoja, hoja.getPadre());
+    }
+
+    /**
+     * Suma los agregados de un subárbol recién colgado a todos los ancestros desde el indicado.
+     */
+    private void sumarEnAncestros(NodoArbolTarea<T> nodo, NodoArbolTarea<T> desde) {
+        for (int i = 0; i < agregados.size(); i++) {
+            Agregado<? super T, Object> agregado = agregado(i);
+            Object parte = nodo.agregado(i);
+            for (NodoArbolTarea<T> ancestro = desde; ancestro != null; ancestro = ancestro.getPadre()) {
+                ancestro.setAgregado(i, agregado.combinar(ancestro.agregado(i), parte));
             }
-            NodoArbolTarea<T> padre = encontrarPadreDirecto(hijo, nodoBuscado);
-            if (padre != null) {
-                return padre;
+        }
+    }
+
+    /**
+     * Descuenta los agregados de un subárbol ya desvinculado de todos los ancestros desde su antiguo padre.
+     */
+    private void restarEnAncestros(NodoArbolTarea<T> nodo, NodoArbolTarea<T> desde) {
+        for (int i = 0; i < agregados.size(); i++) {
+            Agregado<? super T, Object> agregado = agregado(i);
+            Object parte = nodo.agregado(i);
+            for (NodoArbolTarea<T> ancestro = desde; ancestro != null; ancestro = ancestro.getPadre()) {
+                ancestro.setAgregado(i, agregado.tieneInverso()
+                        ? agregado.restar(ancestro.agregado(i), parte)
+                        : calcular(ancestro, i));
             }
         }
-        return null;
     }
 }
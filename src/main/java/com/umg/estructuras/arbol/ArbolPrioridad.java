@@ -1,4 +1,270 @@
 package com.umg.estructuras.arbol;
 
-public class ArbolPrioridad {
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cola de prioridad implementada como montículo d-ario sobre arreglos.
+ * Las claves de prioridad se guardan en un arreglo {@code long[]} paralelo al de nodos, de modo que
+ * las comparaciones al subir o bajar no siguen referencias. Un índice ID → nodo permite cambiar la
+ * prioridad o eliminar un elemento en O(log_d n) sin buscarlo.
+ * Con aridad 4 (valor por defecto) el árbol es la mitad de profundo que uno binario y cada grupo de
+ * hermanos cabe en una línea de caché. El orden entre elementos de igual prioridad no está definido.
+ * @param <T> Tipo de los elementos.
+ */
+public class ArbolPrioridad<T> {
+    private static final Logger LOGGER = Logger.getLogger(ArbolPrioridad.class.getName());
+    private static final int ARIDAD_POR_DEFECTO = 4;
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private final int aridad;
+    private final boolean esMaximo;
+    private final ToLongFunction<? super T> extractorId;
+    private final IndicePorId<NodoArbol<T>> indice = new IndicePorId<>();
+
+    // Clave interna: la prioridad en un montículo de máximos, o su complemento (~p) en uno de mínimos,
+    // así el montículo siempre compara "mayor primero" sin desbordamientos.
+    private long[] claves;
+    private NodoArbol<T>[] nodos;
+    private int tamano;
+
+    /**
+     * Crea un montículo de máximos 4-ario que obtiene el ID de cada dato con
+     * {@link Identificable#getId()} o su campo 'id'.
+     */
+    public ArbolPrioridad() {
+        this(ARIDAD_POR_DEFECTO, true, ExtractorIdPorCampo.INSTANCIA);
+    }
+
+    /**
+     * Crea un montículo d-ario.
+     * @param aridad Número de hijos por nodo (al menos 2).
+     * @param esMaximo true para extraer primero la mayor prioridad, false para la menor.
+     * @param extractorId Función que devuelve el ID de un dato, usado por cambiarPrioridad y eliminar.
+     */
+    @SuppressWarnings("unchecked")
+    public ArbolPrioridad(int aridad, boolean esMaximo, ToLongFunction<? super T> extractorId) {
+        if (aridad < 2) {
+            throw new IllegalArgumentException("La aridad debe ser al menos 2: " + aridad);
+        }
+        this.aridad = aridad;
+        this.esMaximo = esMaximo;
+        this.extractorId = Objects.requireNonNull(extractorId, "extractorId");
+        this.claves = new long[CAPACIDAD_INICIAL];
+        this.nodos = (NodoArbol<T>[]) new NodoArbol<?>[CAPACIDAD_INICIAL];
+        this.tamano = 0;
+        LOGGER.log(Level.INFO, "ArbolPrioridad creado (aridad {0}, {1}).", new Object[]{aridad, esMaximo ? "máximos" : "mínimos"});
+    }
+
+    private long clave(long prioridad) {
+        return esMaximo ? prioridad : ~prioridad;
+    }
+
+    /**
+     * Inserta un dato con la prioridad indicada. O(log_d n).
+     * @param dato El dato a insertar.
+     * @param prioridad Su prioridad.
+     * @return El nodo creado para el dato.
+     * @throws IllegalArgumentException si ya hay un elemento con el mismo ID.
+     */
+    public NodoArbol<T> insertar(T dato, long prioridad) {
+        long id = extractorId.applyAsLong(dato);
+        if (indice.contiene(id)) {
+            throw new IllegalArgumentException("Ya existe un elemento con ID " + id + "; use cambiarPrioridad.");
+        }
+        if (tamano == claves.length) {
+            int nuevaCapacidad = claves.length + (claves.length >> 1);
+            claves = Arrays.copyOf(claves, nuevaCapacidad);
+            nodos = Arrays.copyOf(nodos, nuevaCapacidad);
+        }
+        NodoArbol<T> nodo = new NodoArbol<>(dato, id, prioridad);
+        indice.poner(id, nodo);
+        subir(tamano++, clave(prioridad), nodo);
+        return nodo;
+    }
+
+    /**
+     * Devuelve el elemento más prioritario sin extraerlo.
+     * @return El dato en la cima, o null si el árbol está vacío.
+     */
+    public T peek() {
+        return tamano == 0 ? null : nodos[0].getDato();
+    }
+
+    /**
+     * Devuelve el nodo más prioritario sin extraerlo, con acceso a su prioridad.
+     * @return El nodo en la cima, o null si el árbol está vacío.
+     */
+    public NodoArbol<T> peekNodo() {
+        return tamano == 0 ? null : nodos[0];
+    }
+
+    /**
+     * Extrae el elemento más prioritario según el orden del árbol. O(d log_d n).
+     * @return El dato extraído.
+     * @throws NoSuchElementException si el árbol está vacío.
+     */
+    public T extraer() {
+        if (tamano == 0) {
+            throw new NoSuchElementException("El árbol de prioridad está vacío.");
+        }
+        return quitarEn(0).getDato();
+    }
+
+    /**
+     * Extrae el elemento de mayor prioridad.
+     * @return El dato extraído.
+     * @throws IllegalStateException si el árbol es un montículo de mínimos.
+     * @throws NoSuchElementException si el árbol está vacío.
+     */
+    public T extraerMax() {
+        if (!esMaximo) {
+            throw new IllegalStateException("El árbol está ordenado por mínimos; use extraerMin.");
+        }
+        return extraer();
+    }
+
+    /**
+     * Extrae el elemento de menor prioridad.
+     * @return El dato extraído.
+     * @throws IllegalStateException si el árbol es un montículo de máximos.
+     * @throws NoSuchElementException si el árbol está vacío.
+     */
+    public T extraerMin() {
+        if (esMaximo) {
+            throw new IllegalStateException("El árbol está ordenado por máximos; use extraerMax.");
+        }
+        return extraer();
+    }
+
+    /**
+     * Cambia la prioridad de un elemento, subiéndolo o bajándolo según corresponda. O(log_d n).
+     * @param id El ID del elemento.
+     * @param nuevaPrioridad La nueva prioridad.
+     * @return true si el elemento existía, false en caso contrario.
+     */
+    public boolean cambiarPrioridad(long id, long nuevaPrioridad) {
+        NodoArbol<T> nodo = indice.obtener(id);
+        if (nodo == null) {
+            return false;
+        }
+        long claveAnterior = clave(nodo.getPrioridad());
+        long nuevaClave = clave(nuevaPrioridad);
+        nodo.setPrioridad(nuevaPrioridad);
+        if (nuevaClave > claveAnterior) {
+            subir(nodo.getPosicion(), nuevaClave, nodo);
+        } else if (nuevaClave < claveAnterior) {
+            bajar(nodo.getPosicion(), nuevaClave, nodo);
+        }
+        return true;
+    }
+
+    /**
+     * Elimina un elemento por su ID. O(d log_d n).
+     * @param id El ID del elemento.
+     * @return El dato eliminado, o null si no existía.
+     */
+    public T eliminar(long id) {
+        NodoArbol<T> nodo = indice.obtener(id);
+        return nodo == null ? null : quitarEn(nodo.getPosicion()).getDato();
+    }
+
+    /**
+     * Verifica si hay un elemento con el ID indicado.
+     * @param id El ID a buscar.
+     * @return true si existe, false en caso contrario.
+     */
+    public boolean contiene(long id) {
+        return indice.contiene(id);
+    }
+
+    /**
+     * Obtiene el nodo de un elemento por su ID.
+     * @param id El ID a buscar.
+     * @return El nodo, o null si no existe.
+     */
+    public NodoArbol<T> buscarPorId(long id) {
+        return indice.obtener(id);
+    }
+
+    public boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    public int tamano() {
+        return tamano;
+    }
+
+    /**
+     * Quita el nodo de la posición indicada y rellena el hueco con el último elemento.
+     */
+    private NodoArbol<T> quitarEn(int posicion) {
+        NodoArbol<T> quitado = nodos[posicion];
+        int ultimo = --tamano;
+        NodoArbol<T> nodoUltimo = nodos[ultimo];
+        long claveUltimo = claves[ultimo];
+        nodos[ultimo] = null;
+        if (posicion != ultimo) {
+            if (claveUltimo > claves[posicion]) {
+                subir(posicion, claveUltimo, nodoUltimo);
+            } else {
+                bajar(posicion, claveUltimo, nodoUltimo);
+            }
+        }
+        indice.eliminar(quitado.getId());
+        quitado.setPosicion(-1);
+        return quitado;
+    }
+
+    /**
+     * Sube el nodo desde la posición indicada desplazando hacia abajo a los padres de menor clave.
+     */
+    private void subir(int posicion, long clave, NodoArbol<T> nodo) {
+        while (posicion > 0) {
+            int padre = (posicion - 1) / aridad;
+            if (claves[padre] >= clave) {
+                break;
+            }
+            colocar(posicion, claves[padre], nodos[padre]);
+            posicion = padre;
+        }
+        colocar(posicion, clave, nodo);
+    }
+
+    /**
+     * Baja el nodo desde la posición indicada desplazando hacia arriba al hijo de mayor clave.
+     */
+    private void bajar(int posicion, long clave, NodoArbol<T> nodo) {
+        while (true) {
+            int primerHijo = posicion * aridad + 1;
+            if (primerHijo >= tamano) {
+                break;
+            }
+            int finHijos = Math.min(primerHijo + aridad, tamano);
+            int mejor = primerHijo;
+            long claveMejor = claves[primerHijo];
+            for (int i = primerHijo + 1; i < finHijos; i++) {
+                if (claves[i] > claveMejor) {
+                    mejor = i;
+                    claveMejor = claves[i];
+                }
+            }
+            if (claveMejor <= clave) {
+                break;
+            }
+            colocar(posicion, claveMejor, nodos[mejor]);
+            posicion = mejor;
+        }
+        colocar(posicion, clave, nodo);
+    }
+
+    private void colocar(int posicion, long clave, NodoArbol<T> nodo) {
+        claves[posicion] = clave;
+        nodos[posicion] = nodo;
+        nodo.setPosicion(posicion);
+    }
 }
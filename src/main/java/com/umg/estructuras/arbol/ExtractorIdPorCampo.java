@@ -0,0 +1,77 @@
+package com.umg.estructuras.arbol;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Extractor de ID por defecto de ArbolJerarquicoTareas.
+ * Si el dato implementa {@link Identificable} usa su getter; si no, lee el campo 'id'
+ * mediante un MethodHandle que se resuelve una sola vez por clase y queda en caché.
+ */
+final class ExtractorIdPorCampo implements ToLongFunction<Object> {
+    private static final Logger LOGGER = Logger.getLogger(ExtractorIdPorCampo.class.getName());
+    private static final MethodType TIPO_GETTER = MethodType.methodType(long.class, Object.class);
+
+    static final ExtractorIdPorCampo INSTANCIA = new ExtractorIdPorCampo();
+
+    // Un getter (Object)long por clase; null si la clase no tiene un campo 'id' utilizable.
+    private static final ClassValue<MethodHandle> GETTERS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> clase) {
+            return resolverGetter(clase);
+        }
+    };
+
+    private ExtractorIdPorCampo() {
+    }
+
+    private static MethodHandle resolverGetter(Class<?> clase) {
+        for (Class<?> actual = clase; actual != null && actual != Object.class; actual = actual.getSuperclass()) {
+            try {
+                Field idField = actual.getDeclaredField("id");
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(actual, MethodHandles.lookup());
+                MethodHandle getter = lookup.unreflectGetter(idField).asType(TIPO_GETTER);
+                LOGGER.log(Level.FINE, "Getter del campo 'id' resuelto para la clase {0}", clase.getName());
+                return getter;
+            } catch (NoSuchFieldException e) {
+                // Se sigue buscando en la superclase
+            } catch (IllegalAccessException | RuntimeException e) {
+                // RuntimeException cubre un campo 'id' de un tipo no convertible a long
+                LOGGER.log(Level.SEVERE, "No se pudo acceder al campo 'id' en la clase {0}: {1}", new Object[]{clase.getName(), e.getMessage()});
+                return null;
+            }
+        }
+        LOGGER.log(Level.SEVERE, "La clase {0} no tiene un campo 'id'. Asegúrese de que su clase T tenga un campo 'id' o implemente Identificable.", clase.getName());
+        return null;
+    }
+
+    /**
+     * Obtiene el ID del dato.
+     * @param dato El dato.
+     * @return El ID del dato.
+     * @throws IllegalArgumentException si la clase del dato no tiene un campo 'id' utilizable.
+     * @throws NullPointerException si el dato o su campo 'id' son null.
+     */
+    @Override
+    public long applyAsLong(Object dato) {
+        if (dato instanceof Identificable) {
+            return ((Identificable) dato).getId();
+        }
+        MethodHandle getter = GETTERS.get(dato.getClass());
+        if (getter == null) {
+            throw new IllegalArgumentException("La clase " + dato.getClass().getName() + " no tiene un campo 'id' utilizable.");
+        }
+        try {
+            return (long) getter.invokeExact(dato);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.umg.estructuras.arbol;
+
+/**
+ * Interfaz para los datos que exponen su propio ID.
+ * ArbolJerarquicoTareas la usa directamente sin recurrir a la reflexión.
+ */
+public interface Identificable {
+    /**
+     * Obtiene el ID del dato.
+     * @return El ID.
+     */
+    long getId();
+}
@@ -0,0 +1,106 @@
+package com.umg.estructuras.arbol;
+
+import java.util.Arrays;
+
+/**
+ * Numeración de entrada/salida de un recorrido en profundidad (recorrido de Euler) para consultas
+ * de ancestros en O(1): B es ancestro de A si la entrada de A cae en el intervalo [entrada, salida] de B.
+ * El ancestro común más bajo se resuelve con una tabla dispersa de mínimos sobre las profundidades
+ * en pre-orden, también en O(1); la tabla ocupa O(n log n) y solo se construye con la primera consulta.
+ * Los números se guardan en cada NodoArbolTarea y dejan de ser válidos al modificar el árbol.
+ */
+final class IndiceAncestros<T> {
+    private final NodoArbolTarea<T>[] porEntrada; // Nodos en pre-orden
+    private final int[] profundidad;               // Profundidad de cada posición de porEntrada
+    private int[][] minimos; // minimos[k][i]: posición de menor profundidad en [i, i + 2^k)
+
+    @SuppressWarnings("unchecked")
+    IndiceAncestros(NodoArbolTarea<T> raiz, int tamano) {
+        NodoArbolTarea<?>[] nodos = new NodoArbolTarea<?>[Math.max(tamano, 1)];
+        int[] profundidades = new int[nodos.length];
+        int contador = 0;
+        if (raiz != null) {
+            // Recorrido en pre-orden por los enlaces de padre y hermanos; se sale de un nodo al terminar su subárbol
+            NodoArbolTarea<T> nodo = raiz;
+            int altura = 0;
+            recorrido:
+            while (true) {
+                if (contador == nodos.length) {
+                    nodos = Arrays.copyOf(nodos, contador << 1);
+                    profundidades = Arrays.copyOf(profundidades, contador << 1);
+                }
+                nodo.entrada = contador;
+                profundidades[contador] = altura;
+                nodos[contador++] = nodo;
+                if (nodo.primerHijo() != null) {
+                    nodo = nodo.primerHijo();
+                    altura++;
+                    continue;
+                }
+                while (true) {
+                    nodo.salida = contador - 1; // Última entrada asignada dentro de su subárbol
+                    if (nodo == raiz) {
+                        break recorrido;
+                    }
+                    if (nodo.hermanoSiguiente() != null) {
+                        nodo = nodo.hermanoSiguiente();
+                        break;
+                    }
+                    nodo = nodo.getPadre();
+                    altura--;
+                }
+            }
+        }
+        this.porEntrada = (NodoArbolTarea<T>[]) Arrays.copyOf(nodos, contador);
+        this.profundidad = Arrays.copyOf(profundidades, contador);
+    }
+
+    /**
+     * Indica si {@code ancestro} es ancestro propio de {@code nodo}. O(1).
+     */
+    static boolean esAncestro(NodoArbolTarea<?> ancestro, NodoArbolTarea<?> nodo) {
+        return ancestro.entrada < nodo.entrada && nodo.entrada <= ancestro.salida;
+    }
+
+    /**
+     * Ancestro común más bajo de dos nodos (un nodo se considera ancestro de sí mismo). O(1).
+     */
+    NodoArbolTarea<T> ancestroComun(NodoArbolTarea<T> a, NodoArbolTarea<T> b) {
+        if (a == b) {
+            return a;
+        }
+        int desde = Math.min(a.entrada, b.entrada);
+        int hasta = Math.max(a.entrada, b.entrada);
+        if (minimos == null) {
+            construirMinimos();
+        }
+        // El nodo menos profundo en (desde, hasta] es un hijo del ancestro común
+        int k = 31 - Integer.numberOfLeadingZeros(hasta - desde);
+        int izquierda = minimos[k][desde + 1];
+        int derecha = minimos[k][hasta - (1 << k) + 1];
+        int menor = profundidad[izquierda] <= profundidad[derecha] ? izquierda : derecha;
+        return porEntrada[menor].getPadre();
+    }
+
+    private void construirMinimos() {
+        int n = porEntrada.length;
+        int niveles = 32 - Integer.numberOfLeadingZeros(Math.max(n, 1));
+        int[][] tabla = new int[niveles][];
+        tabla[0] = new int[n];
+        for (int i = 0; i < n; i++) {
+            tabla[0][i] = i;
+        }
+        for (int k = 1; k < niveles; k++) {
+            int[] anterior = tabla[k - 1];
+            int mitad = 1 << (k - 1);
+            int[] actual = new int[n - (1 << k) + 1];
+            for (int i = 0; i < actual.length; i++) {
+                int izquierda = anterior[i];
+                int derecha = anterior[i + mitad];
+                actual[i] = profundidad[izquierda] <= profundidad[derecha] ? izquierda : derecha;
+            }
+            tabla[k] = actual;
+        }
+        minimos = tabla;
+    }
+}
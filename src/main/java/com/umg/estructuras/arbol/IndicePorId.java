@@ -0,0 +1,226 @@
+package com.umg.estructuras.arbol;
+
+import com.umg.estructuras.metricas.Histograma;
+import java.util.Arrays;
+
+/**
+ * Mapa de direccionamiento abierto con claves primitivas {@code long}.
+ * Se usa como índice ID → nodo para evitar recorrer el árbol en cada búsqueda
+ * y para no envolver los IDs en objetos {@code Long}.
+ * Utiliza sondeo lineal y borrado con desplazamiento hacia atrás, por lo que no deja lápidas.
+ * @param <V> Tipo de los valores almacenados.
+ */
+final class IndicePorId<V> {
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final long CONSTANTE_FIBONACCI = 0x9E3779B97F4A7C15L;
+
+    private long[] claves;
+    private Object[] valores;
+    private int mascara;
+    private int tamano;
+
+    // La clave 0 se usa como marca de casilla libre, así que se guarda aparte.
+    private boolean tieneCero;
+    private Object valorCero;
+
+    IndicePorId() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    IndicePorId(int capacidadEsperada) {
+        // Menor potencia de dos que mantiene el factor de carga por debajo de 0.75
+        int necesaria = (int) Math.min(1 << 30, (long) capacidadEsperada * 4 / 3 + 1);
+        int capacidad = Math.max(CAPACIDAD_INICIAL, Integer.highestOneBit(necesaria - 1) << 1);
+        this.claves = new long[capacidad];
+        this.valores = new Object[capacidad];
+        this.mascara = capacidad - 1;
+    }
+
+    private int posicionInicial(long clave) {
+        return (int) ((clave * CONSTANTE_FIBONACCI) >>> 32) & mascara;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     * @param clave La clave a buscar.
+     * @return El valor asociado, o null si la clave no está en el índice.
+     */
+    @SuppressWarnings("unchecked")
+    V obtener(long clave) {
+        if (clave == 0) {
+            return (V) valorCero;
+        }
+        int i = posicionInicial(clave);
+        long actual;
+        while ((actual = claves[i]) != 0) {
+            if (actual == clave) {
+                return (V) valores[i];
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave y registra en el histograma las casillas que examinó la
+     * búsqueda: 1 si la clave está en su posición ideal, más uno por cada colisión recorrida.
+     * @param clave La clave a buscar.
+     * @param sondeos Histograma donde se registra el costo de la búsqueda.
+     * @return El valor asociado, o null si la clave no está en el índice.
+     */
+    @SuppressWarnings("unchecked")
+    V obtener(long clave, Histograma sondeos) {
+        if (clave == 0) {
+            sondeos.registrar(1);
+            return (V) valorCero;
+        }
+        int i = posicionInicial(clave);
+        int examinadas = 1;
+        long actual;
+        while ((actual = claves[i]) != 0 && actual != clave) {
+            i = (i + 1) & mascara;
+            examinadas++;
+        }
+        sondeos.registrar(examinadas);
+        return actual == 0 ? null : (V) valores[i];
+    }
+
+    boolean contiene(long clave) {
+        if (clave == 0) {
+            return tieneCero;
+        }
+        int i = posicionInicial(clave);
+        long actual;
+        while ((actual = claves[i]) != 0) {
+            if (actual == clave) {
+                return true;
+            }
+            i = (i + 1) & mascara;
+        }
+        return false;
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el valor anterior si existía.
+     * @param clave La clave.
+     * @param valor El valor a asociar.
+     * @return El valor anterior, o null si la clave no existía.
+     */
+    @SuppressWarnings("unchecked")
+    V poner(long clave, V valor) {
+        if (clave == 0) {
+            V anterior = (V) valorCero;
+            if (!tieneCero) {
+                tieneCero = true;
+                tamano++;
+            }
+            valorCero = valor;
+            return anterior;
+        }
+        int i = posicionInicial(clave);
+        long actual;
+        while ((actual = claves[i]) != 0) {
+            if (actual == clave) {
+                V anterior = (V) valores[i];
+                valores[i] = valor;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        valores[i] = valor;
+        if (++tamano > (claves.length >> 1) + (claves.length >> 2)) { // factor de carga 0.75
+            redimensionar(claves.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Elimina una clave del índice.
+     * @param clave La clave a eliminar.
+     * @return El valor que estaba asociado, o null si la clave no existía.
+     */
+    @SuppressWarnings("unchecked")
+    V eliminar(long clave) {
+        if (clave == 0) {
+            if (!tieneCero) {
+                return null;
+            }
+            V anterior = (V) valorCero;
+            tieneCero = false;
+            valorCero = null;
+            tamano--;
+            return anterior;
+        }
+        int i = posicionInicial(clave);
+        long actual;
+        while ((actual = claves[i]) != 0) {
+            if (actual == clave) {
+                V anterior = (V) valores[i];
+                desplazarHaciaAtras(i);
+                tamano--;
+                return anterior;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Cierra el hueco dejado en la posición indicada moviendo hacia atrás
+     * las entradas del mismo grupo de sondeo, para no necesitar lápidas.
+     */
+    private void desplazarHaciaAtras(int hueco) {
+        int i = hueco;
+        while (true) {
+            i = (i + 1) & mascara;
+            long clave = claves[i];
+            if (clave == 0) {
+                break;
+            }
+            int ideal = posicionInicial(clave);
+            // La entrada puede ocupar el hueco si su posición ideal no está entre el hueco y su posición actual.
+            if (((i - ideal) & mascara) >= ((i - hueco) & mascara)) {
+                claves[hueco] = clave;
+                valores[hueco] = valores[i];
+                hueco = i;
+            }
+        }
+        claves[hueco] = 0;
+        valores[hueco] = null;
+    }
+
+    private void redimensionar(int nuevaCapacidad) {
+        long[] clavesViejas = claves;
+        Object[] valoresViejos = valores;
+        claves = new long[nuevaCapacidad];
+        valores = new Object[nuevaCapacidad];
+        mascara = nuevaCapacidad - 1;
+        for (int j = 0; j < clavesViejas.length; j++) {
+            long clave = clavesViejas[j];
+            if (clave != 0) {
+                int i = posicionInicial(clave);
+                while (claves[i] != 0) {
+                    i = (i + 1) & mascara;
+                }
+                claves[i] = clave;
+                valores[i] = valoresViejos[j];
+            }
+        }
+    }
+
+    /**
+     * Vacía el índice conservando la capacidad actual.
+     */
+    void limpiar() {
+        Arrays.fill(claves, 0L);
+        Arrays.fill(valores, null);
+        tieneCero = false;
+        valorCero = null;
+        tamano = 0;
+    }
+
+    int tamano() {
+        return tamano;
+    }
+}
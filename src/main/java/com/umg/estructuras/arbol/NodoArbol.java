@@ -1,4 +1,46 @@
 package com.umg.estructuras.arbol;
 
-public class NodoArbol {
+/**
+ * Entrada de ArbolPrioridad: el dato, su prioridad y la posición que ocupa en el montículo.
+ */
+public class NodoArbol<T> {
+    private final T dato;
+    private final long id;
+    private long prioridad;
+    private int posicion;
+
+    NodoArbol(T dato, long id, long prioridad) {
+        this.dato = dato;
+        this.id = id;
+        this.prioridad = prioridad;
+        this.posicion = -1;
+    }
+
+    public T getDato() {
+        return dato;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getPrioridad() {
+        return prioridad;
+    }
+
+    void setPrioridad(long prioridad) {
+        this.prioridad = prioridad;
+    }
+
+    /**
+     * Obtiene la posición del nodo en el arreglo del montículo.
+     * @return La posición, o -1 si el nodo ya no está en el árbol.
+     */
+    public int getPosicion() {
+        return posicion;
+    }
+
+    void setPosicion(int posicion) {
+        this.posicion = posicion;
+    }
 }
@@ -1,15 +1,31 @@
 package com.umg.estructuras.arbol;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
+/**
+ * Nodo del árbol jerárquico de tareas.
+ * Los hijos forman una lista doblemente enlazada intrusiva (primer/último hijo en el padre,
+ * hermano anterior/siguiente en cada hijo), de modo que desvincular un nodo es O(1) y los
+ * hermanos conservan el orden en que se agregaron.
+ */
 public class NodoArbolTarea<T> {
     private T dato;
-    private List<NodoArbolTarea<T>> hijos;
+    private NodoArbolTarea<T> padre;
+    private NodoArbolTarea<T> primerHijo;
+    private NodoArbolTarea<T> ultimoHijo;
+    private NodoArbolTarea<T> hermanoAnterior;
+    private NodoArbolTarea<T> hermanoSiguiente;
+    private int numeroHijos;
+    private Object[] agregados; // Valor de cada Agregado registrado en el árbol, para este subárbol
+    int entrada = -1; // Numeración pre-orden asignada por IndiceAncestros
+    int salida = -1;  // Mayor entrada dentro del subárbol
 
     public NodoArbolTarea(T dato) {
         this.dato = dato;
-        this.hijos = new ArrayList<>();
     }
 
     public T getDato() {
@@ -20,11 +36,179 @@ public class NodoArbolTarea<T> {
         this.dato = dato;
     }
 
+    /**
+     * Obtiene los hijos del nodo.
+     * @return Una vista de solo lectura de los hijos, en orden de inserción; se modifican con
+     * agregarHijo y quitarHijo. Recorrerla es O(hijos); get(i) es O(min(i, hijos - i)).
+     */
     public List<NodoArbolTarea<T>> getHijos() {
-        return hijos;
+        return new VistaHijos();
     }
 
+    /**
+     * Obtiene el padre del nodo.
+     * @return El nodo padre, o null si el nodo es una raíz o está desvinculado.
+     */
+    public NodoArbolTarea<T> getPadre() {
+        return padre;
+    }
+
+    /**
+     * Agrega un hijo al final de la lista de hijos.
+     * Si el hijo ya tenía otro padre, primero se desvincula de él.
+     * @param hijo El nodo a agregar como hijo.
+     */
     public void agregarHijo(NodoArbolTarea<T> hijo) {
-        this.hijos.add(hijo);
+        hijo.desvincular();
+        hijo.padre = this;
+        hijo.hermanoAnterior = ultimoHijo;
+        if (ultimoHijo != null) {
+            ultimoHijo.hermanoSiguiente = hijo;
+        } else {
+            primerHijo = hijo;
+        }
+        ultimoHijo = hijo;
+        numeroHijos++;
+    }
+
+    /**
+     * Quita un hijo directo de este nodo en O(1); los demás hermanos conservan su orden.
+     * @param hijo El hijo a quitar.
+     * @return true si el nodo era hijo directo y fue quitado, false en caso contrario.
+     */
+    public boolean quitarHijo(NodoArbolTarea<T> hijo) {
+        if (hijo == null || hijo.padre != this) {
+            return false;
+        }
+        if (hijo.hermanoAnterior != null) {
+            hijo.hermanoAnterior.hermanoSiguiente = hijo.hermanoSiguiente;
+        } else {
+            primerHijo = hijo.hermanoSiguiente;
+        }
+        if (hijo.hermanoSiguiente != null) {
+            hijo.hermanoSiguiente.hermanoAnterior = hijo.hermanoAnterior;
+        } else {
+            ultimoHijo = hijo.hermanoAnterior;
+        }
+        hijo.padre = null;
+        hijo.hermanoAnterior = null;
+        hijo.hermanoSiguiente = null;
+        numeroHijos--;
+        return true;
+    }
+
+    /**
+     * Desvincula este nodo de su padre, si lo tiene. Sus hijos permanecen conectados a él.
+     */
+    public void desvincular() {
+        if (padre != null) {
+            padre.quitarHijo(this);
+        }
+    }
+
+    /**
+     * Verifica si este nodo es ancestro (propio) de otro, subiendo por los padres del otro.
+     * Su costo está acotado por la profundidad del otro nodo.
+     * @param otro El nodo a verificar.
+     * @return true si este nodo es un ancestro de otro, false en caso contrario.
+     */
+    public boolean esAncestroDe(NodoArbolTarea<T> otro) {
+        for (NodoArbolTarea<T> actual = otro != null ? otro.padre : null; actual != null; actual = actual.padre) {
+            if (actual == this) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enlaces de la lista de hijos para los recorridos internos del paquete.
+     */
+    NodoArbolTarea<T> primerHijo() {
+        return primerHijo;
+    }
+
+    NodoArbolTarea<T> ultimoHijo() {
+        return ultimoHijo;
+    }
+
+    NodoArbolTarea<T> hermanoAnterior() {
+        return hermanoAnterior;
+    }
+
+    NodoArbolTarea<T> hermanoSiguiente() {
+        return hermanoSiguiente;
+    }
+
+    int numeroHijos() {
+        return numeroHijos;
+    }
+
+    /**
+     * Valores agregados del subárbol, mantenidos por ArbolJerarquicoTareas.
+     */
+    Object agregado(int indice) {
+        return agregados[indice];
+    }
+
+    void setAgregado(int indice, Object valor) {
+        if (agregados == null) {
+            agregados = new Object[indice + 1];
+        } else if (indice >= agregados.length) {
+            agregados = Arrays.copyOf(agregados, indice + 1);
+        }
+        agregados[indice] = valor;
+    }
+
+    /**
+     * Lista de solo lectura sobre los enlaces de los hijos; refleja los cambios posteriores del nodo.
+     */
+    private final class VistaHijos extends AbstractList<NodoArbolTarea<T>> {
+        @Override
+        public NodoArbolTarea<T> get(int indice) {
+            if (indice < 0 || indice >= numeroHijos) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fuera de rango para " + numeroHijos + " hijos");
+            }
+            NodoArbolTarea<T> hijo;
+            if (indice < numeroHijos / 2) {
+                hijo = primerHijo;
+                for (int i = 0; i < indice; i++) {
+                    hijo = hijo.hermanoSiguiente;
+                }
+            } else {
+                hijo = ultimoHijo;
+                for (int i = numeroHijos - 1; i > indice; i--) {
+                    hijo = hijo.hermanoAnterior;
+                }
+            }
+            return hijo;
+        }
+
+        @Override
+        public int size() {
+            return numeroHijos;
+        }
+
+        @Override
+        public Iterator<NodoArbolTarea<T>> iterator() {
+            return new Iterator<>() {
+                private NodoArbolTarea<T> siguiente = primerHijo;
+
+                @Override
+                public boolean hasNext() {
+                    return siguiente != null;
+                }
+
+                @Override
+                public NodoArbolTarea<T> next() {
+                    if (siguiente == null) {
+                        throw new NoSuchElementException();
+                    }
+                    NodoArbolTarea<T> hijo = siguiente;
+                    siguiente = hijo.hermanoSiguiente;
+                    return hijo;
+                }
+            };
+        }
     }
 }
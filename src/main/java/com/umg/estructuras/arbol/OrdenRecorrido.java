@@ -0,0 +1,13 @@
+package com.umg.estructuras.arbol;
+
+/**
+ * Orden en que se visitan los nodos al recorrer un árbol.
+ */
+public enum OrdenRecorrido {
+    /** Cada nodo antes que sus hijos (en profundidad). */
+    PRE_ORDEN,
+    /** Cada nodo después de todos sus hijos (en profundidad). */
+    POST_ORDEN,
+    /** Nivel por nivel, empezando por la raíz (en anchura). */
+    POR_NIVELES
+}
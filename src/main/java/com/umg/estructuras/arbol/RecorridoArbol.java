@@ -0,0 +1,132 @@
+package com.umg.estructuras.arbol;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iteradores perezosos sobre un subárbol de NodoArbolTarea. Usan una pila, una cola o los enlaces
+ * entre nodos en lugar de recursión, así que sirven para árboles de cualquier profundidad, y calculan cada nodo solo cuando
+ * se pide, por lo que el recorrido puede detenerse en cualquier momento sin coste adicional.
+ * El árbol no debe modificarse mientras se recorre.
+ */
+final class RecorridoArbol {
+
+    private RecorridoArbol() {
+    }
+
+    static <T> Iterator<NodoArbolTarea<T>> iterador(NodoArbolTarea<T> raiz, OrdenRecorrido orden) {
+        if (raiz == null) {
+            return Collections.emptyIterator();
+        }
+        switch (orden) {
+            case PRE_ORDEN:
+                return new PreOrden<>(raiz);
+            case POST_ORDEN:
+                return new PostOrden<>(raiz);
+            case POR_NIVELES:
+                return new PorNiveles<>(raiz);
+            default:
+                throw new IllegalArgumentException("Orden de recorrido no soportado: " + orden);
+        }
+    }
+
+    /**
+     * Pila de nodos pendientes; los hijos se apilan en orden inverso para visitarlos de izquierda a derecha.
+     */
+    private static final class PreOrden<T> implements Iterator<NodoArbolTarea<T>> {
+        private final ArrayDeque<NodoArbolTarea<T>> pendientes = new ArrayDeque<>();
+
+        PreOrden(NodoArbolTarea<T> raiz) {
+            pendientes.push(raiz);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pendientes.isEmpty();
+        }
+
+        @Override
+        public NodoArbolTarea<T> next() {
+            NodoArbolTarea<T> nodo = pendientes.poll();
+            if (nodo == null) {
+                throw new NoSuchElementException();
+            }
+            for (NodoArbolTarea<T> hijo = nodo.ultimoHijo(); hijo != null; hijo = hijo.hermanoAnterior()) {
+                pendientes.push(hijo);
+            }
+            return nodo;
+        }
+    }
+
+    /**
+     * Sigue los enlaces de padre y hermanos sin memoria adicional: tras devolver un nodo se pasa a la
+     * hoja más a la izquierda de su siguiente hermano o, si no lo tiene, a su padre.
+     */
+    private static final class PostOrden<T> implements Iterator<NodoArbolTarea<T>> {
+        private final NodoArbolTarea<T> raiz;
+        private NodoArbolTarea<T> siguiente;
+
+        PostOrden(NodoArbolTarea<T> raiz) {
+            this.raiz = raiz;
+            this.siguiente = primeraHoja(raiz);
+        }
+
+        private static <T> NodoArbolTarea<T> primeraHoja(NodoArbolTarea<T> nodo) {
+            while (nodo.primerHijo() != null) {
+                nodo = nodo.primerHijo();
+            }
+            return nodo;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public NodoArbolTarea<T> next() {
+            NodoArbolTarea<T> nodo = siguiente;
+            if (nodo == null) {
+                throw new NoSuchElementException();
+            }
+            if (nodo == raiz) {
+                siguiente = null;
+            } else if (nodo.hermanoSiguiente() != null) {
+                siguiente = primeraHoja(nodo.hermanoSiguiente());
+            } else {
+                siguiente = nodo.getPadre();
+            }
+            return nodo;
+        }
+    }
+
+    /**
+     * Cola de nodos pendientes, nivel por nivel.
+     */
+    private static final class PorNiveles<T> implements Iterator<NodoArbolTarea<T>> {
+        private final ArrayDeque<NodoArbolTarea<T>> pendientes = new ArrayDeque<>();
+
+        PorNiveles(NodoArbolTarea<T> raiz) {
+            pendientes.add(raiz);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !pendientes.isEmpty();
+        }
+
+        @Override
+        public NodoArbolTarea<T> next() {
+            NodoArbolTarea<T> nodo = pendientes.poll();
+            if (nodo == null) {
+                throw new NoSuchElementException();
+            }
+            for (NodoArbolTarea<T> hijo = nodo.primerHijo(); hijo != null; hijo = hijo.hermanoSiguiente()) {
+                pendientes.add(hijo);
+            }
+            return nodo;
+        }
+    }
+}
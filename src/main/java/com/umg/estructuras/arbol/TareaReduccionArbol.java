@@ -0,0 +1,71 @@
+package com.umg.estructuras.arbol;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * Tarea fork/join que reduce un subárbol de NodoArbolTarea.
+ * Recorre el subárbol con una pila explícita (sin recursión). Cada cierto número de nodos procesados,
+ * si quedan varios nodos pendientes y el pool tiene pocas tareas en cola, separa el nodo pendiente
+ * más cercano a la raíz (el de mayor subárbol esperado) como una nueva tarea que otro hilo puede robar.
+ * Así el reparto se adapta a la forma del árbol sin conocer de antemano el tamaño de cada subárbol.
+ */
+final class TareaReduccionArbol<T, R> extends RecursiveTask<R> {
+    private static final long serialVersionUID = 1L;
+
+    // Nodos que una tarea procesa antes de plantearse dividir el trabajo
+    static final int UMBRAL_SECUENCIAL = 1024;
+    // Máximo de tareas en cola del hilo actual para seguir dividiendo
+    private static final int MAXIMO_EXCEDENTE = 3;
+
+    private final transient NodoArbolTarea<T> raiz;
+    private final transient Function<? super T, ? extends R> mapeo;
+    private final transient BinaryOperator<R> combinar;
+
+    TareaReduccionArbol(NodoArbolTarea<T> raiz, Function<? super T, ? extends R> mapeo, BinaryOperator<R> combinar) {
+        this.raiz = raiz;
+        this.mapeo = mapeo;
+        this.combinar = combinar;
+    }
+
+    @Override
+    protected R compute() {
+        ArrayDeque<NodoArbolTarea<T>> pendientes = new ArrayDeque<>();
+        List<TareaReduccionArbol<T, R>> separadas = null;
+        pendientes.push(raiz);
+        R acumulado = null;
+        boolean hayResultado = false;
+        int procesados = 0;
+        while (!pendientes.isEmpty()) {
+            if (++procesados >= UMBRAL_SECUENCIAL && pendientes.size() > 1
+                    && getSurplusQueuedTaskCount() < MAXIMO_EXCEDENTE) {
+                procesados = 0;
+                TareaReduccionArbol<T, R> tarea = new TareaReduccionArbol<>(pendientes.pollLast(), mapeo, combinar);
+                tarea.fork();
+                if (separadas == null) {
+                    separadas = new ArrayList<>();
+                }
+                separadas.add(tarea);
+                continue;
+            }
+            NodoArbolTarea<T> nodo = pendientes.pop();
+            R valor = mapeo.apply(nodo.getDato());
+            acumulado = hayResultado ? combinar.apply(acumulado, valor) : valor;
+            hayResultado = true;
+            for (NodoArbolTarea<T> hijo = nodo.primerHijo(); hijo != null; hijo = hijo.hermanoSiguiente()) {
+                pendientes.push(hijo);
+            }
+        }
+        if (separadas != null) {
+            // Se esperan en orden inverso: las últimas separadas son las que menos probablemente se robaron
+            for (int i = separadas.size() - 1; i >= 0; i--) {
+                acumulado = combinar.apply(acumulado, separadas.get(i).join());
+            }
+        }
+        return acumulado;
+    }
+}
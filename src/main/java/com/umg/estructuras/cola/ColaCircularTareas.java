@@ -0,0 +1,156 @@
+package com.umg.estructuras.cola;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cola FIFO respaldada por un arreglo circular que crece al llenarse.
+ * Ofrece la misma API que ColaTareasProgramadas pero no crea un nodo por cada enqueue,
+ * y añade operaciones por lotes para que el despachador extraiga varias tareas por llamada.
+ * Las operaciones individuales no registran mensajes en el log para no penalizar el camino caliente.
+ * @param <T> Tipo de los elementos.
+ */
+public class ColaCircularTareas<T> {
+    private static final Logger LOGGER = Logger.getLogger(ColaCircularTareas.class.getName());
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final int CAPACIDAD_MAXIMA = 1 << 30;
+
+    private Object[] elementos; // Longitud siempre potencia de dos
+    private int frente;         // Posición del primer elemento
+    private int tamano;
+
+    public ColaCircularTareas() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea la cola con una capacidad inicial; se redondea a la siguiente potencia de dos.
+     * @param capacidadInicial Número de elementos que caben antes del primer crecimiento.
+     */
+    public ColaCircularTareas(int capacidadInicial) {
+        if (capacidadInicial < 0) {
+            throw new IllegalArgumentException("La capacidad inicial no puede ser negativa: " + capacidadInicial);
+        }
+        this.elementos = new Object[capacidadPara(capacidadInicial)];
+        this.frente = 0;
+        this.tamano = 0;
+        LOGGER.log(Level.INFO, "Cola circular de tareas creada con capacidad {0}.", elementos.length);
+    }
+
+    private static int capacidadPara(int minimo) {
+        if (minimo > CAPACIDAD_MAXIMA) {
+            throw new IllegalStateException("La cola no puede superar " + CAPACIDAD_MAXIMA + " elementos.");
+        }
+        return Math.max(CAPACIDAD_INICIAL, Integer.highestOneBit(Math.max(1, minimo) - 1) << 1);
+    }
+
+    /**
+     * Agrega un elemento al final de la cola (enqueue). Amortizado O(1).
+     * @param dato El dato a agregar.
+     */
+    public void enqueue(T dato) {
+        if (tamano == elementos.length) {
+            crecer(tamano + 1);
+        }
+        elementos[(frente + tamano) & (elementos.length - 1)] = dato;
+        tamano++;
+    }
+
+    /**
+     * Agrega todos los elementos al final de la cola, en el orden de la colección.
+     * Reserva espacio una sola vez cuando se conoce el tamaño del lote.
+     * @param datos Los datos a agregar.
+     */
+    public void enqueueAll(Iterable<? extends T> datos) {
+        Objects.requireNonNull(datos, "datos");
+        if (datos instanceof Collection) {
+            int requerido = tamano + ((Collection<?>) datos).size();
+            if (requerido > elementos.length) {
+                crecer(requerido);
+            }
+        }
+        for (T dato : datos) {
+            enqueue(dato);
+        }
+    }
+
+    /**
+     * Elimina y devuelve el elemento del frente de la cola (dequeue).
+     * @return El dato eliminado del frente, o null si la cola está vacía.
+     */
+    @SuppressWarnings("unchecked")
+    public T dequeue() {
+        if (tamano == 0) {
+            return null;
+        }
+        T dato = (T) elementos[frente];
+        elementos[frente] = null; // Libera la referencia para el recolector de basura
+        frente = (frente + 1) & (elementos.length - 1);
+        tamano--;
+        return dato;
+    }
+
+    /**
+     * Extrae hasta {@code maximo} elementos del frente y los agrega al destino, en orden FIFO.
+     * Si el destino rechaza un elemento con una excepción, ese elemento y los siguientes siguen en la cola.
+     * @param destino La colección que recibe los elementos.
+     * @param maximo Número máximo de elementos a extraer.
+     * @return El número de elementos extraídos.
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super T> destino, int maximo) {
+        Objects.requireNonNull(destino, "destino");
+        int cantidad = Math.min(Math.max(maximo, 0), tamano);
+        int mascara = elementos.length - 1;
+        for (int i = 0; i < cantidad; i++) {
+            destino.add((T) elementos[frente]);
+            // Se quita de la cola solo después de que el destino lo aceptó
+            elementos[frente] = null;
+            frente = (frente + 1) & mascara;
+            tamano--;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Devuelve el elemento del frente de la cola sin eliminarlo (peek).
+     * @return El dato del frente, o null si la cola está vacía.
+     */
+    @SuppressWarnings("unchecked")
+    public T peek() {
+        return tamano == 0 ? null : (T) elementos[frente];
+    }
+
+    /**
+     * Verifica si la cola está vacía.
+     * @return true si la cola está vacía, false en caso contrario.
+     */
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    /**
+     * Devuelve el número de elementos en la cola.
+     * @return El tamaño de la cola.
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Copia los elementos a un arreglo más grande, dejando el frente en la posición 0.
+     * @param minimo Capacidad mínima requerida.
+     */
+    private void crecer(int minimo) {
+        int nuevaCapacidad = capacidadPara(Math.max(minimo, elementos.length << 1));
+        Object[] nuevos = new Object[nuevaCapacidad];
+        int hastaElFinal = Math.min(tamano, elementos.length - frente);
+        System.arraycopy(elementos, frente, nuevos, 0, hastaElFinal);
+        System.arraycopy(elementos, 0, nuevos, hastaElFinal, tamano - hastaElFinal);
+        elementos = nuevos;
+        frente = 0;
+        LOGGER.log(Level.FINE, "Cola circular redimensionada a capacidad {0}.", nuevaCapacidad);
+    }
+}
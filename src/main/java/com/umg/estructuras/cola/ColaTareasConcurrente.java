@@ -0,0 +1,261 @@
+package com.umg.estructuras.cola;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Variante concurrente de ColaTareasProgramadas para varios productores y consumidores.
+ * Implementa la cola enlazada sin bloqueos de Michael y Scott: offer y poll nunca bloquean
+ * y solo usan CAS sobre los punteros de frente y fin. Los consumidores que quieren esperar
+ * usan take, que estaciona el hilo con LockSupport (válido también para hilos virtuales,
+ * ya que no se usa synchronized) hasta que un productor lo despierte o venza el plazo.
+ * No admite elementos null, porque null indica cola vacía.
+ * @param <T> Tipo de los elementos.
+ */
+public class ColaTareasConcurrente<T> {
+    private static final Logger LOGGER = Logger.getLogger(ColaTareasConcurrente.class.getName());
+
+    private static final VarHandle FRENTE;
+    private static final VarHandle FIN;
+    private static final VarHandle SIGUIENTE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            FRENTE = lookup.findVarHandle(ColaTareasConcurrente.class, "frente", Nodo.class);
+            FIN = lookup.findVarHandle(ColaTareasConcurrente.class, "fin", Nodo.class);
+            SIGUIENTE = lookup.findVarHandle(Nodo.class, "siguiente", Nodo.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Nodo interno; el nodo apuntado por frente es siempre un centinela sin dato.
+     */
+    private static final class Nodo<T> {
+        T dato;
+        volatile Nodo<T> siguiente;
+
+        Nodo(T dato) {
+            this.dato = dato;
+        }
+    }
+
+    private volatile Nodo<T> frente;
+    private volatile Nodo<T> fin;
+    // Contador repartido en celdas para que los productores no compitan por una sola variable.
+    private final LongAdder tamano = new LongAdder();
+    private final ConcurrentLinkedQueue<Thread> consumidoresEnEspera = new ConcurrentLinkedQueue<>();
+
+    public ColaTareasConcurrente() {
+        Nodo<T> centinela = new Nodo<>(null);
+        this.frente = centinela;
+        this.fin = centinela;
+        LOGGER.log(Level.INFO, "Cola de tareas concurrente creada.");
+    }
+
+    /**
+     * Agrega un elemento al final de la cola sin bloquear.
+     * @param dato El dato a agregar; no puede ser null.
+     * @return Siempre true, la cola no tiene límite.
+     */
+    public boolean offer(T dato) {
+        Objects.requireNonNull(dato, "La cola concurrente no admite elementos null");
+        Nodo<T> nuevoNodo = new Nodo<>(dato);
+        while (true) {
+            Nodo<T> ultimo = fin;
+            Nodo<T> siguiente = ultimo.siguiente;
+            if (ultimo != fin) {
+                continue; // fin cambió mientras se leía, se reintenta
+            }
+            if (siguiente == null) {
+                if (SIGUIENTE.compareAndSet(ultimo, null, nuevoNodo)) {
+                    FIN.compareAndSet(this, ultimo, nuevoNodo); // Si falla, otro hilo ya lo avanzó
+                    break;
+                }
+            } else {
+                FIN.compareAndSet(this, ultimo, siguiente); // Ayuda a avanzar un fin rezagado
+            }
+        }
+        tamano.increment();
+        if (!consumidoresEnEspera.isEmpty()) {
+            despertarUnConsumidor();
+        }
+        return true;
+    }
+
+    /**
+     * Agrega un elemento al final de la cola (equivalente a offer).
+     * @param dato El dato a agregar; no puede ser null.
+     */
+    public void enqueue(T dato) {
+        offer(dato);
+    }
+
+    /**
+     * Elimina y devuelve el elemento del frente sin bloquear.
+     * @return El dato del frente, o null si la cola está vacía.
+     */
+    public T poll() {
+        while (true) {
+            Nodo<T> primero = frente;
+            Nodo<T> ultimo = fin;
+            Nodo<T> siguiente = primero.siguiente;
+            if (primero != frente) {
+                continue;
+            }
+            if (siguiente == null) {
+                return null;
+            }
+            if (primero == ultimo) {
+                FIN.compareAndSet(this, ultimo, siguiente); // El fin está rezagado, se avanza antes de sacar
+                continue;
+            }
+            T dato = siguiente.dato;
+            if (FRENTE.compareAndSet(this, primero, siguiente)) {
+                siguiente.dato = null; // El nodo pasa a ser el nuevo centinela
+                tamano.decrement();
+                return dato;
+            }
+        }
+    }
+
+    /**
+     * Elimina y devuelve el elemento del frente (equivalente a poll).
+     * @return El dato eliminado del frente, o null si la cola está vacía.
+     */
+    public T dequeue() {
+        return poll();
+    }
+
+    /**
+     * Espera hasta que haya un elemento disponible y lo extrae.
+     * @return El dato del frente.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    public T take() throws InterruptedException {
+        T dato;
+        while ((dato = take(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) == null) {
+            // Solo se llega aquí tras esperar unos 292 años; se vuelve a esperar
+        }
+        return dato;
+    }
+
+    /**
+     * Espera hasta que haya un elemento disponible o venza el plazo.
+     * @param plazo Tiempo máximo de espera.
+     * @param unidad Unidad del plazo.
+     * @return El dato del frente, o null si venció el plazo sin que llegara ninguno.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    public T take(long plazo, TimeUnit unidad) throws InterruptedException {
+        T dato = poll();
+        if (dato != null) {
+            return dato;
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        long restante = unidad.toNanos(plazo);
+        if (restante <= 0) {
+            return null;
+        }
+        long limite = System.nanoTime() + restante;
+        Thread actual = Thread.currentThread();
+        while (true) {
+            consumidoresEnEspera.add(actual);
+            // Se vuelve a intentar después de registrarse: o se ve el dato, o el productor ve al consumidor.
+            dato = poll();
+            if (dato != null) {
+                salirDeEspera(actual);
+                return dato;
+            }
+            LockSupport.parkNanos(this, restante);
+            // Si ya no está registrado, un productor lo despertó.
+            boolean avisado = !consumidoresEnEspera.remove(actual);
+            if (Thread.interrupted()) {
+                if (avisado) {
+                    pasarAviso();
+                }
+                throw new InterruptedException();
+            }
+            dato = poll();
+            if (dato != null) {
+                return dato;
+            }
+            restante = limite - System.nanoTime();
+            if (restante <= 0) {
+                if (avisado) {
+                    pasarAviso();
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Quita al consumidor del registro de espera; si un productor ya lo había despertado
+     * y el consumidor no va a usar ese aviso, se lo pasa a otro consumidor.
+     */
+    private void salirDeEspera(Thread actual) {
+        if (!consumidoresEnEspera.remove(actual)) {
+            pasarAviso();
+        }
+    }
+
+    private void pasarAviso() {
+        if (!isEmpty() && !consumidoresEnEspera.isEmpty()) {
+            despertarUnConsumidor();
+        }
+    }
+
+    private void despertarUnConsumidor() {
+        Thread consumidor = consumidoresEnEspera.poll();
+        if (consumidor != null) {
+            LockSupport.unpark(consumidor);
+        }
+    }
+
+    /**
+     * Devuelve el elemento del frente sin eliminarlo.
+     * @return El dato del frente, o null si la cola está vacía.
+     */
+    public T peek() {
+        while (true) {
+            Nodo<T> primero = frente;
+            Nodo<T> siguiente = primero.siguiente;
+            if (siguiente == null) {
+                return null;
+            }
+            T dato = siguiente.dato;
+            if (primero == frente && dato != null) {
+                return dato;
+            }
+        }
+    }
+
+    /**
+     * Verifica si la cola está vacía.
+     * @return true si la cola está vacía en el momento de la consulta.
+     */
+    public boolean isEmpty() {
+        return frente.siguiente == null;
+    }
+
+    /**
+     * Devuelve el número de elementos en la cola.
+     * Es exacto cuando no hay operaciones en curso; con operaciones concurrentes es una aproximación.
+     * @return El tamaño de la cola.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, tamano.sum()));
+    }
+}
@@ -1,37 +1,77 @@
 package com.umg.estructuras.cola;
 
+import com.umg.estructuras.metricas.Histograma;
+import com.umg.estructuras.metricas.MetricasEstructura;
+
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class ColaTareasProgramadas<T> {
     private static final Logger LOGGER = Logger.getLogger(ColaTareasProgramadas.class.getName());
+    private static final String HISTOGRAMA_ESPERA = "espera-ns";
+
+    /**
+     * Operaciones que cuentan las métricas de la cola.
+     */
+    public enum Operacion { ENQUEUE, DEQUEUE, PEEK }
 
     private NodoCola<T> frente; // El primer elemento de la cola
     private NodoCola<T> fin;    // El último elemento de la cola
     private int tamano;
+    private final DiarioCola<T> diario; // null si la cola solo vive en memoria
+    private MetricasEstructura<Operacion> metricas; // null si las métricas están deshabilitadas
+    private Histograma espera;
 
     public ColaTareasProgramadas() {
         this.frente = null;
         this.fin = null;
         this.tamano = 0;
+        this.diario = null;
         LOGGER.log(Level.INFO, "Cola de tareas programadas creada.");
     }
 
+    /**
+     * Crea una cola duradera: carga los elementos pendientes recuperados del diario y registra
+     * en él cada enqueue y dequeue antes de aplicarlo.
+     * @param diario El diario de la cola.
+     */
+    public ColaTareasProgramadas(DiarioCola<T> diario) {
+        for (T dato : diario.recuperar()) {
+            enlazarAlFinal(new NodoCola<>(dato));
+        }
+        this.diario = diario;
+        LOGGER.log(Level.INFO, "Cola de tareas programadas duradera creada con {0} tareas recuperadas.", tamano);
+    }
+
     /**
      * Agrega un elemento al final de la cola (enqueue).
      * @param dato El dato a agregar.
      */
     public void enqueue(T dato) {
-        LOGGER.log(Level.INFO, "Intentando agregar (enqueue) dato: {0}", dato);
-        NodoCola<T> nuevoNodo = new NodoCola<>(dato);
-        if (isEmpty()) {
+        if (diario != null) {
+            diario.encolado(dato);
+        }
+        MetricasEstructura<Operacion> metricas = this.metricas;
+        if (metricas == null) {
+            enlazarAlFinal(new NodoCola<>(dato));
+        } else {
+            enlazarAlFinal(new NodoColaMedido<>(dato, System.nanoTime()));
+            metricas.contar(Operacion.ENQUEUE);
+            metricas.observarTamano(tamano);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato agregado (enqueue): {0}. Tamaño actual de la cola: {1}", new Object[]{dato, tamano});
+        }
+    }
+
+    private void enlazarAlFinal(NodoCola<T> nuevoNodo) {
+        if (frente == null) {
             frente = nuevoNodo;
         } else {
             fin.siguiente = nuevoNodo;
         }
         fin = nuevoNodo;
         tamano++;
-        LOGGER.log(Level.INFO, "Dato agregado exitosamente. Tamaño actual de la cola: {0}", tamano);
     }
 
     /**
@@ -39,20 +79,31 @@ public class ColaTareasProgramadas<T> {
      * @return El dato eliminado del frente, o null si la cola está vacía.
      */
     public T dequeue() {
-        LOGGER.log(Level.INFO, "Intentando sacar (dequeue) un dato.");
-        if (isEmpty()) {
-            LOGGER.log(Level.WARNING, "La cola está vacía, no se puede hacer dequeue.");
+        if (metricas != null) {
+            metricas.contar(Operacion.DEQUEUE);
+        }
+        if (frente == null) {
+            LOGGER.log(Level.FINE, "La cola está vacía, no se puede hacer dequeue.");
             // Podrías lanzar una excepción aquí en un entorno de producción, como new IllegalStateException("La cola está vacía");
             return null;
         }
-        T datoFrente = frente.dato;
-        frente = frente.siguiente; // Mueve el frente al siguiente nodo
+        if (diario != null) {
+            diario.desencolado();
+        }
+        NodoCola<T> nodoFrente = frente;
+        T datoFrente = nodoFrente.dato;
+        frente = nodoFrente.siguiente; // Mueve el frente al siguiente nodo
+        if (espera != null && nodoFrente instanceof NodoColaMedido) {
+            espera.registrar(System.nanoTime() - ((NodoColaMedido<T>) nodoFrente).encoladoEn);
+        }
 
         if (frente == null) { // Si la cola quedó vacía después de dequeue
             fin = null;
         }
         tamano--;
-        LOGGER.log(Level.INFO, "Dato sacado exitosamente: {0}. Tamaño actual de la cola: {1}", new Object[]{datoFrente, tamano});
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato sacado exitosamente: {0}. Tamaño actual de la cola: {1}", new Object[]{datoFrente, tamano});
+        }
         return datoFrente;
     }
 
@@ -61,12 +112,13 @@ public class ColaTareasProgramadas<T> {
      * @return El dato del frente, o null si la cola está vacía.
      */
     public T peek() {
-        LOGGER.log(Level.FINE, "Intentando ver el frente (peek).");
-        if (isEmpty()) {
-            LOGGER.log(Level.WARNING, "La cola está vacía, no se puede ver el frente.");
+        if (metricas != null) {
+            metricas.contar(Operacion.PEEK);
+        }
+        if (frente == null) {
+            LOGGER.log(Level.FINE, "La cola está vacía, no se puede ver el frente.");
             return null;
         }
-        LOGGER.log(Level.FINE, "Frente de la cola: {0}", frente.dato);
         return frente.dato;
     }
 
@@ -75,10 +127,7 @@ public class ColaTareasProgramadas<T> {
      * @return true si la cola está vacía, false en caso contrario.
      */
     public boolean isEmpty() {
-        LOGGER.log(Level.FINE, "Verificando si la cola está vacía.");
-        boolean resultado = frente == null;
-        LOGGER.log(Level.FINE, "La cola está vacía: {0}", resultado);
-        return resultado;
+        return frente == null;
     }
 
     /**
@@ -86,8 +135,38 @@ public class ColaTareasProgramadas<T> {
      * @return El tamaño de la cola.
      */
     public int size() {
-        LOGGER.log(Level.FINE, "Calculando el tamaño de la cola.");
-        LOGGER.log(Level.FINE, "Tamaño de la cola: {0}", tamano);
         return tamano;
     }
+
+    /**
+     * Habilita las métricas de la cola: llamadas por operación, tamaño máximo y el histograma
+     * "espera-ns" con el tiempo que cada tarea pasó en la cola (solo de las encoladas desde ahora).
+     * @param nombre Nombre con que se identifican las métricas, por ejemplo en JMX.
+     * @return Las métricas, para consultarlas o publicarlas con registrarJmx().
+     */
+    public MetricasEstructura<Operacion> habilitarMetricas(String nombre) {
+        MetricasEstructura<Operacion> nuevas = new MetricasEstructura<>(nombre, Operacion.class, this::size, HISTOGRAMA_ESPERA);
+        nuevas.observarTamano(tamano);
+        espera = nuevas.histograma(HISTOGRAMA_ESPERA);
+        metricas = nuevas;
+        return nuevas;
+    }
+
+    /**
+     * Deshabilita las métricas y las retira de JMX si estaban publicadas.
+     */
+    public void deshabilitarMetricas() {
+        if (metricas != null) {
+            metricas.retirarJmx();
+        }
+        metricas = null;
+        espera = null;
+    }
+
+    /**
+     * @return Las métricas de la cola, o null si están deshabilitadas.
+     */
+    public MetricasEstructura<Operacion> getMetricas() {
+        return metricas;
+    }
 }
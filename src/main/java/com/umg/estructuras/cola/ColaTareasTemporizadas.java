@@ -0,0 +1,342 @@
+package com.umg.estructuras.cola;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cola de tareas programadas por instante de ejecución.
+ * Las tareas se guardan en una rueda de temporización jerárquica (6 niveles de 64 casillas):
+ * insertar es O(1) y cada tarea baja de nivel como mucho una vez por nivel antes de vencer.
+ * dequeue solo entrega tareas vencidas, en orden de vencimiento con la precisión de un tick.
+ * Un mapa de bits por nivel permite saltar directamente al siguiente tick con tareas,
+ * de modo que los hilos trabajadores duermen hasta el próximo vencimiento en lugar de sondear.
+ * Es segura para varios hilos; todas las operaciones usan un único candado.
+ * @param <T> Tipo de los elementos.
+ */
+public class ColaTareasTemporizadas<T> {
+    private static final Logger LOGGER = Logger.getLogger(ColaTareasTemporizadas.class.getName());
+
+    private static final int BITS_POR_NIVEL = 6;
+    private static final int CASILLAS = 1 << BITS_POR_NIVEL;
+    private static final int NIVELES = 6;
+    private static final long MASCARA_CASILLA = CASILLAS - 1;
+    // Con más ticks de distancia, la tarea se aparca en el nivel superior y se reubica al bajar.
+    private static final long ALCANCE_MAXIMO = 1L << (BITS_POR_NIVEL * NIVELES);
+
+    private final Clock reloj;
+    private final long resolucionMillis;
+    private final long origenMillis;
+
+    private final NodoTemporizado<T>[][] inicios;
+    private final NodoTemporizado<T>[][] finales;
+    private final long[] casillasOcupadas = new long[NIVELES]; // Bit i activo si la casilla i tiene tareas
+    private long tickActual;
+    private int enRueda;
+
+    // Tareas ya vencidas, en orden FIFO, pendientes de ser extraídas
+    private NodoTemporizado<T> vencidasFrente;
+    private NodoTemporizado<T> vencidasFin;
+    private int vencidas;
+
+    private final ReentrantLock candado = new ReentrantLock();
+    private final Condition disponible = candado.newCondition();
+    // Hilo que espera con plazo el próximo vencimiento; los demás esperan a que los avise.
+    private Thread lider;
+
+    /**
+     * Crea la cola con resolución de 1 ms y el reloj del sistema.
+     */
+    public ColaTareasTemporizadas() {
+        this(Duration.ofMillis(1), Clock.systemUTC());
+    }
+
+    /**
+     * Crea la cola con la resolución y el reloj indicados.
+     * @param resolucion Duración de un tick; las tareas nunca se entregan antes de su instante, pero pueden
+     *                   entregarse hasta un tick después.
+     * @param reloj Reloj usado para decidir qué tareas han vencido.
+     */
+    @SuppressWarnings("unchecked")
+    public ColaTareasTemporizadas(Duration resolucion, Clock reloj) {
+        this.reloj = Objects.requireNonNull(reloj, "reloj");
+        this.resolucionMillis = resolucion.toMillis();
+        if (resolucionMillis <= 0) {
+            throw new IllegalArgumentException("La resolución debe ser de al menos 1 ms: " + resolucion);
+        }
+        this.origenMillis = reloj.millis();
+        this.inicios = (NodoTemporizado<T>[][]) new NodoTemporizado<?>[NIVELES][CASILLAS];
+        this.finales = (NodoTemporizado<T>[][]) new NodoTemporizado<?>[NIVELES][CASILLAS];
+        this.tickActual = 0;
+        LOGGER.log(Level.INFO, "Cola de tareas temporizadas creada con resolución de {0} ms.", resolucionMillis);
+    }
+
+    /**
+     * Agrega una tarea que debe ejecutarse en cuanto sea posible.
+     * @param dato El dato a agregar.
+     */
+    public void enqueue(T dato) {
+        enqueue(dato, reloj.instant());
+    }
+
+    /**
+     * Agrega una tarea que vence en el instante indicado. O(1).
+     * @param dato El dato a agregar.
+     * @param instanteEjecucion Instante a partir del cual la tarea puede extraerse.
+     */
+    public void enqueue(T dato, Instant instanteEjecucion) {
+        long millis = instanteEjecucion.toEpochMilli() - origenMillis;
+        // Se redondea hacia arriba para no entregar nunca una tarea antes de su instante
+        NodoTemporizado<T> nodo = new NodoTemporizado<>(dato, Math.floorDiv(millis + resolucionMillis - 1, resolucionMillis));
+        candado.lock();
+        try {
+            long ahora = reloj.millis();
+            avanzarHasta(tickDe(ahora));
+            if (instanteEjecucion.toEpochMilli() <= ahora) {
+                // Ya vencida: redondear hacia arriba la retrasaría hasta el tick siguiente
+                agregarVencida(nodo);
+            } else {
+                insertar(nodo);
+            }
+            // La nueva tarea puede vencer antes que la que espera el líder; se le avisa para que recalcule.
+            lider = null;
+            disponible.signal();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Elimina y devuelve la siguiente tarea vencida, sin esperar.
+     * @return La tarea vencida, o null si ninguna ha vencido todavía.
+     */
+    public T dequeue() {
+        candado.lock();
+        try {
+            avanzarHasta(tickDe(reloj.millis()));
+            return extraerVencida();
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Devuelve la siguiente tarea vencida sin eliminarla.
+     * @return La tarea vencida, o null si ninguna ha vencido todavía.
+     */
+    public T peek() {
+        candado.lock();
+        try {
+            avanzarHasta(tickDe(reloj.millis()));
+            return vencidasFrente != null ? vencidasFrente.dato : null;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Espera hasta que una tarea venza o se agote el plazo, y la extrae.
+     * El hilo duerme hasta el próximo vencimiento conocido en lugar de sondear la cola.
+     * @param plazo Tiempo máximo de espera.
+     * @return La tarea vencida, o null si se agotó el plazo.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    public T tomarSiguienteVencida(Duration plazo) throws InterruptedException {
+        long restante = plazo.toNanos();
+        candado.lockInterruptibly();
+        try {
+            while (true) {
+                avanzarHasta(tickDe(reloj.millis()));
+                if (vencidasFrente != null) {
+                    return extraerVencida();
+                }
+                if (restante <= 0) {
+                    return null;
+                }
+                if (enRueda == 0 || lider != null) {
+                    restante = disponible.awaitNanos(restante);
+                } else {
+                    Thread actual = Thread.currentThread();
+                    lider = actual;
+                    try {
+                        long hastaVencimiento = TimeUnit.MILLISECONDS.toNanos(
+                                Math.max(1, origenMillis + proximoEvento() * resolucionMillis - reloj.millis()));
+                        long esperado = Math.min(restante, hastaVencimiento);
+                        restante -= esperado - disponible.awaitNanos(esperado);
+                    } finally {
+                        if (lider == actual) {
+                            lider = null;
+                        }
+                    }
+                }
+            }
+        } finally {
+            if (lider == null && (vencidasFrente != null || enRueda > 0)) {
+                disponible.signal(); // Otro hilo pasa a esperar el siguiente vencimiento
+            }
+            candado.unlock();
+        }
+    }
+
+    /**
+     * Verifica si la cola no tiene tareas, vencidas o pendientes.
+     * @return true si la cola está vacía, false en caso contrario.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Devuelve el número total de tareas en la cola, vencidas o no.
+     * @return El tamaño de la cola.
+     */
+    public int size() {
+        candado.lock();
+        try {
+            return vencidas + enRueda;
+        } finally {
+            candado.unlock();
+        }
+    }
+
+    private long tickDe(long millis) {
+        return Math.floorDiv(millis - origenMillis, resolucionMillis);
+    }
+
+    private T extraerVencida() {
+        NodoTemporizado<T> nodo = vencidasFrente;
+        if (nodo == null) {
+            return null;
+        }
+        vencidasFrente = nodo.siguiente;
+        if (vencidasFrente == null) {
+            vencidasFin = null;
+        }
+        vencidas--;
+        return nodo.dato;
+    }
+
+    private void agregarVencida(NodoTemporizado<T> nodo) {
+        nodo.siguiente = null;
+        if (vencidasFin == null) {
+            vencidasFrente = nodo;
+        } else {
+            vencidasFin.siguiente = nodo;
+        }
+        vencidasFin = nodo;
+        vencidas++;
+    }
+
+    /**
+     * Ubica una tarea en el nivel cuyo alcance cubre la distancia hasta su vencimiento.
+     */
+    private void insertar(NodoTemporizado<T> nodo) {
+        long distancia = nodo.vencimiento - tickActual;
+        if (distancia <= 0) {
+            agregarVencida(nodo);
+            return;
+        }
+        int nivel;
+        int casilla;
+        if (distancia >= ALCANCE_MAXIMO) {
+            // Se aparca en la casilla actual del último nivel, que no se procesa hasta dentro de ALCANCE_MAXIMO ticks
+            nivel = NIVELES - 1;
+            casilla = (int) ((tickActual >> (BITS_POR_NIVEL * nivel)) & MASCARA_CASILLA);
+        } else {
+            nivel = (63 - Long.numberOfLeadingZeros(distancia)) / BITS_POR_NIVEL;
+            casilla = (int) ((nodo.vencimiento >> (BITS_POR_NIVEL * nivel)) & MASCARA_CASILLA);
+        }
+        nodo.siguiente = null;
+        if (finales[nivel][casilla] == null) {
+            inicios[nivel][casilla] = nodo;
+            casillasOcupadas[nivel] |= 1L << casilla;
+        } else {
+            finales[nivel][casilla].siguiente = nodo;
+        }
+        finales[nivel][casilla] = nodo;
+        enRueda++;
+    }
+
+    /**
+     * Calcula el siguiente tick en el que alguna casilla ocupada debe procesarse.
+     * Para cada nivel se rota su mapa de bits y se busca la casilla ocupada más cercana.
+     * @return El tick del próximo evento; solo es válido si enRueda es mayor que 0.
+     */
+    private long proximoEvento() {
+        long proximo = Long.MAX_VALUE;
+        for (int nivel = 0; nivel < NIVELES; nivel++) {
+            long ocupadas = casillasOcupadas[nivel];
+            if (ocupadas != 0) {
+                int desplazamiento = BITS_POR_NIVEL * nivel;
+                long base = tickActual >> desplazamiento;
+                long rotadas = Long.rotateRight(ocupadas, (int) ((base + 1) & MASCARA_CASILLA));
+                long distancia = Long.numberOfTrailingZeros(rotadas) + 1; // Entre 1 y 64 casillas
+                proximo = Math.min(proximo, (base + distancia) << desplazamiento);
+            }
+        }
+        return proximo;
+    }
+
+    /**
+     * Avanza la rueda hasta el tick indicado, saltando los ticks en los que no hay nada que procesar.
+     */
+    private void avanzarHasta(long tickObjetivo) {
+        while (tickActual < tickObjetivo) {
+            if (enRueda == 0) {
+                tickActual = tickObjetivo;
+                return;
+            }
+            long proximo = proximoEvento();
+            if (proximo > tickObjetivo) {
+                tickActual = tickObjetivo;
+                return;
+            }
+            tickActual = proximo;
+            procesarTick();
+        }
+    }
+
+    /**
+     * Procesa el tick actual: baja las casillas de los niveles superiores cuyo periodo empieza en este tick
+     * (de arriba hacia abajo, porque un nivel puede depositar tareas en la casilla actual del inferior)
+     * y pasa a vencidas la casilla actual del nivel 0.
+     */
+    private void procesarTick() {
+        for (int nivel = NIVELES - 1; nivel >= 1; nivel--) {
+            int desplazamiento = BITS_POR_NIVEL * nivel;
+            if ((tickActual & ((1L << desplazamiento) - 1)) == 0) {
+                int casilla = (int) ((tickActual >> desplazamiento) & MASCARA_CASILLA);
+                NodoTemporizado<T> nodo = vaciarCasilla(nivel, casilla);
+                while (nodo != null) {
+                    NodoTemporizado<T> siguiente = nodo.siguiente;
+                    enRueda--;
+                    insertar(nodo);
+                    nodo = siguiente;
+                }
+            }
+        }
+        NodoTemporizado<T> nodo = vaciarCasilla(0, (int) (tickActual & MASCARA_CASILLA));
+        while (nodo != null) {
+            NodoTemporizado<T> siguiente = nodo.siguiente;
+            enRueda--;
+            agregarVencida(nodo);
+            nodo = siguiente;
+        }
+    }
+
+    private NodoTemporizado<T> vaciarCasilla(int nivel, int casilla) {
+        NodoTemporizado<T> primero = inicios[nivel][casilla];
+        if (primero != null) {
+            inicios[nivel][casilla] = null;
+            finales[nivel][casilla] = null;
+            casillasOcupadas[nivel] &= ~(1L << casilla);
+        }
+        return primero;
+    }
+}
@@ -0,0 +1,117 @@
+package com.umg.estructuras.cola;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Deque de robo de trabajo de Chase y Lev sobre un arreglo circular que crece.
+ * Solo el hilo dueño llama a apilar y desapilar, por el extremo inferior (LIFO, como una pila);
+ * cualquier hilo puede robar por el extremo superior (FIFO) con un CAS. El dueño solo compite
+ * con los ladrones cuando queda un único elemento.
+ * Los robos no limpian su casilla: un elemento robado sigue referenciado por el arreglo hasta
+ * que el dueño reutiliza esa casilla.
+ * @param <T> Tipo de los elementos.
+ */
+final class DequeTrabajo<T> {
+    private static final int CAPACIDAD_INICIAL = 64; // Potencia de dos
+    private static final VarHandle SUPERIOR;
+
+    static {
+        try {
+            SUPERIOR = MethodHandles.lookup().findVarHandle(DequeTrabajo.class, "superior", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile long superior; // Siguiente posición que se roba
+    private volatile long inferior; // Siguiente posición libre del dueño
+    private volatile Object[] casillas = new Object[CAPACIDAD_INICIAL];
+
+    /**
+     * Agrega un elemento por el extremo del dueño. Solo lo llama el hilo dueño.
+     * @param dato El dato a agregar.
+     */
+    void apilar(T dato) {
+        long b = inferior;
+        long t = superior;
+        Object[] a = casillas;
+        if (b - t >= a.length - 1) {
+            a = crecer(a, t, b);
+        }
+        a[(int) b & (a.length - 1)] = dato;
+        inferior = b + 1; // Escritura volátil: publica la casilla a los ladrones
+    }
+
+    /**
+     * Copia los elementos vivos a un arreglo del doble de tamaño. El arreglo viejo no se modifica,
+     * así que un ladrón que aún lo lea encuentra los mismos elementos.
+     */
+    private Object[] crecer(Object[] viejo, long t, long b) {
+        Object[] nuevo = new Object[viejo.length << 1];
+        for (long i = t; i < b; i++) {
+            nuevo[(int) i & (nuevo.length - 1)] = viejo[(int) i & (viejo.length - 1)];
+        }
+        casillas = nuevo;
+        return nuevo;
+    }
+
+    /**
+     * Extrae el último elemento agregado. Solo lo llama el hilo dueño.
+     * @return El elemento, o null si el deque está vacío o un ladrón se llevó el último.
+     */
+    @SuppressWarnings("unchecked")
+    T desapilar() {
+        long b = inferior - 1;
+        Object[] a = casillas;
+        inferior = b;
+        // Escritura y lectura volátiles: un ladrón que ya vio el inferior viejo habrá movido superior
+        long t = superior;
+        if (t > b) {
+            inferior = b + 1; // Vacío
+            return null;
+        }
+        int i = (int) b & (a.length - 1);
+        T dato = (T) a[i];
+        if (t == b) {
+            // Último elemento: se disputa con los ladrones avanzando superior
+            if (!SUPERIOR.compareAndSet(this, t, t + 1)) {
+                dato = null;
+            }
+            inferior = b + 1;
+        }
+        if (dato != null) {
+            a[i] = null;
+        }
+        return dato;
+    }
+
+    /**
+     * Roba el elemento más antiguo. Puede llamarlo cualquier hilo.
+     * @return El elemento, o null si el deque está vacío.
+     */
+    @SuppressWarnings("unchecked")
+    T robar() {
+        while (true) {
+            long t = superior;
+            long b = inferior;
+            if (t >= b) {
+                return null;
+            }
+            Object[] a = casillas;
+            T dato = (T) a[(int) t & (a.length - 1)];
+            if (SUPERIOR.compareAndSet(this, t, t + 1)) {
+                return dato;
+            }
+            // Otro ladrón o el dueño se llevó ese elemento; se reintenta con el siguiente
+        }
+    }
+
+    /**
+     * Número aproximado de elementos.
+     * @return El tamaño en el momento de la consulta.
+     */
+    int tamano() {
+        return (int) Math.max(0, inferior - superior);
+    }
+}
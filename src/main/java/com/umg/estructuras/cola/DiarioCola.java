@@ -0,0 +1,30 @@
+package com.umg.estructuras.cola;
+
+import java.util.List;
+
+/**
+ * Registro previo (write-ahead) de las operaciones de una cola, para que los elementos pendientes
+ * sobrevivan a un reinicio. La cola registra cada operación antes de aplicarla en memoria; si el
+ * registro falla (lanzando una excepción no comprobada), la cola no cambia.
+ * @param <T> Tipo de los elementos.
+ */
+public interface DiarioCola<T> {
+
+    /**
+     * Devuelve los elementos pendientes recuperados del registro, en orden de llegada.
+     * La cola los carga al crearse, sin volver a registrarlos.
+     * @return Los elementos pendientes.
+     */
+    List<T> recuperar();
+
+    /**
+     * Registra que un dato se agregó al final de la cola.
+     * @param dato El dato agregado.
+     */
+    void encolado(T dato);
+
+    /**
+     * Registra que se sacó el dato del frente de la cola.
+     */
+    void desencolado();
+}
@@ -0,0 +1,452 @@
+package com.umg.estructuras.cola;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Ejecutor con robo de trabajo que procesa tareas con varios hilos trabajadores.
+ * <ul>
+ *     <li>Cada trabajador tiene una cola de entrada (ColaTareasConcurrente) y un deque local.
+ *     Las tareas enviadas desde fuera del ejecutor se reparten al azar entre las colas de entrada,
+ *     de modo que los consumidores no compiten por un único frente.</li>
+ *     <li>Las tareas enviadas desde una tarea en ejecución van al deque local de su trabajador,
+ *     que las toma en orden LIFO (como una pila, la más reciente está caliente en caché).</li>
+ *     <li>Un trabajador sin trabajo propio roba en orden FIFO del deque y de la cola de entrada
+ *     de los demás, empezando por uno al azar; si no encuentra nada, se estaciona con LockSupport.</li>
+ *     <li>El total de tareas pendientes (enviadas y no terminadas) está acotado: ofrecer devuelve
+ *     false y enviar espera cuando se alcanza el límite (contrapresión).</li>
+ * </ul>
+ * Los trabajadores no usan synchronized, así que pueden ser hilos virtuales (véase hilosVirtuales).
+ * @param <T> Tipo de las tareas.
+ */
+public class EjecutorRobaTrabajo<T> implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(EjecutorRobaTrabajo.class.getName());
+
+    private final Trabajador[] trabajadores;
+    private final Consumer<? super T> procesador;
+    private final int limitePendientes;
+    private final Semaphore permisos; // Uno por tarea pendiente; se devuelve al terminar la tarea
+    private final ConcurrentLinkedQueue<Trabajador> dormidos = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<Trabajador> trabajadorActual = new ThreadLocal<>();
+    private final CountDownLatch terminados;
+    private final LongAdder ejecutadas = new LongAdder();
+    private final LongAdder fallidas = new LongAdder();
+    private final LongAdder robadas = new LongAdder();
+    private volatile boolean cerrado;
+
+    /**
+     * Crea el ejecutor con hilos de plataforma y arranca los trabajadores.
+     * @param trabajadores Número de hilos trabajadores.
+     * @param limitePendientes Máximo de tareas enviadas y aún no terminadas.
+     * @param procesador Ejecuta cada tarea.
+     */
+    public EjecutorRobaTrabajo(int trabajadores, int limitePendientes, Consumer<? super T> procesador) {
+        this(trabajadores, limitePendientes, hilosDePlataforma("ejecutor-roba-trabajo-"), procesador);
+    }
+
+    /**
+     * Crea el ejecutor y arranca los trabajadores.
+     * @param trabajadores Número de hilos trabajadores.
+     * @param limitePendientes Máximo de tareas enviadas y aún no terminadas.
+     * @param fabricaHilos Crea los hilos trabajadores (de plataforma o virtuales).
+     * @param procesador Ejecuta cada tarea.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"}) // Arreglo de la clase interna Trabajador
+    public EjecutorRobaTrabajo(int trabajadores, int limitePendientes, ThreadFactory fabricaHilos,
+                               Consumer<? super T> procesador) {
+        if (trabajadores <= 0 || limitePendientes <= 0) {
+            throw new IllegalArgumentException("El número de trabajadores y el límite de pendientes deben ser positivos.");
+        }
+        Objects.requireNonNull(fabricaHilos, "fabricaHilos");
+        this.procesador = Objects.requireNonNull(procesador, "procesador");
+        this.limitePendientes = limitePendientes;
+        this.permisos = new Semaphore(limitePendientes);
+        this.terminados = new CountDownLatch(trabajadores);
+        this.trabajadores = new EjecutorRobaTrabajo.Trabajador[trabajadores];
+        for (int i = 0; i < trabajadores; i++) {
+            this.trabajadores[i] = new Trabajador();
+        }
+        for (Trabajador trabajador : this.trabajadores) {
+            trabajador.hilo = fabricaHilos.newThread(trabajador);
+            if (trabajador.hilo == null) {
+                throw new IllegalStateException("La fábrica de hilos no creó el hilo trabajador.");
+            }
+        }
+        for (Trabajador trabajador : this.trabajadores) {
+            trabajador.hilo.start();
+        }
+        LOGGER.log(Level.INFO, "Ejecutor con robo de trabajo creado ({0} trabajadores, límite de {1} tareas pendientes).",
+                new Object[]{trabajadores, limitePendientes});
+    }
+
+    /**
+     * Crea un ejecutor de Runnable.
+     * @param trabajadores Número de hilos trabajadores.
+     * @param limitePendientes Máximo de tareas enviadas y aún no terminadas.
+     * @param fabricaHilos Crea los hilos trabajadores.
+     * @return El ejecutor.
+     */
+    public static EjecutorRobaTrabajo<Runnable> deRunnables(int trabajadores, int limitePendientes, ThreadFactory fabricaHilos) {
+        return new EjecutorRobaTrabajo<>(trabajadores, limitePendientes, fabricaHilos, Runnable::run);
+    }
+
+    /**
+     * Fábrica de hilos de plataforma numerados.
+     * @param prefijo Prefijo del nombre de cada hilo.
+     * @return La fábrica.
+     */
+    public static ThreadFactory hilosDePlataforma(String prefijo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarea -> new Thread(tarea, prefijo + contador.getAndIncrement());
+    }
+
+    /**
+     * Fábrica de hilos virtuales (Thread.ofVirtual().factory()). El proyecto compila para Java 17,
+     * así que se obtiene por reflexión.
+     * @return La fábrica.
+     * @throws UnsupportedOperationException si la JVM no tiene hilos virtuales (Java 21 o posterior).
+     */
+    public static ThreadFactory hilosVirtuales() {
+        try {
+            Object constructor = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(constructor);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Los hilos virtuales requieren Java 21 o posterior.", e);
+        }
+    }
+
+    /**
+     * Envía una tarea sin esperar.
+     * @param tarea La tarea; no puede ser null.
+     * @return true si se aceptó, false si ya hay tantas tareas pendientes como el límite.
+     * @throws IllegalStateException si el ejecutor está cerrado.
+     */
+    public boolean ofrecer(T tarea) {
+        Objects.requireNonNull(tarea, "tarea");
+        if (!permisos.tryAcquire()) {
+            return false;
+        }
+        colocar(tarea);
+        return true;
+    }
+
+    /**
+     * Envía una tarea, esperando mientras se haya alcanzado el límite de pendientes.
+     * Si la llama una tarea del propio ejecutor y no hay espacio, la tarea nueva se ejecuta en el
+     * mismo hilo en lugar de esperar, porque todos los trabajadores podrían estar esperando.
+     * @param tarea La tarea; no puede ser null.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     * @throws IllegalStateException si el ejecutor está cerrado.
+     */
+    public void enviar(T tarea) throws InterruptedException {
+        Objects.requireNonNull(tarea, "tarea");
+        if (permisos.tryAcquire()) {
+            colocar(tarea);
+        } else if (trabajadorActual.get() != null) {
+            verificarAbierto();
+            ejecutar(tarea, false);
+        } else {
+            permisos.acquire();
+            colocar(tarea);
+        }
+    }
+
+    /**
+     * Envía una tarea, esperando como mucho el plazo indicado a que haya espacio.
+     * @param tarea La tarea; no puede ser null.
+     * @param plazo Tiempo máximo de espera.
+     * @param unidad Unidad del plazo.
+     * @return true si se aceptó, false si venció el plazo.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     * @throws IllegalStateException si el ejecutor está cerrado.
+     */
+    public boolean enviar(T tarea, long plazo, TimeUnit unidad) throws InterruptedException {
+        Objects.requireNonNull(tarea, "tarea");
+        if (!permisos.tryAcquire(plazo, unidad)) {
+            return false;
+        }
+        colocar(tarea);
+        return true;
+    }
+
+    /**
+     * Pasa al ejecutor todas las tareas de una cola, en orden, esperando cuando se alcanza el límite
+     * de pendientes. Cada tarea se saca de la cola después de entregarla, así que si el hilo es
+     * interrumpido la tarea que esperaba sigue en la cola.
+     * @param cola La cola a vaciar; no debe usarse desde otros hilos mientras tanto.
+     * @return El número de tareas entregadas.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    public int drenar(ColaTareasProgramadas<? extends T> cola) throws InterruptedException {
+        int entregadas = 0;
+        while (!cola.isEmpty()) {
+            enviar(cola.peek());
+            cola.dequeue();
+            entregadas++;
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "{0} tareas entregadas desde la cola al ejecutor.", entregadas);
+        }
+        return entregadas;
+    }
+
+    /**
+     * Coloca una tarea cuyo permiso ya se obtuvo: en el deque local si la envía un trabajador,
+     * o en la cola de entrada de un trabajador al azar si viene de fuera.
+     */
+    private void colocar(T tarea) {
+        if (cerrado) {
+            // Se comprueba después de tomar el permiso; véase terminado()
+            devolverPermiso();
+            throw new IllegalStateException("El ejecutor está cerrado.");
+        }
+        Trabajador propio = trabajadorActual.get();
+        if (propio != null) {
+            propio.local.apilar(tarea);
+        } else {
+            trabajadores[ThreadLocalRandom.current().nextInt(trabajadores.length)].entrada.offer(tarea);
+        }
+        despertarUno();
+    }
+
+    private void verificarAbierto() {
+        if (cerrado) {
+            throw new IllegalStateException("El ejecutor está cerrado.");
+        }
+    }
+
+    /**
+     * Despierta a un trabajador dormido, si hay alguno.
+     */
+    private void despertarUno() {
+        if (dormidos.isEmpty()) {
+            return;
+        }
+        Trabajador trabajador;
+        while ((trabajador = dormidos.poll()) != null) {
+            // Si el CAS falla, el trabajador ya se despertó solo y el aviso se pasa al siguiente
+            if (trabajador.dormido.compareAndSet(true, false)) {
+                LockSupport.unpark(trabajador.hilo);
+                return;
+            }
+        }
+    }
+
+    private void despertarTodos() {
+        for (Trabajador trabajador : trabajadores) {
+            LockSupport.unpark(trabajador.hilo);
+        }
+    }
+
+    /**
+     * Ejecuta una tarea y, si tenía permiso, lo devuelve. Cualquier Throwable de la tarea (también
+     * un Error) se cuenta como fallida y se registra; no detiene al trabajador.
+     */
+    private void ejecutar(T tarea, boolean conPermiso) {
+        try {
+            procesador.accept(tarea);
+            ejecutadas.increment();
+        } catch (Throwable e) {
+            fallidas.increment();
+            LOGGER.log(Level.SEVERE, "La tarea " + tarea + " lanzó una excepción.", e);
+        } finally {
+            if (conPermiso) {
+                devolverPermiso();
+            }
+        }
+    }
+
+    private void devolverPermiso() {
+        permisos.release();
+        if (cerrado && sinPendientes()) {
+            despertarTodos(); // Era la última tarea: los trabajadores dormidos pueden terminar
+        }
+    }
+
+    private boolean sinPendientes() {
+        return permisos.availablePermits() == limitePendientes;
+    }
+
+    /**
+     * Un trabajador termina cuando el ejecutor está cerrado y no quedan tareas pendientes.
+     * Se lee cerrado antes que los permisos y colocar toma el permiso antes de leer cerrado,
+     * así que una tarea aceptada siempre se ve como pendiente.
+     */
+    private boolean terminado() {
+        return cerrado && sinPendientes();
+    }
+
+    /**
+     * Deja de aceptar tareas; las pendientes se terminan de ejecutar y luego los trabajadores terminan.
+     */
+    public void cerrar() {
+        if (!cerrado) {
+            cerrado = true;
+            despertarTodos();
+            LOGGER.log(Level.INFO, "Ejecutor cerrado con {0} tareas pendientes.", getPendientes());
+        }
+    }
+
+    /**
+     * Espera a que terminen todos los trabajadores después de cerrar.
+     * @param plazo Tiempo máximo de espera.
+     * @param unidad Unidad del plazo.
+     * @return true si terminaron, false si venció el plazo.
+     * @throws InterruptedException si el hilo es interrumpido mientras espera.
+     */
+    public boolean esperarTerminacion(long plazo, TimeUnit unidad) throws InterruptedException {
+        return terminados.await(plazo, unidad);
+    }
+
+    /**
+     * Cierra el ejecutor y espera a que se terminen las tareas pendientes.
+     * Si el hilo es interrumpido mientras espera, deja de esperar y conserva la interrupción.
+     * Llamado desde una tarea del propio ejecutor solo cierra: esperar ahí bloquearía para siempre
+     * a su trabajador, que no puede terminar mientras la tarea no termine.
+     */
+    @Override
+    public void close() {
+        cerrar();
+        if (trabajadorActual.get() != null) {
+            return;
+        }
+        try {
+            terminados.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean estaCerrado() {
+        return cerrado;
+    }
+
+    /**
+     * @return Tareas enviadas que aún no terminaron (en cola o en ejecución).
+     */
+    public int getPendientes() {
+        return limitePendientes - permisos.availablePermits();
+    }
+
+    /**
+     * @return Tareas terminadas sin excepción.
+     */
+    public long getEjecutadas() {
+        return ejecutadas.sum();
+    }
+
+    /**
+     * @return Tareas que terminaron con una excepción o un error.
+     */
+    public long getFallidas() {
+        return fallidas.sum();
+    }
+
+    /**
+     * @return Tareas que un trabajador tomó de otro.
+     */
+    public long getRobadas() {
+        return robadas.sum();
+    }
+
+    public int getTrabajadores() {
+        return trabajadores.length;
+    }
+
+    private final class Trabajador implements Runnable {
+        final DequeTrabajo<T> local = new DequeTrabajo<>();
+        final ColaTareasConcurrente<T> entrada = new ColaTareasConcurrente<>();
+        final AtomicBoolean dormido = new AtomicBoolean();
+        Thread hilo;
+
+        @Override
+        public void run() {
+            trabajadorActual.set(this);
+            try {
+                while (true) {
+                    T tarea = buscar();
+                    if (tarea == null) {
+                        if (terminado()) {
+                            return;
+                        }
+                        // Se registra como dormido y vuelve a buscar: o ve la tarea nueva, o quien
+                        // la colocó lo ve registrado y lo despierta.
+                        if (dormido.compareAndSet(false, true)) {
+                            dormidos.add(this);
+                        }
+                        tarea = buscar();
+                        if (tarea == null) {
+                            if (terminado()) {
+                                return;
+                            }
+                            LockSupport.park(this);
+                            despertarse();
+                            continue;
+                        }
+                        despertarse();
+                    }
+                    ejecutar(tarea, true);
+                }
+            } finally {
+                trabajadorActual.remove();
+                despertarse();
+                terminados.countDown();
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Trabajador {0} terminado.", hilo.getName());
+                }
+            }
+        }
+
+        /**
+         * Sale del registro de dormidos. Si alguien ya lo había sacado para despertarlo y este
+         * trabajador no va a usar ese aviso, lo pasa a otro dormido.
+         */
+        private void despertarse() {
+            if (dormido.compareAndSet(true, false)) {
+                dormidos.remove(this);
+            } else if (!dormidos.isEmpty() && getPendientes() > 0) {
+                despertarUno();
+            }
+        }
+
+        private T buscar() {
+            T tarea = local.desapilar();
+            if (tarea != null) {
+                return tarea;
+            }
+            tarea = entrada.poll();
+            if (tarea != null) {
+                return tarea;
+            }
+            int n = trabajadores.length;
+            int inicio = ThreadLocalRandom.current().nextInt(n);
+            for (int k = 0; k < n; k++) {
+                Trabajador victima = trabajadores[(inicio + k) % n];
+                if (victima == this) {
+                    continue;
+                }
+                tarea = victima.local.robar();
+                if (tarea == null) {
+                    tarea = victima.entrada.poll();
+                }
+                if (tarea != null) {
+                    robadas.increment();
+                    return tarea;
+                }
+            }
+            return null;
+        }
+    }
+}
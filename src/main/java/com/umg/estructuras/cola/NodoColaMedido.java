@@ -0,0 +1,14 @@
+package com.umg.estructuras.cola;
+
+/**
+ * Nodo que recuerda cuándo se encoló, para medir el tiempo de espera en la cola.
+ * Solo se crea mientras las métricas de la cola están habilitadas.
+ */
+final class NodoColaMedido<T> extends NodoCola<T> {
+    final long encoladoEn; // System.nanoTime() al encolar
+
+    NodoColaMedido(T dato, long encoladoEn) {
+        super(dato);
+        this.encoladoEn = encoladoEn;
+    }
+}
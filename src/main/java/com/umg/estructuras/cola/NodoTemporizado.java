@@ -0,0 +1,13 @@
+package com.umg.estructuras.cola;
+
+public class NodoTemporizado<T> {
+    public T dato;
+    public long vencimiento; // Tick de la rueda en el que la tarea queda lista
+    public NodoTemporizado<T> siguiente;
+
+    public NodoTemporizado(T dato, long vencimiento) {
+        this.dato = dato;
+        this.vencimiento = vencimiento;
+        this.siguiente = null;
+    }
+}
@@ -0,0 +1,82 @@
+package com.umg.estructuras.lista;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Operaciones comunes a las listas de tareas.
+ * ListaTarea (enlazada) conviene para inserciones y eliminaciones en los extremos;
+ * ListaTareaArreglo (arreglo) conviene para el acceso por índice con obtener.
+ * Ambas se recorren con iteradores fail-fast: modificar la lista durante el recorrido
+ * lanza ConcurrentModificationException.
+ * @param <T> Tipo de los elementos.
+ */
+public interface Lista<T> extends Iterable<T> {
+
+    /**
+     * Agrega un elemento al final de la lista.
+     * @param dato El dato a agregar.
+     */
+    void agregar(T dato);
+
+    /**
+     * Agrega un elemento al inicio de la lista.
+     * @param dato El dato a agregar.
+     */
+    void agregarAlInicio(T dato);
+
+    /**
+     * Agrega todos los datos al final de la lista, en orden.
+     * @param datos Los datos a agregar.
+     */
+    void agregarTodos(Iterable<? extends T> datos);
+
+    /**
+     * Elimina la primera ocurrencia de un dato de la lista.
+     * @param dato El dato a eliminar.
+     * @return true si el dato fue eliminado, false en caso contrario.
+     */
+    boolean eliminar(T dato);
+
+    /**
+     * Busca un dato en la lista.
+     * @param dato El dato a buscar.
+     * @return true si el dato se encuentra en la lista, false en caso contrario.
+     */
+    boolean buscar(T dato);
+
+    /**
+     * Obtiene el dato en una posición específica de la lista (basado en 0).
+     * @param indice El índice del dato a obtener.
+     * @return El dato en la posición especificada, o null si el índice está fuera de rango.
+     */
+    T obtener(int indice);
+
+    /**
+     * Verifica si la lista está vacía.
+     * @return true si la lista no contiene elementos, false en caso contrario.
+     */
+    boolean estaVacia();
+
+    /**
+     * Devuelve el número de elementos en la lista.
+     * @return El tamaño de la lista.
+     */
+    int tamano();
+
+    /**
+     * Devuelve un Stream secuencial sobre los elementos de la lista.
+     * @return El Stream.
+     */
+    default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Devuelve un Stream paralelo; el Spliterator de cada implementación decide cómo se reparte el trabajo.
+     * @return El Stream paralelo.
+     */
+    default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+}
@@ -1,91 +1,279 @@
 package com.umg.estructuras.lista;
 
+import com.umg.estructuras.metricas.MetricasEstructura;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class ListaTarea<T> {
+/**
+ * Lista de tareas doblemente enlazada, con referencias a la cabeza y a la cola.
+ * En modo indexado mantiene además un índice hash de cada dato a su primera y su última ocurrencia,
+ * de modo que buscar, eliminar(dato) y agregar un dato repetido son O(1) en promedio; las ocurrencias
+ * repetidas de un mismo dato se encadenan en orden de inserción. El recorrido conserva siempre el orden de inserción.
+ * En modo indexado los datos no deben cambiar su equals/hashCode mientras estén en la lista.
+ * @param <T> Tipo de los elementos.
+ */
+public class ListaTarea<T> implements Lista<T> {
     private static final Logger LOGGER = Logger.getLogger(ListaTarea.class.getName());
 
+    /**
+     * Operaciones que cuentan las métricas de la lista.
+     */
+    public enum Operacion { AGREGAR, AGREGAR_AL_INICIO, AGREGAR_TODOS, ELIMINAR, BUSCAR, OBTENER }
+
     private NodoLista<T> cabeza; // El primer nodo de la lista
+    private NodoLista<T> cola;   // El último nodo de la lista
     private int tamano;
+    private int modificaciones; // Cambios estructurales, para los iteradores fail-fast
+    private final Map<T, Ocurrencias<T>> indice; // Dato -> sus ocurrencias; null si la lista no está indexada
+    private MetricasEstructura<Operacion> metricas; // null si las métricas están deshabilitadas
 
     public ListaTarea() {
+        this(false);
+    }
+
+    /**
+     * Crea la lista, opcionalmente con índice hash para buscar y eliminar en O(1).
+     * @param indexada true para mantener el índice hash de los datos.
+     */
+    public ListaTarea(boolean indexada) {
         this.cabeza = null;
+        this.cola = null;
         this.tamano = 0;
-        LOGGER.log(Level.INFO, "ListaTarea personalizada creada.");
+        this.indice = indexada ? new HashMap<>() : null;
+        LOGGER.log(Level.INFO, "ListaTarea personalizada creada{0}.", indexada ? " (indexada)" : "");
     }
 
     /**
-     * Agrega un elemento al final de la lista.
+     * Indica si la lista mantiene el índice hash de sus datos.
+     * @return true si la lista está indexada.
+     */
+    public boolean estaIndexada() {
+        return indice != null;
+    }
+
+    /**
+     * Agrega un elemento al final de la lista en O(1).
      * @param dato El dato a agregar.
      */
+    @Override
     public void agregar(T dato) {
-        LOGGER.log(Level.INFO, "Intentando agregar dato a la lista: {0}", dato);
         NodoLista<T> nuevoNodo = new NodoLista<>(dato);
+        enlazarAlFinal(nuevoNodo);
+        if (indice != null) {
+            indexarAlFinal(nuevoNodo);
+        }
+        tamano++;
+        modificaciones++;
+        if (metricas != null) {
+            metricas.contar(Operacion.AGREGAR);
+            metricas.observarTamano(tamano);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato agregado: {0}. Tamaño actual de la lista: {1}", new Object[]{dato, tamano});
+        }
+    }
+
+    /**
+     * Agrega un elemento al inicio de la lista en O(1).
+     * @param dato El dato a agregar.
+     */
+    @Override
+    public void agregarAlInicio(T dato) {
+        NodoLista<T> nuevoNodo = new NodoLista<>(dato);
+        nuevoNodo.siguiente = cabeza;
         if (cabeza == null) {
-            cabeza = nuevoNodo;
+            cola = nuevoNodo;
         } else {
-            NodoLista<T> actual = cabeza;
-            while (actual.siguiente != null) {
-                actual = actual.siguiente;
+            cabeza.anterior = nuevoNodo;
+        }
+        cabeza = nuevoNodo;
+        if (indice != null) {
+            // El nuevo nodo pasa a ser la primera ocurrencia del dato
+            Ocurrencias<T> ocurrencias = indice.get(dato);
+            if (ocurrencias == null) {
+                indice.put(dato, new Ocurrencias<>(nuevoNodo));
+            } else {
+                nuevoNodo.siguienteIgual = ocurrencias.primera;
+                ocurrencias.primera = nuevoNodo;
             }
-            actual.siguiente = nuevoNodo;
         }
         tamano++;
-        LOGGER.log(Level.INFO, "Dato agregado exitosamente. Tamaño actual de la lista: {0}", tamano);
+        modificaciones++;
+        if (metricas != null) {
+            metricas.contar(Operacion.AGREGAR_AL_INICIO);
+            metricas.observarTamano(tamano);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato agregado al inicio: {0}. Tamaño actual de la lista: {1}", new Object[]{dato, tamano});
+        }
+    }
+
+    /**
+     * Agrega todos los datos al final de la lista, en orden.
+     * El lote se enlaza en una sola pasada y se une a la cola de la lista al final.
+     * @param datos Los datos a agregar.
+     */
+    @Override
+    public void agregarTodos(Iterable<? extends T> datos) {
+        if (metricas != null) {
+            metricas.contar(Operacion.AGREGAR_TODOS);
+        }
+        NodoLista<T> primero = null;
+        NodoLista<T> ultimo = null;
+        int agregados = 0;
+        for (T dato : datos) {
+            NodoLista<T> nuevoNodo = new NodoLista<>(dato);
+            if (ultimo == null) {
+                primero = nuevoNodo;
+            } else {
+                ultimo.siguiente = nuevoNodo;
+                nuevoNodo.anterior = ultimo;
+            }
+            ultimo = nuevoNodo;
+            agregados++;
+        }
+        if (primero == null) {
+            return;
+        }
+        if (cola == null) {
+            cabeza = primero;
+        } else {
+            cola.siguiente = primero;
+            primero.anterior = cola;
+        }
+        cola = ultimo;
+        if (indice != null) {
+            for (NodoLista<T> nodo = primero; nodo != null; nodo = nodo.siguiente) {
+                indexarAlFinal(nodo);
+            }
+        }
+        tamano += agregados;
+        modificaciones++;
+        if (metricas != null) {
+            metricas.observarTamano(tamano);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "{0} datos agregados en lote. Tamaño actual de la lista: {1}", new Object[]{agregados, tamano});
+        }
+    }
+
+    private void enlazarAlFinal(NodoLista<T> nodo) {
+        if (cola == null) {
+            cabeza = nodo;
+        } else {
+            cola.siguiente = nodo;
+            nodo.anterior = cola;
+        }
+        cola = nodo;
+    }
+
+    /**
+     * Registra en el índice un nodo recién agregado al final, como última ocurrencia de su dato.
+     */
+    private void indexarAlFinal(NodoLista<T> nodo) {
+        Ocurrencias<T> ocurrencias = indice.get(nodo.dato);
+        if (ocurrencias == null) {
+            indice.put(nodo.dato, new Ocurrencias<>(nodo));
+        } else {
+            ocurrencias.ultima.siguienteIgual = nodo;
+            ocurrencias.ultima = nodo;
+        }
+    }
+
+    /**
+     * Desconecta un nodo de sus vecinos en O(1).
+     */
+    private void desenlazar(NodoLista<T> nodo) {
+        if (nodo.anterior == null) {
+            cabeza = nodo.siguiente;
+        } else {
+            nodo.anterior.siguiente = nodo.siguiente;
+        }
+        if (nodo.siguiente == null) {
+            cola = nodo.anterior;
+        } else {
+            nodo.siguiente.anterior = nodo.anterior;
+        }
+        nodo.siguiente = null;
+        nodo.anterior = null;
+        tamano--;
+        modificaciones++;
     }
 
     /**
      * Elimina la primera ocurrencia de un dato de la lista.
+     * Es O(1) en promedio si la lista está indexada y O(n) en caso contrario.
      * @param dato El dato a eliminar.
      * @return true si el dato fue eliminado, false en caso contrario.
      */
+    @Override
     public boolean eliminar(T dato) {
-        LOGGER.log(Level.INFO, "Intentando eliminar dato de la lista: {0}", dato);
-        if (cabeza == null) {
-            LOGGER.log(Level.WARNING, "La lista está vacía, no se puede eliminar el dato: {0}", dato);
-            return false;
+        if (metricas != null) {
+            metricas.contar(Operacion.ELIMINAR);
         }
-
-        if (cabeza.dato.equals(dato)) {
-            cabeza = cabeza.siguiente;
-            tamano--;
-            LOGGER.log(Level.INFO, "Dato '{0}' eliminado exitosamente del inicio de la lista. Tamaño: {1}", new Object[]{dato, tamano});
-            return true;
+        Ocurrencias<T> ocurrencias = null;
+        NodoLista<T> nodo;
+        if (indice != null) {
+            ocurrencias = indice.get(dato);
+            nodo = ocurrencias != null ? ocurrencias.primera : null;
+        } else {
+            nodo = primeraOcurrencia(dato);
         }
-
-        NodoLista<T> actual = cabeza;
-        while (actual.siguiente != null && !actual.siguiente.dato.equals(dato)) {
-            actual = actual.siguiente;
+        if (nodo == null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Dato '{0}' no encontrado en la lista para eliminar.", dato);
+            }
+            return false;
         }
-
-        if (actual.siguiente != null) {
-            actual.siguiente = actual.siguiente.siguiente;
-            tamano--;
-            LOGGER.log(Level.INFO, "Dato '{0}' eliminado exitosamente de la lista. Tamaño: {1}", new Object[]{dato, tamano});
-            return true;
+        if (ocurrencias != null) {
+            if (nodo.siguienteIgual == null) {
+                indice.remove(dato); // Era la única ocurrencia
+            } else {
+                ocurrencias.primera = nodo.siguienteIgual;
+                nodo.siguienteIgual = null;
+            }
+        }
+        desenlazar(nodo);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato '{0}' eliminado exitosamente de la lista. Tamaño: {1}", new Object[]{dato, tamano});
         }
-        LOGGER.log(Level.WARNING, "Dato '{0}' no encontrado en la lista para eliminar.", dato);
-        return false;
+        return true;
     }
 
     /**
      * Busca un dato en la lista.
+     * Es O(1) en promedio si la lista está indexada y O(n) en caso contrario.
      * @param dato El dato a buscar.
      * @return true si el dato se encuentra en la lista, false en caso contrario.
      */
+    @Override
     public boolean buscar(T dato) {
-        LOGGER.log(Level.INFO, "Intentando buscar dato en la lista: {0}", dato);
-        NodoLista<T> actual = cabeza;
-        while (actual != null) {
-            if (actual.dato.equals(dato)) {
-                LOGGER.log(Level.INFO, "Dato '{0}' encontrado en la lista.", dato);
-                return true;
+        if (metricas != null) {
+            metricas.contar(Operacion.BUSCAR);
+        }
+        return primeraOcurrencia(dato) != null;
+    }
+
+    private NodoLista<T> primeraOcurrencia(T dato) {
+        if (indice != null) {
+            Ocurrencias<T> ocurrencias = indice.get(dato);
+            return ocurrencias != null ? ocurrencias.primera : null;
+        }
+        for (NodoLista<T> actual = cabeza; actual != null; actual = actual.siguiente) {
+            if (Objects.equals(actual.dato, dato)) {
+                return actual;
             }
-            actual = actual.siguiente;
         }
-        LOGGER.log(Level.WARNING, "Dato '{0}' no encontrado en la lista.", dato);
-        return false;
+        return null;
     }
 
     /**
@@ -93,17 +281,30 @@ public class ListaTarea<T> {
      * @param indice El índice del dato a obtener.
      * @return El dato en la posición especificada, o null si el índice está fuera de rango.
      */
+    @Override
     public T obtener(int indice) {
-        LOGGER.log(Level.INFO, "Intentando obtener dato en el índice: {0}", indice);
+        if (metricas != null) {
+            metricas.contar(Operacion.OBTENER);
+        }
         if (indice < 0 || indice >= tamano) {
-            LOGGER.log(Level.SEVERE, "Índice fuera de rango: {0}. Tamaño de la lista: {1}", new Object[]{indice, tamano});
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Índice fuera de rango: {0}. Tamaño de la lista: {1}", new Object[]{indice, tamano});
+            }
             return null; // O lanzar una excepción IndexOutOfBoundsException
         }
-        NodoLista<T> actual = cabeza;
-        for (int i = 0; i < indice; i++) {
-            actual = actual.siguiente;
+        // Se recorre desde el extremo más cercano
+        NodoLista<T> actual;
+        if (indice < (tamano >> 1)) {
+            actual = cabeza;
+            for (int i = 0; i < indice; i++) {
+                actual = actual.siguiente;
+            }
+        } else {
+            actual = cola;
+            for (int i = tamano - 1; i > indice; i--) {
+                actual = actual.anterior;
+            }
         }
-        LOGGER.log(Level.INFO, "Dato obtenido en el índice {0}: {1}", new Object[]{indice, actual.dato});
         return actual.dato;
     }
 
@@ -111,18 +312,103 @@ public class ListaTarea<T> {
      * Verifica si la lista está vacía.
      * @return true si la lista no contiene elementos, false en caso contrario.
      */
+    @Override
     public boolean estaVacia() {
-        boolean resultado = cabeza == null;
-        LOGGER.log(Level.FINE, "Verificando si la lista está vacía: {0}", resultado);
-        return resultado;
+        return cabeza == null;
     }
 
     /**
      * Devuelve el número de elementos en la lista.
      * @return El tamaño de la lista.
      */
+    @Override
     public int tamano() {
-        LOGGER.log(Level.FINE, "Obteniendo tamaño de la lista: {0}", tamano);
         return tamano;
     }
+
+    /**
+     * Devuelve un iterador fail-fast que recorre la lista desde la cabeza.
+     * @return El iterador.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Devuelve un Spliterator que, al dividirse, copia lotes de nodos a arreglos de tamaño creciente
+     * (como LinkedList), de modo que un Stream paralelo reparte el trabajo entre varios núcleos
+     * aunque la lista solo pueda recorrerse secuencialmente.
+     * @return El Spliterator.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), tamano, Spliterator.ORDERED);
+    }
+
+    /**
+     * Habilita las métricas de la lista: llamadas por operación y tamaño máximo.
+     * @param nombre Nombre con que se identifican las métricas, por ejemplo en JMX.
+     * @return Las métricas, para consultarlas o publicarlas con registrarJmx().
+     */
+    public MetricasEstructura<Operacion> habilitarMetricas(String nombre) {
+        MetricasEstructura<Operacion> nuevas = new MetricasEstructura<>(nombre, Operacion.class, this::tamano);
+        nuevas.observarTamano(tamano);
+        metricas = nuevas;
+        return nuevas;
+    }
+
+    /**
+     * Deshabilita las métricas y las retira de JMX si estaban publicadas.
+     */
+    public void deshabilitarMetricas() {
+        if (metricas != null) {
+            metricas.retirarJmx();
+        }
+        metricas = null;
+    }
+
+    /**
+     * @return Las métricas de la lista, o null si están deshabilitadas.
+     */
+    public MetricasEstructura<Operacion> getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Primera y última ocurrencia de un dato en una lista indexada; las intermedias se alcanzan con
+     * siguienteIgual desde la primera.
+     */
+    private static final class Ocurrencias<T> {
+        NodoLista<T> primera;
+        NodoLista<T> ultima;
+
+        Ocurrencias(NodoLista<T> nodo) {
+            this.primera = nodo;
+            this.ultima = nodo;
+        }
+    }
+
+    private final class Iterador implements Iterator<T> {
+        private NodoLista<T> siguiente = cabeza;
+        private final int modificacionesEsperadas = modificaciones;
+
+        @Override
+        public boolean hasNext() {
+            return siguiente != null;
+        }
+
+        @Override
+        public T next() {
+            if (modificaciones != modificacionesEsperadas) {
+                throw new ConcurrentModificationException("La lista fue modificada durante el recorrido.");
+            }
+            if (siguiente == null) {
+                throw new NoSuchElementException();
+            }
+            T dato = siguiente.dato;
+            siguiente = siguiente.siguiente;
+            return dato;
+        }
+    }
 }
@@ -0,0 +1,258 @@
+package com.umg.estructuras.lista;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Lista de tareas respaldada por un arreglo que crece al llenarse.
+ * agregar es O(1) amortizado y obtener es O(1), por lo que recorrer la lista por índice es O(n).
+ * agregarAlInicio y eliminar desplazan los elementos siguientes, con costo O(n).
+ * Su Spliterator se divide por la mitad exacta del rango, lo que da un buen reparto en Streams paralelos.
+ * @param <T> Tipo de los elementos.
+ */
+public class ListaTareaArreglo<T> implements Lista<T> {
+    private static final Logger LOGGER = Logger.getLogger(ListaTareaArreglo.class.getName());
+    private static final int CAPACIDAD_INICIAL = 10;
+    private static final Object[] VACIO = {};
+
+    private Object[] elementos;
+    private int tamano;
+    private int modificaciones; // Cambios estructurales, para los iteradores fail-fast
+
+    public ListaTareaArreglo() {
+        this.elementos = VACIO; // El arreglo se reserva al agregar el primer elemento
+        this.tamano = 0;
+        LOGGER.log(Level.INFO, "ListaTareaArreglo creada.");
+    }
+
+    /**
+     * Crea la lista con espacio reservado para la cantidad de elementos indicada.
+     * @param capacidadInicial Número de elementos que caben sin redimensionar.
+     */
+    public ListaTareaArreglo(int capacidadInicial) {
+        if (capacidadInicial < 0) {
+            throw new IllegalArgumentException("La capacidad inicial no puede ser negativa: " + capacidadInicial);
+        }
+        this.elementos = capacidadInicial == 0 ? VACIO : new Object[capacidadInicial];
+        this.tamano = 0;
+        LOGGER.log(Level.INFO, "ListaTareaArreglo creada con capacidad {0}.", capacidadInicial);
+    }
+
+    private void asegurarCapacidad(int minimo) {
+        if (minimo > elementos.length) {
+            int nuevaCapacidad = Math.max(Math.max(minimo, CAPACIDAD_INICIAL), elementos.length + (elementos.length >> 1));
+            elementos = Arrays.copyOf(elementos, nuevaCapacidad);
+        }
+    }
+
+    @Override
+    public void agregar(T dato) {
+        if (tamano == elementos.length) {
+            asegurarCapacidad(tamano + 1);
+        }
+        elementos[tamano++] = dato;
+        modificaciones++;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato agregado: {0}. Tamaño actual de la lista: {1}", new Object[]{dato, tamano});
+        }
+    }
+
+    @Override
+    public void agregarAlInicio(T dato) {
+        asegurarCapacidad(tamano + 1);
+        System.arraycopy(elementos, 0, elementos, 1, tamano);
+        elementos[0] = dato;
+        tamano++;
+        modificaciones++;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato agregado al inicio: {0}. Tamaño actual de la lista: {1}", new Object[]{dato, tamano});
+        }
+    }
+
+    @Override
+    public void agregarTodos(Iterable<? extends T> datos) {
+        if (datos instanceof Collection) {
+            asegurarCapacidad(tamano + ((Collection<?>) datos).size()); // Una sola redimensión para el lote
+        }
+        for (T dato : datos) {
+            agregar(dato);
+        }
+    }
+
+    @Override
+    public boolean eliminar(T dato) {
+        int indice = indiceDe(dato);
+        if (indice < 0) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Dato '{0}' no encontrado en la lista para eliminar.", dato);
+            }
+            return false;
+        }
+        int aMover = tamano - indice - 1;
+        if (aMover > 0) {
+            System.arraycopy(elementos, indice + 1, elementos, indice, aMover);
+        }
+        elementos[--tamano] = null; // Libera la referencia para el recolector de basura
+        modificaciones++;
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Dato '{0}' eliminado exitosamente de la lista. Tamaño: {1}", new Object[]{dato, tamano});
+        }
+        return true;
+    }
+
+    @Override
+    public boolean buscar(T dato) {
+        return indiceDe(dato) >= 0;
+    }
+
+    private int indiceDe(T dato) {
+        for (int i = 0; i < tamano; i++) {
+            if (Objects.equals(elementos[i], dato)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T obtener(int indice) {
+        if (indice < 0 || indice >= tamano) {
+            if (LOGGER.isLoggable(Level.WARNING)) {
+                LOGGER.log(Level.WARNING, "Índice fuera de rango: {0}. Tamaño de la lista: {1}", new Object[]{indice, tamano});
+            }
+            return null;
+        }
+        return (T) elementos[indice];
+    }
+
+    @Override
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    @Override
+    public int tamano() {
+        return tamano;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new SpliteratorArreglo(0, -1, 0);
+    }
+
+    private final class Iterador implements Iterator<T> {
+        private int cursor;
+        private final int modificacionesEsperadas = modificaciones;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < tamano;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (modificaciones != modificacionesEsperadas) {
+                throw new ConcurrentModificationException("La lista fue modificada durante el recorrido.");
+            }
+            if (cursor >= tamano) {
+                throw new NoSuchElementException();
+            }
+            return (T) elementos[cursor++];
+        }
+    }
+
+    /**
+     * Spliterator sobre un rango del arreglo. Fija el límite del rango la primera vez que se usa
+     * (late-binding) y comprueba las modificaciones al terminar cada recorrido.
+     */
+    private final class SpliteratorArreglo implements Spliterator<T> {
+        private int indice;
+        private int limite; // -1 hasta el primer uso
+        private int modificacionesEsperadas;
+
+        SpliteratorArreglo(int origen, int limite, int modificacionesEsperadas) {
+            this.indice = origen;
+            this.limite = limite;
+            this.modificacionesEsperadas = modificacionesEsperadas;
+        }
+
+        private int obtenerLimite() {
+            if (limite < 0) {
+                modificacionesEsperadas = modificaciones;
+                limite = tamano;
+            }
+            return limite;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int fin = obtenerLimite();
+            int medio = (indice + fin) >>> 1;
+            if (indice >= medio) {
+                return null;
+            }
+            SpliteratorArreglo prefijo = new SpliteratorArreglo(indice, medio, modificacionesEsperadas);
+            indice = medio;
+            return prefijo;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> accion) {
+            Objects.requireNonNull(accion);
+            int fin = obtenerLimite();
+            if (indice >= fin) {
+                return false;
+            }
+            T dato = (T) elementos[indice++];
+            accion.accept(dato);
+            if (modificaciones != modificacionesEsperadas) {
+                throw new ConcurrentModificationException("La lista fue modificada durante el recorrido.");
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> accion) {
+            Objects.requireNonNull(accion);
+            int fin = obtenerLimite();
+            Object[] arreglo = elementos;
+            if (fin > arreglo.length) {
+                throw new ConcurrentModificationException("La lista fue modificada durante el recorrido.");
+            }
+            for (int i = indice; i < fin; i++) {
+                accion.accept((T) arreglo[i]);
+            }
+            indice = fin;
+            if (modificaciones != modificacionesEsperadas) {
+                throw new ConcurrentModificationException("La lista fue modificada durante el recorrido.");
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return obtenerLimite() - indice;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -1,17 +1,15 @@
 package com.umg.estructuras.lista;
 
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
-public class NodoLista<T> { // <--- AÑADIR <T> AQUÍ
-    private static final Logger LOGGER = Logger.getLogger(NodoLista.class.getName());
-
+public class NodoLista<T> {
     public T dato;
-    public NodoLista<T> siguiente; // <--- USAR <T> AQUÍ
+    public NodoLista<T> siguiente;
+    public NodoLista<T> anterior;
+    public NodoLista<T> siguienteIgual; // Siguiente ocurrencia del mismo dato, solo en listas indexadas
 
     public NodoLista(T dato) {
         this.dato = dato;
         this.siguiente = null;
-        LOGGER.log(Level.FINE, "NodoLista creado con dato: {0}", dato);
+        this.anterior = null;
+        this.siguienteIgual = null;
     }
 }
@@ -0,0 +1,114 @@
+package com.umg.estructuras.metricas;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de valores no negativos con memoria fija, al estilo de HdrHistogram.
+ * Los valores menores que 64 se cuentan exactos; los demás caen en cubetas logarítmico-lineales:
+ * cada potencia de dos se divide en 32 subcubetas, así que el error relativo de un percentil es
+ * menor que 1/32 en todo el rango de long. Ocupa unos 15 KB sin importar cuántos valores registre.
+ * Registrar un valor es seguro desde varios hilos y no reserva memoria.
+ */
+public final class Histograma {
+    private static final int BITS_SUBCUBETA = 5;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = (Long.SIZE - BITS_SUBCUBETA) * SUBCUBETAS;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator minimo = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+    /**
+     * Registra un valor; los negativos se cuentan como 0.
+     * @param valor El valor a registrar.
+     */
+    public void registrar(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        cubetas.getAndIncrement(cubeta(valor));
+        suma.add(valor);
+        minimo.accumulate(valor);
+        maximo.accumulate(valor);
+    }
+
+    static int cubeta(long valor) {
+        if (valor < 2 * SUBCUBETAS) {
+            return (int) valor;
+        }
+        int desplazamiento = (Long.SIZE - 1 - Long.numberOfLeadingZeros(valor)) - BITS_SUBCUBETA;
+        return (desplazamiento + 1) * SUBCUBETAS + (int) (valor >>> desplazamiento) - SUBCUBETAS;
+    }
+
+    /**
+     * Mayor valor que cae en una cubeta.
+     */
+    static long limiteSuperior(int cubeta) {
+        if (cubeta < 2 * SUBCUBETAS) {
+            return cubeta;
+        }
+        int desplazamiento = cubeta / SUBCUBETAS - 1;
+        long subcubeta = cubeta % SUBCUBETAS + SUBCUBETAS;
+        return ((subcubeta + 1) << desplazamiento) - 1;
+    }
+
+    /**
+     * Resume el histograma. Con escrituras concurrentes el resumen es aproximado: las cubetas
+     * se leen una a una, no todas en el mismo instante.
+     * @return Conteo, mínimo, máximo, media y percentiles 50, 90, 99 y 99.9.
+     */
+    public ResumenHistograma resumen() {
+        long[] conteos = new long[CUBETAS];
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            conteos[i] = cubetas.get(i);
+            total += conteos[i];
+        }
+        if (total == 0) {
+            return new ResumenHistograma(0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        long max = maximo.get();
+        return new ResumenHistograma(total, minimo.get(), max, (double) suma.sum() / total,
+                percentil(conteos, total, 50.0, max), percentil(conteos, total, 90.0, max),
+                percentil(conteos, total, 99.0, max), percentil(conteos, total, 99.9, max));
+    }
+
+    private static long percentil(long[] conteos, long total, double percentil, long maximo) {
+        long rango = Math.max(1, (long) Math.ceil(percentil / 100.0 * total));
+        long acumulado = 0;
+        for (int i = 0; i < conteos.length; i++) {
+            acumulado += conteos[i];
+            if (acumulado >= rango) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Número de valores registrados.
+     * @return El conteo.
+     */
+    public long conteo() {
+        long total = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            total += cubetas.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Descarta todos los valores registrados.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        suma.reset();
+        minimo.reset();
+        maximo.reset();
+    }
+}
@@ -0,0 +1,66 @@
+package com.umg.estructuras.metricas;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Copia inmutable de las métricas de una estructura en un instante, para consultarlas sin JMX.
+ */
+public final class InstantaneaMetricas {
+    private final String nombre;
+    private final long marcaTiempo;
+    private final Map<String, Long> operaciones;
+    private final int tamano;
+    private final long tamanoMaximo;
+    private final Map<String, ResumenHistograma> histogramas;
+
+    InstantaneaMetricas(String nombre, long marcaTiempo, Map<String, Long> operaciones, int tamano,
+                        long tamanoMaximo, Map<String, ResumenHistograma> histogramas) {
+        this.nombre = nombre;
+        this.marcaTiempo = marcaTiempo;
+        this.operaciones = Collections.unmodifiableMap(operaciones);
+        this.tamano = tamano;
+        this.tamanoMaximo = tamanoMaximo;
+        this.histogramas = Collections.unmodifiableMap(histogramas);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * @return Momento de la copia, en milisegundos desde la época.
+     */
+    public long getMarcaTiempo() {
+        return marcaTiempo;
+    }
+
+    /**
+     * @param operacion Nombre de la operación.
+     * @return Número de llamadas a la operación, o 0 si no existe.
+     */
+    public long getOperacion(String operacion) {
+        return operaciones.getOrDefault(operacion, 0L);
+    }
+
+    public Map<String, Long> getOperaciones() {
+        return operaciones;
+    }
+
+    public int getTamano() {
+        return tamano;
+    }
+
+    public long getTamanoMaximo() {
+        return tamanoMaximo;
+    }
+
+    public Map<String, ResumenHistograma> getHistogramas() {
+        return histogramas;
+    }
+
+    @Override
+    public String toString() {
+        return nombre + " " + operaciones + " tamaño=" + tamano + " máximo=" + tamanoMaximo + " " + histogramas;
+    }
+}
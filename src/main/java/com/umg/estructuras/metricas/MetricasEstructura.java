@@ -0,0 +1,189 @@
+package com.umg.estructuras.metricas;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Métricas de operación de una estructura: un contador por operación, el tamaño actual y el máximo
+ * alcanzado, e histogramas con nombre fijados al crearla.
+ * <p>
+ * Los contadores son LongAdder, de modo que varios hilos pueden incrementarlos sin competir por la
+ * misma línea de caché. El tamaño actual no se copia en cada operación: se lee de la estructura al
+ * consultarlo. Las estructuras solo tienen una instancia de esta clase mientras las métricas están
+ * habilitadas; deshabilitadas, el costo es comprobar que el campo es null.
+ * Las lecturas (instantanea, JMX) pueden hacerse desde otro hilo y son aproximadas.
+ * @param <E> Enumeración de las operaciones de la estructura.
+ */
+public final class MetricasEstructura<E extends Enum<E>> implements MetricasEstructuraMXBean {
+    private static final Logger LOGGER = Logger.getLogger(MetricasEstructura.class.getName());
+    private static final String DOMINIO_JMX = "com.umg.estructuras";
+
+    private final String nombre;
+    private final String tipo;
+    private final E[] operaciones;
+    private final LongAdder[] contadores;
+    private final IntSupplier tamano;
+    private final LongAccumulator tamanoMaximo = new LongAccumulator(Math::max, 0);
+    private final Map<String, Histograma> histogramas = new LinkedHashMap<>();
+    private ObjectName nombreJmx;
+
+    /**
+     * Crea las métricas.
+     * @param nombre Nombre de la instancia (por ejemplo "cola-correos").
+     * @param operaciones Enumeración con las operaciones que se cuentan.
+     * @param tamano Lee el tamaño actual de la estructura.
+     * @param histogramas Nombres de los histogramas de la estructura.
+     */
+    public MetricasEstructura(String nombre, Class<E> operaciones, IntSupplier tamano, String... histogramas) {
+        this.nombre = Objects.requireNonNull(nombre, "nombre");
+        this.operaciones = operaciones.getEnumConstants();
+        this.tamano = Objects.requireNonNull(tamano, "tamano");
+        Class<?> estructura = operaciones.getEnclosingClass();
+        this.tipo = (estructura != null ? estructura : operaciones).getSimpleName();
+        this.contadores = new LongAdder[this.operaciones.length];
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] = new LongAdder();
+        }
+        for (String histograma : histogramas) {
+            this.histogramas.put(histograma, new Histograma());
+        }
+    }
+
+    /**
+     * Cuenta una llamada a una operación.
+     * @param operacion La operación.
+     */
+    public void contar(E operacion) {
+        contadores[operacion.ordinal()].increment();
+    }
+
+    /**
+     * Actualiza el tamaño máximo; solo escribe cuando el tamaño supera el máximo anterior.
+     * @param tamanoActual El tamaño de la estructura tras una operación que la hizo crecer.
+     */
+    public void observarTamano(long tamanoActual) {
+        tamanoMaximo.accumulate(tamanoActual);
+    }
+
+    /**
+     * Devuelve uno de los histogramas fijados al crear las métricas.
+     * @param nombreHistograma El nombre del histograma.
+     * @return El histograma.
+     * @throws IllegalArgumentException si no existe un histograma con ese nombre.
+     */
+    public Histograma histograma(String nombreHistograma) {
+        Histograma histograma = histogramas.get(nombreHistograma);
+        if (histograma == null) {
+            throw new IllegalArgumentException("Histograma desconocido: " + nombreHistograma);
+        }
+        return histograma;
+    }
+
+    /**
+     * @param operacion La operación.
+     * @return Número de llamadas a la operación.
+     */
+    public long contador(E operacion) {
+        return contadores[operacion.ordinal()].sum();
+    }
+
+    /**
+     * Toma una copia de todas las métricas.
+     * @return La copia.
+     */
+    public InstantaneaMetricas instantanea() {
+        return new InstantaneaMetricas(nombre, System.currentTimeMillis(), getOperaciones(), getTamano(),
+                getTamanoMaximo(), getHistogramas());
+    }
+
+    @Override
+    public String getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public Map<String, Long> getOperaciones() {
+        Map<String, Long> conteos = new LinkedHashMap<>();
+        for (E operacion : operaciones) {
+            conteos.put(operacion.name(), contadores[operacion.ordinal()].sum());
+        }
+        return conteos;
+    }
+
+    @Override
+    public int getTamano() {
+        return tamano.getAsInt();
+    }
+
+    @Override
+    public long getTamanoMaximo() {
+        return Math.max(tamanoMaximo.get(), tamano.getAsInt());
+    }
+
+    @Override
+    public Map<String, ResumenHistograma> getHistogramas() {
+        Map<String, ResumenHistograma> resumenes = new LinkedHashMap<>();
+        for (Map.Entry<String, Histograma> entrada : histogramas.entrySet()) {
+            resumenes.put(entrada.getKey(), entrada.getValue().resumen());
+        }
+        return resumenes;
+    }
+
+    @Override
+    public void reiniciar() {
+        for (LongAdder contador : contadores) {
+            contador.reset();
+        }
+        tamanoMaximo.reset();
+        for (Histograma histograma : histogramas.values()) {
+            histograma.reiniciar();
+        }
+    }
+
+    /**
+     * Publica las métricas en el servidor MBean de la plataforma como
+     * com.umg.estructuras:type=&lt;estructura&gt;,name=&lt;nombre&gt;.
+     * @return El nombre JMX con que se registró.
+     * @throws IllegalStateException si ya hay un MBean con ese nombre o el registro falla.
+     */
+    public synchronized ObjectName registrarJmx() {
+        if (nombreJmx != null) {
+            return nombreJmx;
+        }
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName nombreObjeto = new ObjectName(DOMINIO_JMX + ":type=" + tipo + ",name=" + ObjectName.quote(nombre));
+            servidor.registerMBean(this, nombreObjeto);
+            nombreJmx = nombreObjeto;
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron publicar por JMX las métricas de " + nombre, e);
+        }
+        LOGGER.log(Level.INFO, "Métricas publicadas por JMX como {0}", nombreJmx);
+        return nombreJmx;
+    }
+
+    /**
+     * Retira las métricas del servidor MBean, si estaban publicadas.
+     */
+    public synchronized void retirarJmx() {
+        if (nombreJmx == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(nombreJmx);
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "No se pudieron retirar de JMX las métricas {0}: {1}", new Object[]{nombreJmx, e.getMessage()});
+        }
+        nombreJmx = null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.umg.estructuras.metricas;
+
+import java.util.Map;
+
+/**
+ * Vista JMX de las métricas de una estructura.
+ */
+public interface MetricasEstructuraMXBean {
+    String getNombre();
+
+    /**
+     * @return Número de llamadas a cada operación, por nombre de operación.
+     */
+    Map<String, Long> getOperaciones();
+
+    int getTamano();
+
+    long getTamanoMaximo();
+
+    Map<String, ResumenHistograma> getHistogramas();
+
+    /**
+     * Pone a cero los contadores, el tamaño máximo y los histogramas.
+     */
+    void reiniciar();
+}
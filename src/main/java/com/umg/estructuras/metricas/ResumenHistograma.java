@@ -0,0 +1,64 @@
+package com.umg.estructuras.metricas;
+
+/**
+ * Resumen inmutable de un Histograma. Por JMX se publica como CompositeData.
+ */
+public final class ResumenHistograma {
+    private final long conteo;
+    private final long minimo;
+    private final long maximo;
+    private final double media;
+    private final long p50;
+    private final long p90;
+    private final long p99;
+    private final long p999;
+
+    ResumenHistograma(long conteo, long minimo, long maximo, double media, long p50, long p90, long p99, long p999) {
+        this.conteo = conteo;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.media = media;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.p999 = p999;
+    }
+
+    public long getConteo() {
+        return conteo;
+    }
+
+    public long getMinimo() {
+        return minimo;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public double getMedia() {
+        return media;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP90() {
+        return p90;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+
+    public long getP999() {
+        return p999;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("conteo=%d min=%d p50=%d p90=%d p99=%d p99.9=%d max=%d media=%.1f",
+                conteo, minimo, p50, p90, p99, p999, maximo, media);
+    }
+}
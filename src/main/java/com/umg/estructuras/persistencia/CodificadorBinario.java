@@ -0,0 +1,65 @@
+package com.umg.estructuras.persistencia;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Convierte datos a bytes y viceversa para guardarlos en una instantánea.
+ * escribir debe escribir exactamente tamano(dato) bytes, y leer debe consumir los mismos bytes.
+ * @param <T> Tipo de los datos.
+ */
+public interface CodificadorBinario<T> {
+
+    /**
+     * Número de bytes que ocupará el dato codificado.
+     */
+    int tamano(T dato);
+
+    /**
+     * Escribe el dato en la posición actual del buffer, que tiene al menos tamano(dato) bytes libres.
+     */
+    void escribir(T dato, ByteBuffer destino);
+
+    /**
+     * Lee un dato desde la posición actual del buffer, avanzándola.
+     * Ante bytes que no forman un dato válido puede lanzar cualquier RuntimeException
+     * (BufferUnderflowException si faltan bytes); quien lee una instantánea la convierte en IOException.
+     */
+    T leer(ByteBuffer origen);
+
+    /**
+     * Codificador de cadenas en UTF-8, precedidas por su longitud en bytes.
+     * @return El codificador.
+     */
+    static CodificadorBinario<String> texto() {
+        return new CodificadorBinario<String>() {
+            @Override
+            public int tamano(String dato) {
+                return Integer.BYTES + dato.getBytes(StandardCharsets.UTF_8).length;
+            }
+
+            @Override
+            public void escribir(String dato, ByteBuffer destino) {
+                byte[] bytes = dato.getBytes(StandardCharsets.UTF_8);
+                destino.putInt(bytes.length);
+                destino.put(bytes);
+            }
+
+            @Override
+            public String leer(ByteBuffer origen) {
+                int longitud = origen.getInt();
+                if (longitud < 0) {
+                    throw new IllegalArgumentException("Longitud de texto negativa: " + longitud);
+                }
+                if (longitud > origen.remaining()) {
+                    // Se comprueba antes de reservar el arreglo: una longitud dañada podría pedir hasta 2 GB
+                    throw new BufferUnderflowException();
+                }
+                byte[] bytes = new byte[longitud];
+                origen.get(bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
@@ -0,0 +1,492 @@
+package com.umg.estructuras.persistencia;
+
+import com.umg.estructuras.cola.DiarioCola;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario de una ColaTareasProgramadas sobre segmentos de archivo mapeados en memoria.
+ * <p>
+ * Cada enqueue agrega un registro con su número de secuencia y el dato codificado; cada dequeue,
+ * un registro con la secuencia consumida. Un registro se escribe completo, con su CRC32C, y solo
+ * después se marca su tipo, de modo que al recuperar se descartan los registros a medio escribir.
+ * Como la cola es FIFO, al abrir el diario los pendientes son los encolados con secuencia mayor que
+ * la última consumida. Un segmento lleno se cierra y se abre otro; los segmentos antiguos cuyos
+ * elementos ya se consumieron se borran (un consumo siempre se registra después de su alta, así que
+ * borrarlos nunca resucita elementos). La cabecera de un segmento nuevo y el directorio se fuerzan
+ * al crearlo y al borrar segmentos; si aun así el último segmento aparece con la cabecera en ceros,
+ * se descarta como vacío.
+ * <p>
+ * Un diario sirve a una sola cola: los pendientes recuperados se entregan solo a la primera llamada
+ * a recuperar. Debe cerrarse con close para forzar las últimas escrituras.
+ * @param <T> Tipo de los elementos.
+ */
+public final class DiarioColaMapeado<T> implements DiarioCola<T>, Closeable {
+    private static final Logger LOGGER = Logger.getLogger(DiarioColaMapeado.class.getName());
+    private static final int MARCA = 0x44434F31; // "DCO1"
+    private static final int VERSION = 1;
+    private static final int CABECERA_SEGMENTO = Integer.BYTES * 2 + Long.BYTES;
+    // Registro: longitud del dato (int), tipo (byte), secuencia (long), dato, CRC32C (int)
+    private static final int CABECERA_REGISTRO = Integer.BYTES + 1 + Long.BYTES;
+    private static final int TAMANO_MINIMO_REGISTRO = CABECERA_REGISTRO + Integer.BYTES;
+    private static final byte ENCOLAR = 1;
+    private static final byte DESENCOLAR = 2;
+    private static final int TAMANO_SEGMENTO_POR_DEFECTO = 64 << 20;
+    private static final String PREFIJO = "diario-";
+    private static final String EXTENSION = ".seg";
+
+    private static final class Segmento {
+        final long numero;
+        final Path ruta;
+        MappedByteBuffer buffer;
+        int posicion;          // Donde se escribirá el siguiente registro
+        long ultimaEncolada;   // Mayor secuencia encolada en este segmento (0 si ninguna)
+
+        Segmento(long numero, Path ruta, MappedByteBuffer buffer) {
+            this.numero = numero;
+            this.ruta = ruta;
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class Pendiente<T> {
+        final long secuencia;
+        final T dato;
+
+        Pendiente(long secuencia, T dato) {
+            this.secuencia = secuencia;
+            this.dato = dato;
+        }
+    }
+
+    private final Path directorio;
+    private final CodificadorBinario<T> codificador;
+    private final Durabilidad durabilidad;
+    private final int tamanoSegmento;
+    private final ArrayDeque<Segmento> segmentos = new ArrayDeque<>();
+    private final CRC32C crc = new CRC32C();
+    private final ScheduledExecutorService sincronizador;
+
+    private Segmento activo;
+    private int forzadoHasta; // Bytes del segmento activo ya forzados a disco
+    private long ultimaEncolada;
+    private long ultimaDesencolada;
+    private long desencoladaForzada; // Mayor desencolado cuyo registro ya está en disco
+    private List<T> recuperados;
+    private boolean cerrado;
+
+    private DiarioColaMapeado(Path directorio, CodificadorBinario<T> codificador, Durabilidad durabilidad,
+                              int tamanoSegmento) throws IOException {
+        this.directorio = directorio;
+        this.codificador = codificador;
+        this.durabilidad = durabilidad;
+        this.tamanoSegmento = tamanoSegmento;
+        Files.createDirectories(directorio);
+        recuperar(directorio);
+        if (durabilidad.esCadaOperacion()) {
+            this.sincronizador = null;
+        } else {
+            this.sincronizador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+                Thread hilo = new Thread(tarea, "diario-cola-sincronizacion");
+                hilo.setDaemon(true);
+                return hilo;
+            });
+            long periodo = durabilidad.getIntervalo().toNanos();
+            sincronizador.scheduleWithFixedDelay(this::sincronizarEnSegundoPlano, periodo, periodo, TimeUnit.NANOSECONDS);
+        }
+        LOGGER.log(Level.INFO, "Diario de cola abierto en {0} ({1} pendientes, {2} segmentos, durabilidad {3}).",
+                new Object[]{directorio, recuperados.size(), segmentos.size(), durabilidad});
+    }
+
+    /**
+     * Abre (o crea) el diario de un directorio con segmentos de 64 MB y recupera los elementos pendientes.
+     * @param directorio El directorio de los segmentos.
+     * @param codificador El codificador de los elementos.
+     * @param durabilidad Cuándo se fuerzan las escrituras a disco.
+     * @return El diario abierto.
+     * @throws IOException si falla la lectura o algún segmento no es válido.
+     */
+    public static <T> DiarioColaMapeado<T> abrir(Path directorio, CodificadorBinario<T> codificador,
+                                                 Durabilidad durabilidad) throws IOException {
+        return abrir(directorio, codificador, durabilidad, TAMANO_SEGMENTO_POR_DEFECTO);
+    }
+
+    /**
+     * Abre (o crea) el diario de un directorio y recupera los elementos pendientes.
+     * @param directorio El directorio de los segmentos.
+     * @param codificador El codificador de los elementos.
+     * @param durabilidad Cuándo se fuerzan las escrituras a disco.
+     * @param tamanoSegmento Tamaño en bytes de cada segmento nuevo.
+     * @return El diario abierto.
+     * @throws IOException si falla la lectura o algún segmento no es válido.
+     */
+    public static <T> DiarioColaMapeado<T> abrir(Path directorio, CodificadorBinario<T> codificador,
+                                                 Durabilidad durabilidad, int tamanoSegmento) throws IOException {
+        Objects.requireNonNull(directorio, "directorio");
+        Objects.requireNonNull(codificador, "codificador");
+        Objects.requireNonNull(durabilidad, "durabilidad");
+        if (tamanoSegmento < CABECERA_SEGMENTO + TAMANO_MINIMO_REGISTRO) {
+            throw new IllegalArgumentException("Tamaño de segmento demasiado pequeño: " + tamanoSegmento);
+        }
+        return new DiarioColaMapeado<>(directorio, codificador, durabilidad, tamanoSegmento);
+    }
+
+    /**
+     * Lee todos los segmentos en orden y reconstruye los pendientes.
+     */
+    private void recuperar(Path directorio) throws IOException {
+        List<Path> rutas = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, PREFIJO + "*" + EXTENSION)) {
+            for (Path ruta : archivos) {
+                rutas.add(ruta);
+            }
+        }
+        Collections.sort(rutas); // El número de segmento tiene ancho fijo, así que el orden alfabético es el cronológico
+        ArrayDeque<Pendiente<T>> pendientes = new ArrayDeque<>();
+        for (int i = 0; i < rutas.size(); i++) {
+            Segmento segmento = leerSegmento(rutas.get(i), pendientes, i == rutas.size() - 1);
+            if (segmento != null) {
+                segmentos.add(segmento);
+            }
+        }
+        ultimaEncolada = Math.max(ultimaEncolada, ultimaDesencolada);
+        // Los consumos de segmentos ya borrados no se conservan; el siguiente a consumir es el primer pendiente
+        ultimaDesencolada = pendientes.isEmpty() ? ultimaEncolada : pendientes.peekFirst().secuencia - 1;
+        desencoladaForzada = ultimaDesencolada; // Leído del disco
+        List<T> datos = new ArrayList<>(pendientes.size());
+        for (Pendiente<T> pendiente : pendientes) {
+            datos.add(pendiente.dato);
+        }
+        recuperados = datos;
+        if (segmentos.isEmpty()) {
+            activo = crearSegmento(0, CABECERA_SEGMENTO);
+            forzadoHasta = CABECERA_SEGMENTO;
+        } else {
+            activo = segmentos.peekLast();
+            forzadoHasta = activo.posicion;
+        }
+        compactar();
+    }
+
+    /**
+     * Lee un segmento y agrega sus encolados a los pendientes.
+     * @return El segmento, o null si era el último y se descartó porque su cabecera no llegó al disco.
+     */
+    private Segmento leerSegmento(Path ruta, ArrayDeque<Pendiente<T>> pendientes, boolean esUltimo) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Segmento de diario con tamaño inválido: " + ruta);
+            }
+            if (canal.size() < CABECERA_SEGMENTO) {
+                if (esUltimo) {
+                    descartarSegmentoVacio(ruta);
+                    return null;
+                }
+                throw new IOException("Segmento de diario con tamaño inválido: " + ruta);
+            }
+            buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+        }
+        if (esUltimo && buffer.getLong(0) == 0 && buffer.getLong(Long.BYTES) == 0) {
+            // Se creó justo antes de un fallo y su cabecera no llegó a forzarse: aún no tenía registros
+            descartarSegmentoVacio(ruta);
+            return null;
+        }
+        if (buffer.getInt(0) != MARCA || buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("El archivo no es un segmento de diario válido: " + ruta);
+        }
+        Segmento segmento = new Segmento(buffer.getLong(Integer.BYTES * 2), ruta, buffer);
+        int posicion = CABECERA_SEGMENTO;
+        int limite = buffer.capacity();
+        boolean incompleto = false;
+        while (posicion + TAMANO_MINIMO_REGISTRO <= limite) {
+            byte tipo = buffer.get(posicion + Integer.BYTES);
+            if (tipo == 0) {
+                break; // Fin de los registros escritos
+            }
+            int longitud = buffer.getInt(posicion);
+            if ((tipo != ENCOLAR && tipo != DESENCOLAR) || longitud < 0
+                    || longitud > limite - posicion - TAMANO_MINIMO_REGISTRO
+                    || buffer.getInt(posicion + CABECERA_REGISTRO + longitud) != calcularCrc(buffer, posicion, tipo, longitud)) {
+                incompleto = true;
+                break;
+            }
+            long secuencia = buffer.getLong(posicion + Integer.BYTES + 1);
+            if (tipo == ENCOLAR) {
+                ByteBuffer dato = buffer.duplicate();
+                dato.position(posicion + CABECERA_REGISTRO).limit(posicion + CABECERA_REGISTRO + longitud);
+                pendientes.addLast(new Pendiente<>(secuencia, codificador.leer(dato.slice())));
+                segmento.ultimaEncolada = secuencia;
+                ultimaEncolada = Math.max(ultimaEncolada, secuencia);
+            } else {
+                while (!pendientes.isEmpty() && pendientes.peekFirst().secuencia <= secuencia) {
+                    pendientes.pollFirst();
+                }
+                ultimaDesencolada = Math.max(ultimaDesencolada, secuencia);
+            }
+            posicion += TAMANO_MINIMO_REGISTRO + longitud;
+        }
+        segmento.posicion = posicion;
+        if (incompleto) {
+            if (esUltimo) {
+                LOGGER.log(Level.WARNING, "Registro incompleto al final de {0}; se descarta desde la posición {1}.",
+                        new Object[]{ruta, posicion});
+            } else {
+                LOGGER.log(Level.SEVERE, "Registro corrupto en {0} (posición {1}); se ignoran los registros siguientes de ese segmento.",
+                        new Object[]{ruta, posicion});
+            }
+            // Se borran los restos para que nuevos registros no queden seguidos de datos antiguos
+            byte[] ceros = new byte[Math.min(1 << 16, limite - posicion)];
+            ByteBuffer resto = buffer.duplicate();
+            resto.position(posicion);
+            while (resto.hasRemaining()) {
+                resto.put(ceros, 0, Math.min(ceros.length, resto.remaining()));
+            }
+            buffer.force();
+        }
+        return segmento;
+    }
+
+    private void descartarSegmentoVacio(Path ruta) throws IOException {
+        LOGGER.log(Level.WARNING, "El último segmento {0} no tiene cabecera; se descarta como vacío.", ruta);
+        Files.delete(ruta);
+        forzarDirectorio();
+    }
+
+    /**
+     * Fuerza a disco la entrada del directorio de los segmentos creados o borrados; sin esto, un fallo
+     * podría perder el archivo de un segmento nuevo aunque su contenido ya estuviera forzado.
+     */
+    private void forzarDirectorio() throws IOException {
+        try (FileChannel canal = FileChannel.open(directorio, StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (AccessDeniedException e) {
+            // Algunos sistemas (Windows) no permiten abrir un directorio; ahí la entrada se persiste con el archivo
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "No se puede forzar el directorio {0}: {1}", new Object[]{directorio, e.getMessage()});
+            }
+        }
+    }
+
+    private int calcularCrc(ByteBuffer buffer, int posicion, byte tipo, int longitud) {
+        crc.reset();
+        crc.update(tipo);
+        ByteBuffer contenido = buffer.duplicate();
+        contenido.position(posicion + Integer.BYTES + 1).limit(posicion + CABECERA_REGISTRO + longitud);
+        crc.update(contenido);
+        return (int) crc.getValue();
+    }
+
+    private Segmento crearSegmento(long numero, int tamanoMinimo) throws IOException {
+        Path ruta = directorio.resolve(String.format("%s%020d%s", PREFIJO, numero, EXTENSION));
+        MappedByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(tamanoSegmento, tamanoMinimo));
+        }
+        buffer.putInt(0, MARCA).putInt(Integer.BYTES, VERSION).putLong(Integer.BYTES * 2, numero);
+        // La cabecera y la entrada del directorio se fuerzan ya: un segmento sin ellas haría fallar la recuperación
+        buffer.force(0, CABECERA_SEGMENTO);
+        forzarDirectorio();
+        Segmento segmento = new Segmento(numero, ruta, buffer);
+        segmento.posicion = CABECERA_SEGMENTO;
+        segmentos.addLast(segmento);
+        return segmento;
+    }
+
+    @Override
+    public synchronized List<T> recuperar() {
+        List<T> datos = recuperados;
+        recuperados = Collections.emptyList();
+        return datos;
+    }
+
+    @Override
+    public synchronized void encolado(T dato) {
+        verificarAbierto();
+        int longitud = codificador.tamano(dato);
+        escribir(ENCOLAR, ultimaEncolada + 1, longitud, dato);
+        ultimaEncolada++;
+        activo.ultimaEncolada = ultimaEncolada;
+        despuesDeEscribir();
+    }
+
+    @Override
+    public synchronized void desencolado() {
+        verificarAbierto();
+        if (ultimaDesencolada >= ultimaEncolada) {
+            throw new IllegalStateException("El diario no tiene elementos pendientes que desencolar.");
+        }
+        escribir(DESENCOLAR, ultimaDesencolada + 1, 0, null);
+        ultimaDesencolada++;
+        despuesDeEscribir();
+        compactar();
+    }
+
+    /**
+     * Escribe un registro completo en el segmento activo y, al final, su tipo, que lo da por válido.
+     */
+    private void escribir(byte tipo, long secuencia, int longitud, T dato) {
+        int tamano = TAMANO_MINIMO_REGISTRO + longitud;
+        if (longitud < 0 || longitud > Integer.MAX_VALUE - CABECERA_SEGMENTO - TAMANO_MINIMO_REGISTRO) {
+            throw new IllegalArgumentException("Tamaño de dato inválido: " + longitud);
+        }
+        asegurarEspacio(tamano);
+        MappedByteBuffer buffer = activo.buffer;
+        int posicion = activo.posicion;
+        buffer.putInt(posicion, longitud);
+        buffer.putLong(posicion + Integer.BYTES + 1, secuencia);
+        if (dato != null) {
+            ByteBuffer destino = buffer.duplicate();
+            destino.position(posicion + CABECERA_REGISTRO).limit(posicion + CABECERA_REGISTRO + longitud);
+            codificador.escribir(dato, destino);
+            if (destino.hasRemaining()) {
+                throw new IllegalStateException("El codificador escribió " + (destino.position() - posicion - CABECERA_REGISTRO)
+                        + " bytes y había anunciado " + longitud + ".");
+            }
+        }
+        buffer.putInt(posicion + CABECERA_REGISTRO + longitud, calcularCrc(buffer, posicion, tipo, longitud));
+        buffer.put(posicion + Integer.BYTES, tipo);
+        activo.posicion = posicion + tamano;
+    }
+
+    /**
+     * Si el registro no cabe en el segmento activo, lo fuerza a disco y abre el siguiente.
+     */
+    private void asegurarEspacio(int tamano) {
+        if (activo.buffer.capacity() - activo.posicion >= tamano) {
+            return;
+        }
+        forzar();
+        try {
+            activo = crearSegmento(activo.numero + 1, CABECERA_SEGMENTO + tamano);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear un nuevo segmento del diario en " + directorio, e);
+        }
+        forzadoHasta = CABECERA_SEGMENTO; // crearSegmento ya forzó la cabecera
+        compactar();
+    }
+
+    /**
+     * Borra los segmentos más antiguos cuyos elementos encolados ya se consumieron todos, según los
+     * desencolados ya forzados a disco: si no, un fallo podría perder a la vez el registro del
+     * desencolado y el segmento que permitía repetirlo.
+     */
+    private void compactar() {
+        boolean borrados = false;
+        while (segmentos.size() > 1) {
+            Segmento primero = segmentos.peekFirst();
+            if (primero == activo || primero.ultimaEncolada > desencoladaForzada) {
+                break;
+            }
+            segmentos.pollFirst();
+            primero.buffer = null;
+            try {
+                Files.deleteIfExists(primero.ruta);
+                borrados = true;
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "No se pudo borrar el segmento consumido {0}: {1}", new Object[]{primero.ruta, e.getMessage()});
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Segmento consumido borrado: {0}", primero.ruta);
+            }
+        }
+        if (borrados) {
+            try {
+                forzarDirectorio();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "No se pudo forzar el directorio {0} tras borrar segmentos: {1}",
+                        new Object[]{directorio, e.getMessage()});
+            }
+        }
+    }
+
+    private void despuesDeEscribir() {
+        if (durabilidad.esCadaOperacion()) {
+            forzar();
+        }
+    }
+
+    /**
+     * Fuerza a disco, en una sola llamada, todo lo escrito en el segmento activo desde el último forzado.
+     */
+    private void forzar() {
+        int hasta = activo.posicion;
+        if (hasta > forzadoHasta) {
+            activo.buffer.force(forzadoHasta, hasta - forzadoHasta);
+            forzadoHasta = hasta;
+        }
+        desencoladaForzada = ultimaDesencolada; // Los segmentos anteriores se forzaron al cambiar de segmento
+    }
+
+    /**
+     * Fuerza a disco todas las operaciones registradas hasta ahora y borra los segmentos ya consumidos.
+     */
+    public synchronized void sincronizar() {
+        if (!cerrado) {
+            forzar();
+            compactar();
+        }
+    }
+
+    private void sincronizarEnSegundoPlano() {
+        try {
+            sincronizar();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "No se pudo forzar el diario a disco: {0}", e.getMessage());
+        }
+    }
+
+    private void verificarAbierto() {
+        if (cerrado) {
+            throw new IllegalStateException("El diario está cerrado.");
+        }
+    }
+
+    /**
+     * Número de segmentos en disco.
+     * @return El número de segmentos.
+     */
+    public synchronized int segmentos() {
+        return segmentos.size();
+    }
+
+    @Override
+    public void close() {
+        if (sincronizador != null) {
+            sincronizador.shutdown();
+        }
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            forzar();
+            cerrado = true;
+            for (Segmento segmento : segmentos) {
+                segmento.buffer = null;
+            }
+        }
+        LOGGER.log(Level.INFO, "Diario de cola cerrado: {0}", directorio);
+    }
+}
@@ -0,0 +1,46 @@
+package com.umg.estructuras.persistencia;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Cuándo se fuerzan a disco las escrituras de un diario.
+ * Con cadaOperacion cada operación vuelve de la llamada ya persistida; con cadaIntervalo las
+ * operaciones se agrupan y un hilo de fondo las fuerza juntas en una sola llamada (group commit),
+ * a cambio de poder perder las del último intervalo si se cae el sistema operativo.
+ */
+public final class Durabilidad {
+    private final Duration intervalo; // null: forzar en cada operación
+
+    private Durabilidad(Duration intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    public static Durabilidad cadaOperacion() {
+        return new Durabilidad(null);
+    }
+
+    /**
+     * @param intervalo Tiempo máximo que una operación puede esperar a forzarse a disco.
+     */
+    public static Durabilidad cadaIntervalo(Duration intervalo) {
+        Objects.requireNonNull(intervalo, "intervalo");
+        if (intervalo.isNegative() || intervalo.isZero()) {
+            throw new IllegalArgumentException("El intervalo debe ser positivo: " + intervalo);
+        }
+        return new Durabilidad(intervalo);
+    }
+
+    boolean esCadaOperacion() {
+        return intervalo == null;
+    }
+
+    Duration getIntervalo() {
+        return intervalo;
+    }
+
+    @Override
+    public String toString() {
+        return intervalo == null ? "cada operación" : "cada " + intervalo.toMillis() + " ms";
+    }
+}
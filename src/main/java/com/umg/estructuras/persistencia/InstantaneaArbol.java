@@ -0,0 +1,212 @@
+package com.umg.estructuras.persistencia;
+
+import com.umg.estructuras.arbol.ArbolJerarquicoTareas;
+import com.umg.estructuras.arbol.NodoArbolTarea;
+import com.umg.estructuras.arbol.OrdenRecorrido;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Guarda y carga un ArbolJerarquicoTareas como instantánea binaria.
+ * <p>
+ * Formato: cabecera (marca, versión y número de nodos) seguida de los nodos en pre-orden, cada uno
+ * con el índice de su padre ({@code int}, -1 en la raíz) y su dato codificado. Como en pre-orden el
+ * padre siempre precede al hijo, la carga reconstruye el árbol en una sola pasada lineal sobre el
+ * archivo mapeado en memoria, sin buscar padres; después el árbol indexa sus nodos en O(n).
+ * El archivo se escribe primero en un temporal que luego reemplaza al destino, de modo que un fallo
+ * a mitad de escritura no deja una instantánea incompleta.
+ */
+public final class InstantaneaArbol {
+    private static final Logger LOGGER = Logger.getLogger(InstantaneaArbol.class.getName());
+    private static final int MARCA = 0x414A5431; // "AJT1"
+    private static final int VERSION = 1;
+    private static final int TAMANO_CABECERA = Integer.BYTES * 2 + Long.BYTES;
+    private static final int TAMANO_BUFFER = 1 << 16;
+
+    private InstantaneaArbol() {
+    }
+
+    /**
+     * Guarda el árbol en un archivo, reemplazándolo si existe.
+     * @param arbol El árbol a guardar.
+     * @param ruta El archivo de destino.
+     * @param codificador El codificador de los datos.
+     * @throws IOException si falla la escritura.
+     */
+    public static <T> void guardar(ArbolJerarquicoTareas<T> arbol, Path ruta, CodificadorBinario<? super T> codificador)
+            throws IOException {
+        Objects.requireNonNull(arbol, "arbol");
+        Objects.requireNonNull(codificador, "codificador");
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        long nodos = 0;
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANO_BUFFER);
+            buffer.putInt(MARCA).putInt(VERSION).putLong(0); // El número de nodos se completa al final
+
+            // Camino desde la raíz hasta el nodo anterior, con el índice de cada nodo, para obtener el índice del padre
+            ArrayDeque<NodoArbolTarea<T>> camino = new ArrayDeque<>();
+            int[] indicesCamino = new int[16];
+            for (Iterator<NodoArbolTarea<T>> it = arbol.iteradorNodos(OrdenRecorrido.PRE_ORDEN); it.hasNext(); ) {
+                NodoArbolTarea<T> nodo = it.next();
+                while (!camino.isEmpty() && camino.peek() != nodo.getPadre()) {
+                    camino.pop();
+                }
+                int indicePadre = camino.isEmpty() ? -1 : indicesCamino[camino.size() - 1];
+                if (nodos > Integer.MAX_VALUE) {
+                    throw new IOException("El árbol tiene demasiados nodos para el formato de instantánea.");
+                }
+                if (camino.size() == indicesCamino.length) {
+                    indicesCamino = Arrays.copyOf(indicesCamino, camino.size() << 1);
+                }
+                indicesCamino[camino.size()] = (int) nodos;
+                camino.push(nodo);
+
+                T dato = nodo.getDato();
+                int tamano = Integer.BYTES + codificador.tamano(dato);
+                if (buffer.remaining() < tamano) {
+                    vaciar(canal, buffer);
+                    if (buffer.capacity() < tamano) {
+                        buffer = ByteBuffer.allocateDirect(tamano);
+                    }
+                }
+                buffer.putInt(indicePadre);
+                codificador.escribir(dato, buffer);
+                nodos++;
+            }
+            vaciar(canal, buffer);
+            ByteBuffer total = ByteBuffer.allocate(Long.BYTES).putLong(nodos).flip();
+            while (total.hasRemaining()) {
+                canal.write(total, Integer.BYTES * 2L + total.position());
+            }
+            canal.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.log(Level.INFO, "Instantánea de {0} nodos guardada en {1}.", new Object[]{nodos, ruta});
+    }
+
+    private static void vaciar(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Carga una instantánea en un árbol nuevo que obtiene los IDs con {@link com.umg.estructuras.arbol.Identificable}
+     * o el campo 'id' de los datos.
+     * @param ruta El archivo de la instantánea.
+     * @param codificador El codificador de los datos.
+     * @return El árbol cargado.
+     * @throws IOException si falla la lectura o el archivo no es una instantánea válida.
+     */
+    public static <T> ArbolJerarquicoTareas<T> cargar(Path ruta, CodificadorBinario<? extends T> codificador) throws IOException {
+        ArbolJerarquicoTareas<T> arbol = new ArbolJerarquicoTareas<>();
+        cargarEn(ruta, codificador, arbol);
+        return arbol;
+    }
+
+    /**
+     * Carga una instantánea en un árbol nuevo.
+     * @param ruta El archivo de la instantánea.
+     * @param codificador El codificador de los datos.
+     * @param extractorId Función que devuelve el ID de un dato.
+     * @return El árbol cargado.
+     * @throws IOException si falla la lectura o el archivo no es una instantánea válida.
+     */
+    public static <T> ArbolJerarquicoTareas<T> cargar(Path ruta, CodificadorBinario<? extends T> codificador,
+                                                      ToLongFunction<? super T> extractorId) throws IOException {
+        ArbolJerarquicoTareas<T> arbol = new ArbolJerarquicoTareas<>(extractorId);
+        cargarEn(ruta, codificador, arbol);
+        return arbol;
+    }
+
+    /**
+     * Reemplaza el contenido de un árbol por el de una instantánea. Si el archivo no es válido,
+     * el árbol no cambia.
+     * @param ruta El archivo de la instantánea.
+     * @param codificador El codificador de los datos.
+     * @param destino El árbol a reemplazar.
+     * @throws IOException si falla la lectura o el archivo no es una instantánea válida.
+     */
+    public static <T> void cargarEn(Path ruta, CodificadorBinario<? extends T> codificador, ArbolJerarquicoTareas<T> destino)
+            throws IOException {
+        Objects.requireNonNull(codificador, "codificador");
+        Objects.requireNonNull(destino, "destino");
+        NodoArbolTarea<T> raiz;
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long tamanoArchivo = canal.size();
+            if (tamanoArchivo > Integer.MAX_VALUE) {
+                throw new IOException("La instantánea supera los 2 GB que admite un único mapeo en memoria: " + ruta);
+            }
+            if (tamanoArchivo < TAMANO_CABECERA) {
+                throw new IOException("Archivo demasiado corto para ser una instantánea: " + ruta);
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanoArchivo);
+            if (buffer.getInt() != MARCA) {
+                throw new IOException("El archivo no es una instantánea de árbol: " + ruta);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Versión de instantánea no soportada: " + version);
+            }
+            long nodos = buffer.getLong();
+            if (nodos < 0 || nodos > tamanoArchivo / Integer.BYTES) {
+                throw new IOException("Número de nodos inválido en la instantánea: " + nodos);
+            }
+            raiz = leerNodos(buffer, (int) nodos, codificador);
+        }
+        destino.setRaiz(raiz);
+        LOGGER.log(Level.INFO, "Instantánea de {0} nodos cargada desde {1}.", new Object[]{destino.tamano(), ruta});
+    }
+
+    private static <T> NodoArbolTarea<T> leerNodos(ByteBuffer buffer, int nodos, CodificadorBinario<? extends T> codificador)
+            throws IOException {
+        @SuppressWarnings("unchecked")
+        NodoArbolTarea<T>[] porIndice = (NodoArbolTarea<T>[]) new NodoArbolTarea<?>[nodos];
+        try {
+            for (int i = 0; i < nodos; i++) {
+                int indicePadre = buffer.getInt();
+                NodoArbolTarea<T> nodo = new NodoArbolTarea<>(codificador.leer(buffer));
+                if (i == 0) {
+                    if (indicePadre != -1) {
+                        throw new IOException("Instantánea corrupta: la raíz tiene padre " + indicePadre);
+                    }
+                } else if (indicePadre < 0 || indicePadre >= i) {
+                    throw new IOException("Instantánea corrupta: el nodo " + i + " tiene un padre inválido (" + indicePadre + ")");
+                } else {
+                    porIndice[indicePadre].agregarHijo(nodo);
+                }
+                porIndice[i] = nodo;
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Instantánea truncada: se esperaban " + nodos + " nodos.", e);
+        } catch (RuntimeException e) {
+            // El codificador no pudo interpretar los bytes de un dato
+            throw new IOException("Instantánea corrupta", e);
+        }
+        if (buffer.hasRemaining()) {
+            throw new IOException("Instantánea corrupta: hay " + buffer.remaining() + " bytes después del último nodo.");
+        }
+        return nodos == 0 ? null : porIndice[0];
+    }
+}
@@ -0,0 +1,30 @@
+package com.umg.estructuras.pila;
+
+/**
+ * Acción reversible sobre un estado de tipo S, gestionada por GestorDeshacer.
+ * @param <S> Tipo del estado que modifica la acción.
+ */
+public interface Accion<S> {
+
+    /**
+     * Aplica la acción sobre el estado.
+     * @param estado El estado a modificar.
+     */
+    void aplicar(S estado);
+
+    /**
+     * Deshace el efecto de la acción sobre el estado.
+     * @param estado El estado a modificar.
+     */
+    void revertir(S estado);
+
+    /**
+     * Intenta combinar esta acción con la siguiente en una sola (por ejemplo, varias pulsaciones
+     * de teclado consecutivas). Por defecto las acciones no se combinan.
+     * @param siguiente La acción ejecutada inmediatamente después de esta.
+     * @return Una acción equivalente a aplicar esta y luego la siguiente, o null si no se pueden combinar.
+     */
+    default Accion<S> fusionar(Accion<S> siguiente) {
+        return null;
+    }
+}
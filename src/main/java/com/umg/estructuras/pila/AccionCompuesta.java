@@ -0,0 +1,35 @@
+package com.umg.estructuras.pila;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Grupo de acciones que se aplican y revierten como una sola (una transacción).
+ * @param <S> Tipo del estado que modifican las acciones.
+ */
+public class AccionCompuesta<S> implements Accion<S> {
+    private final List<Accion<S>> acciones;
+
+    public AccionCompuesta(List<Accion<S>> acciones) {
+        this.acciones = new ArrayList<>(acciones);
+    }
+
+    public List<Accion<S>> getAcciones() {
+        return Collections.unmodifiableList(acciones);
+    }
+
+    @Override
+    public void aplicar(S estado) {
+        for (Accion<S> accion : acciones) {
+            accion.aplicar(estado);
+        }
+    }
+
+    @Override
+    public void revertir(S estado) {
+        for (int i = acciones.size() - 1; i >= 0; i--) {
+            acciones.get(i).revertir(estado);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.umg.estructuras.pila;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Motor de deshacer/rehacer construido sobre dos PilaAcciones.
+ * <ul>
+ *     <li>Las acciones ejecutadas entre iniciarTransaccion y confirmarTransaccion se guardan como una sola.</li>
+ *     <li>Una acción nueva se combina con la anterior si {@link Accion#fusionar} lo permite.</li>
+ *     <li>Cada cierto número de acciones se guarda una copia del estado (punto de control). Para saltar
+ *     N pasos se elige lo más barato: revertir N acciones, o restaurar el punto de control más cercano
+ *     al destino y volver a aplicar solo las acciones que faltan desde él.</li>
+ * </ul>
+ * El presupuesto de memoria se fija con el máximo de acciones que se pueden deshacer (las más antiguas se
+ * descartan) y el máximo de puntos de control que se conservan.
+ * Al restaurar un punto de control el estado se reemplaza por una copia, así que el estado actual
+ * debe obtenerse siempre con getEstado().
+ * @param <S> Tipo del estado gestionado.
+ */
+public class GestorDeshacer<S> {
+    private static final Logger LOGGER = Logger.getLogger(GestorDeshacer.class.getName());
+
+    /**
+     * Copia del estado tras aplicar las primeras {@code posicion} acciones del historial.
+     */
+    private static final class PuntoControl<S> {
+        final long posicion;
+        final S estado;
+
+        PuntoControl(long posicion, S estado) {
+            this.posicion = posicion;
+            this.estado = estado;
+        }
+    }
+
+    private S estado;
+    private final UnaryOperator<S> copiar;
+    private final PilaAcciones<Accion<S>> pilaDeshacer;
+    private final PilaAcciones<Accion<S>> pilaRehacer;
+    private final int intervaloPuntosControl;
+    private final int limitePuntosControl;
+    private final List<PuntoControl<S>> puntosControl = new ArrayList<>(); // Ordenados por posición
+
+    // Número de acciones aplicadas desde el inicio del historial (incluidas las ya descartadas)
+    private long posicion;
+    private List<Accion<S>> transaccion;
+    private int profundidadTransaccion;
+
+    /**
+     * Crea el gestor.
+     * @param estadoInicial El estado inicial.
+     * @param copiar Función que devuelve una copia independiente de un estado.
+     * @param limiteAcciones Máximo de acciones que se pueden deshacer.
+     * @param intervaloPuntosControl Cada cuántas acciones se guarda un punto de control.
+     * @param limitePuntosControl Máximo de puntos de control conservados (se descartan los más antiguos).
+     */
+    public GestorDeshacer(S estadoInicial, UnaryOperator<S> copiar, int limiteAcciones,
+                          int intervaloPuntosControl, int limitePuntosControl) {
+        if (intervaloPuntosControl <= 0 || limitePuntosControl <= 0) {
+            throw new IllegalArgumentException("El intervalo y el límite de puntos de control deben ser positivos.");
+        }
+        this.estado = Objects.requireNonNull(estadoInicial, "estadoInicial");
+        this.copiar = Objects.requireNonNull(copiar, "copiar");
+        this.pilaDeshacer = new PilaAcciones<>(limiteAcciones);
+        this.pilaRehacer = new PilaAcciones<>();
+        this.intervaloPuntosControl = intervaloPuntosControl;
+        this.limitePuntosControl = limitePuntosControl;
+        this.posicion = 0;
+        puntosControl.add(new PuntoControl<>(0, copiar.apply(estadoInicial)));
+        LOGGER.log(Level.INFO, "GestorDeshacer creado (límite de acciones {0}, punto de control cada {1}).",
+                new Object[]{limiteAcciones, intervaloPuntosControl});
+    }
+
+    public S getEstado() {
+        return estado;
+    }
+
+    /**
+     * Aplica una acción al estado y la registra en el historial. Vacía el historial de rehacer.
+     * @param accion La acción a ejecutar.
+     */
+    public void ejecutar(Accion<S> accion) {
+        Objects.requireNonNull(accion, "accion");
+        accion.aplicar(estado);
+        if (transaccion != null) {
+            int ultima = transaccion.size() - 1;
+            Accion<S> fusionada = ultima >= 0 ? transaccion.get(ultima).fusionar(accion) : null;
+            if (fusionada != null) {
+                transaccion.set(ultima, fusionada);
+            } else {
+                transaccion.add(accion);
+            }
+            return;
+        }
+        registrar(accion);
+    }
+
+    /**
+     * Inicia una transacción; las transacciones pueden anidarse y solo la más externa se registra.
+     */
+    public void iniciarTransaccion() {
+        if (profundidadTransaccion++ == 0) {
+            transaccion = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Confirma la transacción actual. Al cerrar la más externa, sus acciones quedan registradas como una sola.
+     */
+    public void confirmarTransaccion() {
+        exigirTransaccion();
+        if (--profundidadTransaccion > 0) {
+            return;
+        }
+        List<Accion<S>> acciones = transaccion;
+        transaccion = null;
+        if (acciones.size() == 1) {
+            registrar(acciones.get(0));
+        } else if (!acciones.isEmpty()) {
+            registrar(new AccionCompuesta<>(acciones));
+        }
+    }
+
+    /**
+     * Cancela la transacción actual completa (incluidas las anidadas) revirtiendo sus acciones.
+     */
+    public void cancelarTransaccion() {
+        exigirTransaccion();
+        for (int i = transaccion.size() - 1; i >= 0; i--) {
+            transaccion.get(i).revertir(estado);
+        }
+        transaccion = null;
+        profundidadTransaccion = 0;
+    }
+
+    private void exigirTransaccion() {
+        if (transaccion == null) {
+            throw new IllegalStateException("No hay ninguna transacción en curso.");
+        }
+    }
+
+    private void exigirSinTransaccion() {
+        if (transaccion != null) {
+            throw new IllegalStateException("No se puede deshacer ni rehacer con una transacción en curso.");
+        }
+    }
+
+    private void registrar(Accion<S> accion) {
+        pilaRehacer.limpiar();
+        descartarPuntosControlPosterioresA(posicion);
+        // Solo se combina si no hay un punto de control guardado justo después de la acción anterior.
+        if (!pilaDeshacer.isEmpty()
+                && (puntosControl.isEmpty() || puntosControl.get(puntosControl.size() - 1).posicion < posicion)) {
+            Accion<S> fusionada = pilaDeshacer.peek().fusionar(accion);
+            if (fusionada != null) {
+                pilaDeshacer.pop();
+                pilaDeshacer.push(fusionada);
+                return;
+            }
+        }
+        apilarAplicada(accion);
+        if (posicion % intervaloPuntosControl == 0) {
+            puntosControl.add(new PuntoControl<>(posicion, copiar.apply(estado)));
+            if (puntosControl.size() > limitePuntosControl) {
+                puntosControl.remove(0);
+            }
+        }
+    }
+
+    /**
+     * Apila una acción ya aplicada y descarta los puntos de control que dejaron de ser alcanzables
+     * porque la pila acotada descartó las acciones que los seguían.
+     */
+    private void apilarAplicada(Accion<S> accion) {
+        pilaDeshacer.push(accion);
+        posicion++;
+        long primeraAlcanzable = posicion - pilaDeshacer.size();
+        while (!puntosControl.isEmpty() && puntosControl.get(0).posicion < primeraAlcanzable) {
+            puntosControl.remove(0);
+        }
+    }
+
+    public boolean puedeDeshacer() {
+        return !pilaDeshacer.isEmpty();
+    }
+
+    public boolean puedeRehacer() {
+        return !pilaRehacer.isEmpty();
+    }
+
+    public boolean deshacer() {
+        return deshacer(1) == 1;
+    }
+
+    public boolean rehacer() {
+        return rehacer(1) == 1;
+    }
+
+    /**
+     * Deshace hasta {@code pasos} acciones. Aplica o revierte como mucho
+     * min(pasos, distancia desde el punto de control más cercano) acciones.
+     * @param pasos Número de acciones a deshacer.
+     * @return El número de acciones deshechas.
+     */
+    public int deshacer(int pasos) {
+        exigirSinTransaccion();
+        pasos = Math.min(Math.max(pasos, 0), pilaDeshacer.size());
+        if (pasos == 0) {
+            return 0;
+        }
+        long objetivo = posicion - pasos;
+        long primeraAlcanzable = posicion - pilaDeshacer.size();
+        PuntoControl<S> punto = puntoControlHasta(objetivo);
+        if (punto != null && punto.posicion >= primeraAlcanzable && objetivo - punto.posicion < pasos) {
+            estado = copiar.apply(punto.estado);
+            // La acción de la posición k está a profundidad (posicion - k) en la pila de deshacer
+            for (long k = punto.posicion + 1; k <= objetivo; k++) {
+                pilaDeshacer.verDesdeCima((int) (posicion - k)).aplicar(estado);
+            }
+            for (int i = 0; i < pasos; i++) {
+                pilaRehacer.push(pilaDeshacer.pop());
+            }
+        } else {
+            for (int i = 0; i < pasos; i++) {
+                Accion<S> accion = pilaDeshacer.pop();
+                accion.revertir(estado);
+                pilaRehacer.push(accion);
+            }
+        }
+        posicion = objetivo;
+        return pasos;
+    }
+
+    /**
+     * Rehace hasta {@code pasos} acciones, restaurando un punto de control intermedio si es más barato.
+     * @param pasos Número de acciones a rehacer.
+     * @return El número de acciones rehechas.
+     */
+    public int rehacer(int pasos) {
+        exigirSinTransaccion();
+        pasos = Math.min(Math.max(pasos, 0), pilaRehacer.size());
+        if (pasos == 0) {
+            return 0;
+        }
+        long objetivo = posicion + pasos;
+        PuntoControl<S> punto = puntoControlHasta(objetivo);
+        if (punto != null && punto.posicion > posicion && objetivo - punto.posicion < pasos) {
+            estado = copiar.apply(punto.estado);
+            // La acción de la posición k está a profundidad (k - posicion - 1) en la pila de rehacer
+            for (long k = punto.posicion + 1; k <= objetivo; k++) {
+                pilaRehacer.verDesdeCima((int) (k - posicion - 1)).aplicar(estado);
+            }
+            for (int i = 0; i < pasos; i++) {
+                apilarAplicada(pilaRehacer.pop());
+            }
+        } else {
+            for (int i = 0; i < pasos; i++) {
+                Accion<S> accion = pilaRehacer.pop();
+                accion.aplicar(estado);
+                apilarAplicada(accion);
+            }
+        }
+        return pasos;
+    }
+
+    /**
+     * Busca el punto de control de mayor posición que no supera la indicada (búsqueda binaria).
+     */
+    private PuntoControl<S> puntoControlHasta(long objetivo) {
+        int bajo = 0;
+        int alto = puntosControl.size() - 1;
+        PuntoControl<S> encontrado = null;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            PuntoControl<S> punto = puntosControl.get(medio);
+            if (punto.posicion <= objetivo) {
+                encontrado = punto;
+                bajo = medio + 1;
+            } else {
+                alto = medio - 1;
+            }
+        }
+        return encontrado;
+    }
+
+    private void descartarPuntosControlPosterioresA(long limite) {
+        while (!puntosControl.isEmpty() && puntosControl.get(puntosControl.size() - 1).posicion > limite) {
+            puntosControl.remove(puntosControl.size() - 1);
+        }
+    }
+
+    public int accionesParaDeshacer() {
+        return pilaDeshacer.size();
+    }
+
+    public int accionesParaRehacer() {
+        return pilaRehacer.size();
+    }
+
+    public int puntosDeControl() {
+        return puntosControl.size();
+    }
+}
@@ -1,11 +1,21 @@
 package com.umg.estructuras.pila;
 
+/**
+ * Nodo inmutable de una pila enlazada. Como no cambia tras crearse, varias versiones de una
+ * pila pueden compartirlo y leerlo desde distintos hilos sin sincronización.
+ */
 public class NodoPila<T> {
-    public T dato;
-    public NodoPila<T> siguiente;
+    public final T dato;
+    public final NodoPila<T> siguiente;
+    public final int tamano; // Número de nodos desde este hasta el fondo de la pila
 
     public NodoPila(T dato) {
+        this(dato, null); // Un nodo sin siguiente es el fondo de la pila
+    }
+
+    public NodoPila(T dato, NodoPila<T> siguiente) {
         this.dato = dato;
-        this.siguiente = null; // Al crear un nuevo nodo, inicialmente no apunta a nada
+        this.siguiente = siguiente;
+        this.tamano = siguiente == null ? 1 : siguiente.tamano + 1;
     }
-}
\ No newline at end of file
+}
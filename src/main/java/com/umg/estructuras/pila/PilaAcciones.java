@@ -1,65 +1,213 @@
 package com.umg.estructuras.pila;
 
+import com.umg.estructuras.metricas.MetricasEstructura;
+
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Pila de acciones respaldada por un arreglo circular.
+ * size es O(1) y push no crea nodos. Si se indica una capacidad máxima, al llenarse la pila
+ * cada push descarta la acción más antigua, de modo que la memoria del historial queda acotada.
+ */
 public class PilaAcciones<T> {
     private static final Logger LOGGER = Logger.getLogger(PilaAcciones.class.getName());
-    private NodoPila<T> cima;
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final Object[] VACIO = {};
+
+    /**
+     * Operaciones que cuentan las métricas de la pila.
+     */
+    public enum Operacion { PUSH, POP, PEEK }
+
+    private Object[] elementos;
+    private int base;    // Posición del elemento más antiguo
+    private int tamano;
+    private final int capacidadMaxima;
+    private long descartados;
+    private MetricasEstructura<Operacion> metricas; // null si las métricas están deshabilitadas
 
+    /**
+     * Crea una pila sin límite de capacidad.
+     */
     public PilaAcciones() {
-        this.cima = null;
+        this.elementos = VACIO;
+        this.capacidadMaxima = Integer.MAX_VALUE;
         LOGGER.log(Level.INFO, "Pila de acciones creada.");
     }
 
+    /**
+     * Crea una pila acotada: al superar la capacidad se descarta la acción más antigua.
+     * @param capacidadMaxima Número máximo de acciones que conserva la pila.
+     */
+    public PilaAcciones(int capacidadMaxima) {
+        if (capacidadMaxima <= 0) {
+            throw new IllegalArgumentException("La capacidad máxima debe ser positiva: " + capacidadMaxima);
+        }
+        this.elementos = VACIO;
+        this.capacidadMaxima = capacidadMaxima;
+        LOGGER.log(Level.INFO, "Pila de acciones creada con capacidad máxima {0}.", capacidadMaxima);
+    }
+
+    private int posicion(int desdeBase) {
+        int i = base + desdeBase;
+        return i >= elementos.length ? i - elementos.length : i;
+    }
+
     public void push(T dato) {
-        LOGGER.log(Level.INFO, "Intentando hacer push del dato: {0}", dato);
-        NodoPila<T> nuevoNodo = new NodoPila<>(dato);
-        nuevoNodo.siguiente = cima;
-        cima = nuevoNodo;
-        LOGGER.log(Level.INFO, "Push exitoso. Nueva cima: {0}", cima.dato);
+        if (metricas != null) {
+            metricas.contar(Operacion.PUSH);
+        }
+        if (tamano == elementos.length) {
+            if (tamano == capacidadMaxima) {
+                // Pila llena: la nueva cima ocupa el lugar de la acción más antigua
+                elementos[base] = dato;
+                base = posicion(1);
+                descartados++;
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(Level.FINE, "Pila llena; se descartó la acción más antigua. Nueva cima: {0}", dato);
+                }
+                return;
+            }
+            crecer();
+        }
+        elementos[posicion(tamano)] = dato;
+        tamano++;
+        if (metricas != null) {
+            metricas.observarTamano(tamano);
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Push exitoso. Nueva cima: {0}", dato);
+        }
     }
 
+    @SuppressWarnings("unchecked")
     public T pop() {
-        LOGGER.log(Level.INFO, "Intentando hacer pop.");
-        if (isEmpty()) {
-            LOGGER.log(Level.WARNING, "La pila está vacía, no se puede hacer pop.");
-            System.out.println("La pila está vacía, no se puede hacer pop.");
+        if (metricas != null) {
+            metricas.contar(Operacion.POP);
+        }
+        if (tamano == 0) {
+            LOGGER.log(Level.FINE, "La pila está vacía, no se puede hacer pop.");
             return null;
         }
-        T datoCima = cima.dato;
-        cima = cima.siguiente;
-        LOGGER.log(Level.INFO, "Pop exitoso. Dato eliminado: {0}. Nueva cima: {1}", new Object[]{datoCima, cima != null ? cima.dato : null});
+        int cima = posicion(--tamano);
+        T datoCima = (T) elementos[cima];
+        elementos[cima] = null; // Libera la referencia para el recolector de basura
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.log(Level.FINE, "Pop exitoso. Dato eliminado: {0}. Nueva cima: {1}", new Object[]{datoCima, peekSinAviso()});
+        }
         return datoCima;
     }
 
     public T peek() {
-        LOGGER.log(Level.INFO, "Intentando ver la cima (peek).");
-        if (isEmpty()) {
-            LOGGER.log(Level.WARNING, "La pila está vacía, no se puede ver la cima.");
-            System.out.println("La pila está vacía, no se puede ver la cima.");
+        if (metricas != null) {
+            metricas.contar(Operacion.PEEK);
+        }
+        if (tamano == 0) {
+            LOGGER.log(Level.FINE, "La pila está vacía, no se puede ver la cima.");
             return null;
         }
-        LOGGER.log(Level.INFO, "Peek exitoso. Cima: {0}", cima.dato);
-        return cima.dato;
+        return peekSinAviso();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T peekSinAviso() {
+        return tamano == 0 ? null : (T) elementos[posicion(tamano - 1)];
+    }
+
+    /**
+     * Devuelve la acción que está a cierta profundidad bajo la cima, sin extraerla. O(1).
+     * @param profundidad 0 para la cima, 1 para la siguiente, etc.
+     * @return La acción en esa profundidad.
+     * @throws IndexOutOfBoundsException si la profundidad no es menor que el tamaño de la pila.
+     */
+    @SuppressWarnings("unchecked")
+    public T verDesdeCima(int profundidad) {
+        if (profundidad < 0 || profundidad >= tamano) {
+            throw new IndexOutOfBoundsException("Profundidad " + profundidad + " fuera de rango para una pila de tamaño " + tamano);
+        }
+        return (T) elementos[posicion(tamano - 1 - profundidad)];
     }
 
     public boolean isEmpty() {
-        LOGGER.log(Level.FINE, "Verificando si la pila está vacía.");
-        boolean resultado = cima == null;
-        LOGGER.log(Level.FINE, "La pila está vacía: {0}", resultado);
-        return resultado;
+        return tamano == 0;
     }
 
     public int size() {
-        LOGGER.log(Level.FINE, "Calculando el tamaño de la pila.");
-        int contador = 0;
-        NodoPila<T> actual = cima;
-        while (actual != null) {
-            contador++;
-            actual = actual.siguiente;
+        return tamano;
+    }
+
+    /**
+     * Devuelve la capacidad máxima de la pila.
+     * @return La capacidad máxima, o Integer.MAX_VALUE si la pila no está acotada.
+     */
+    public int getCapacidadMaxima() {
+        return capacidadMaxima;
+    }
+
+    /**
+     * Devuelve cuántas acciones antiguas se han descartado por superar la capacidad máxima.
+     * @return El número de acciones descartadas.
+     */
+    public long getDescartados() {
+        return descartados;
+    }
+
+    /**
+     * Vacía la pila, conservando el arreglo reservado. O(tamaño), no O(capacidad).
+     */
+    public void limpiar() {
+        int hastaElFinal = Math.min(tamano, elementos.length - base);
+        Arrays.fill(elementos, base, base + hastaElFinal, null);
+        Arrays.fill(elementos, 0, tamano - hastaElFinal, null);
+        base = 0;
+        tamano = 0;
+    }
+
+    /**
+     * Habilita las métricas de la pila: llamadas por operación y tamaño máximo.
+     * @param nombre Nombre con que se identifican las métricas, por ejemplo en JMX.
+     * @return Las métricas, para consultarlas o publicarlas con registrarJmx().
+     */
+    public MetricasEstructura<Operacion> habilitarMetricas(String nombre) {
+        MetricasEstructura<Operacion> nuevas = new MetricasEstructura<>(nombre, Operacion.class, this::size);
+        nuevas.observarTamano(tamano);
+        metricas = nuevas;
+        return nuevas;
+    }
+
+    /**
+     * Deshabilita las métricas y las retira de JMX si estaban publicadas.
+     */
+    public void deshabilitarMetricas() {
+        if (metricas != null) {
+            metricas.retirarJmx();
+        }
+        metricas = null;
+    }
+
+    /**
+     * @return Las métricas de la pila, o null si están deshabilitadas.
+     */
+    public MetricasEstructura<Operacion> getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Duplica el arreglo (sin superar la capacidad máxima), dejando la acción más antigua en la posición 0.
+     */
+    private void crecer() {
+        int nuevaCapacidad = (int) Math.min(capacidadMaxima,
+                Math.min(Integer.MAX_VALUE - 8, Math.max(CAPACIDAD_INICIAL, (long) elementos.length << 1)));
+        if (nuevaCapacidad <= elementos.length) {
+            throw new IllegalStateException("La pila alcanzó el tamaño máximo de arreglo.");
         }
-        LOGGER.log(Level.FINE, "Tamaño de la pila: {0}", contador);
-        return contador;
+        Object[] nuevos = new Object[nuevaCapacidad];
+        int hastaElFinal = Math.min(tamano, elementos.length - base);
+        System.arraycopy(elementos, base, nuevos, 0, hastaElFinal);
+        System.arraycopy(elementos, 0, nuevos, hastaElFinal, tamano - hastaElFinal);
+        elementos = nuevos;
+        base = 0;
     }
-}
\ No newline at end of file
+}
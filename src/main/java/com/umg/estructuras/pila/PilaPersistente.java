@@ -0,0 +1,109 @@
+package com.umg.estructuras.pila;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pila inmutable con estructura compartida. push y pop no modifican la pila: devuelven una nueva
+ * versión que comparte sus nodos con la anterior, en O(1) y sin copiar el contenido.
+ * Por eso una versión sirve como instantánea: se puede pasar a otro hilo (autoguardado, auditoría)
+ * y leerse sin bloqueos mientras se siguen creando versiones nuevas. Para compartir la versión
+ * actual basta con publicarla en un campo volatile o un AtomicReference.
+ * @param <T> Tipo de los elementos.
+ */
+public final class PilaPersistente<T> implements Iterable<T> {
+    private static final Logger LOGGER = Logger.getLogger(PilaPersistente.class.getName());
+    private static final PilaPersistente<?> VACIA = new PilaPersistente<>(null);
+
+    private final NodoPila<T> cima;
+
+    private PilaPersistente(NodoPila<T> cima) {
+        this.cima = cima;
+    }
+
+    /**
+     * Devuelve la pila vacía (una única instancia compartida).
+     * @return La pila vacía.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PilaPersistente<T> vacia() {
+        return (PilaPersistente<T>) VACIA;
+    }
+
+    /**
+     * Devuelve una nueva versión con el dato en la cima. Esta versión no cambia. O(1).
+     * @param dato El dato a apilar.
+     * @return La nueva versión de la pila.
+     */
+    public PilaPersistente<T> push(T dato) {
+        return new PilaPersistente<>(new NodoPila<>(dato, cima));
+    }
+
+    /**
+     * Devuelve la versión sin la cima. Esta versión no cambia. O(1).
+     * @return La pila sin su cima, o la misma pila si está vacía.
+     */
+    public PilaPersistente<T> pop() {
+        if (cima == null) {
+            LOGGER.log(Level.FINE, "La pila está vacía, no se puede hacer pop.");
+            return this;
+        }
+        return cima.siguiente == null ? vacia() : new PilaPersistente<>(cima.siguiente);
+    }
+
+    public T peek() {
+        if (cima == null) {
+            LOGGER.log(Level.FINE, "La pila está vacía, no se puede ver la cima.");
+            return null;
+        }
+        return cima.dato;
+    }
+
+    public boolean isEmpty() {
+        return cima == null;
+    }
+
+    /**
+     * Devuelve el número de elementos en O(1); cada nodo guarda su profundidad.
+     * @return El tamaño de la pila.
+     */
+    public int size() {
+        return cima == null ? 0 : cima.tamano;
+    }
+
+    /**
+     * Recorre la pila desde la cima hasta el fondo. Como la versión es inmutable,
+     * el recorrido nunca falla aunque otro hilo siga apilando sobre ella.
+     * @return El iterador.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private NodoPila<T> siguiente = cima;
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public T next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                T dato = siguiente.dato;
+                siguiente = siguiente.siguiente;
+                return dato;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+}
@@ -0,0 +1,169 @@
+package com.umg.estructuras.arbol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ArbolJerarquicoCompactoTest {
+
+    record Tarea(long id) {
+    }
+
+    private static List<Tarea> recorrer(ArbolJerarquico<Tarea> arbol, OrdenRecorrido orden) {
+        List<Tarea> tareas = new ArrayList<>();
+        Iterator<Tarea> iterador = arbol.iteradorTareas(orden);
+        iterador.forEachRemaining(tareas::add);
+        return tareas;
+    }
+
+    /**
+     * Compara el árbol compacto con el árbol de nodos, que sirve de referencia.
+     */
+    private static void verificar(ArbolJerarquicoTareas<Tarea> esperado, ArbolJerarquicoCompacto<Tarea> arbol) {
+        assertEquals(esperado.tamano(), arbol.tamano());
+        for (OrdenRecorrido orden : OrdenRecorrido.values()) {
+            assertEquals(recorrer(esperado, orden), recorrer(arbol, orden), orden.name());
+        }
+        for (Tarea tarea : esperado.obtenerTareasDelArbol()) {
+            assertEquals(tarea, arbol.buscarTareaPorId(tarea.id()));
+            assertEquals(esperado.obtenerPadre(tarea.id()), arbol.obtenerPadre(tarea.id()), "padre de " + tarea.id());
+            assertEquals(esperado.obtenerHijos(tarea.id()), arbol.obtenerHijos(tarea.id()), "hijos de " + tarea.id());
+        }
+    }
+
+    private static ArbolJerarquicoCompacto<Tarea> arbolDe(int tareas) {
+        ArbolJerarquicoCompacto<Tarea> arbol = new ArbolJerarquicoCompacto<>(Tarea::id);
+        arbol.agregarTarea(new Tarea(0), null);
+        for (long id = 1; id < tareas; id++) {
+            arbol.agregarTarea(new Tarea(id), (id - 1) / 3); // Árbol ternario completo
+        }
+        return arbol;
+    }
+
+    @Test
+    void lasCasillasLiberadasSeReutilizan() {
+        ArbolJerarquicoCompacto<Tarea> arbol = arbolDe(20);
+        assertEquals(20, arbol.casillasUsadas());
+        assertTrue(arbol.eliminarNodoPorId(19L));
+        assertTrue(arbol.eliminarNodoPorId(4L)); // Con sus hijos 13, 14 y 15
+        assertEquals(15, arbol.tamano());
+        assertEquals(20, arbol.casillasUsadas());
+
+        for (long id = 100; id < 105; id++) {
+            arbol.agregarTarea(new Tarea(id), 1L);
+        }
+        assertEquals(20, arbol.casillasUsadas()); // Las cinco casillas libres
+        arbol.agregarTarea(new Tarea(105), 1L);
+        assertEquals(21, arbol.casillasUsadas());
+
+        assertNull(arbol.buscarTareaPorId(4L));
+        assertNull(arbol.buscarTareaPorId(13L));
+        assertEquals(List.of(new Tarea(5), new Tarea(6), new Tarea(100), new Tarea(101), new Tarea(102),
+                new Tarea(103), new Tarea(104), new Tarea(105)), arbol.obtenerHijos(1L));
+        assertEquals(new Tarea(1), arbol.obtenerPadre(104L));
+    }
+
+    @Test
+    void compactarConservaLaEstructuraYLosIds() {
+        ArbolJerarquicoCompacto<Tarea> arbol = arbolDe(40);
+        assertTrue(arbol.moverNodo(1L, 12L));
+        assertTrue(arbol.eliminarNodoPorId(4L));
+        assertTrue(arbol.moverNodo(30L, 0L));
+        assertEquals(40, arbol.casillasUsadas());
+        List<List<Tarea>> antes = new ArrayList<>();
+        for (OrdenRecorrido orden : OrdenRecorrido.values()) {
+            antes.add(recorrer(arbol, orden));
+        }
+        List<Tarea> tareas = arbol.obtenerTareasDelArbol();
+        List<Tarea> padres = new ArrayList<>();
+        List<List<Tarea>> hijos = new ArrayList<>();
+        for (Tarea tarea : tareas) {
+            padres.add(arbol.obtenerPadre(tarea.id()));
+            hijos.add(arbol.obtenerHijos(tarea.id()));
+        }
+
+        arbol.compactar();
+
+        assertEquals(arbol.tamano(), arbol.casillasUsadas());
+        for (OrdenRecorrido orden : OrdenRecorrido.values()) {
+            assertEquals(antes.get(orden.ordinal()), recorrer(arbol, orden), orden.name());
+        }
+        for (int i = 0; i < tareas.size(); i++) {
+            long id = tareas.get(i).id();
+            assertEquals(tareas.get(i), arbol.buscarTareaPorId(id));
+            assertEquals(padres.get(i), arbol.obtenerPadre(id));
+            assertEquals(hijos.get(i), arbol.obtenerHijos(id));
+        }
+        // Tras reubicar las casillas, los hermanos anteriores siguen siendo válidos para desenlazar
+        assertTrue(arbol.moverNodo(tareas.get(tareas.size() - 1).id(), 0L));
+        assertTrue(arbol.eliminarNodoPorId(hijos.get(0).get(0).id()));
+        assertEquals(arbol.tamano(), arbol.obtenerTareasDelArbol().size());
+    }
+
+    @Test
+    void seCompactaSolaCuandoLosHuecosSuperanALasTareas() {
+        ArbolJerarquicoCompacto<Tarea> arbol = arbolDe(40);
+        assertTrue(arbol.eliminarNodoPorId(1L)); // 13 tareas: 27 quedan
+        assertEquals(40, arbol.casillasUsadas());
+        assertTrue(arbol.eliminarNodoPorId(2L)); // 26 huecos, 14 tareas
+        assertEquals(14, arbol.tamano());
+        assertEquals(14, arbol.casillasUsadas());
+        assertEquals(List.of(new Tarea(3)), arbol.obtenerHijos(0L));
+        assertEquals(new Tarea(3), arbol.obtenerPadre(10L));
+    }
+
+    @Test
+    void moverYEliminarPrimerUltimoYHijoDelMedio() {
+        ArbolJerarquicoCompacto<Tarea> arbol = arbolDe(4);
+        assertTrue(arbol.moverNodo(2L, 1L)); // Hijo del medio
+        assertEquals(List.of(new Tarea(1), new Tarea(3)), arbol.obtenerHijos(0L));
+        assertTrue(arbol.moverNodo(1L, 3L)); // Primer hijo
+        assertEquals(List.of(new Tarea(3)), arbol.obtenerHijos(0L));
+        arbol.agregarTarea(new Tarea(4), 0L);
+        assertTrue(arbol.eliminarNodoPorId(4L)); // Último hijo
+        assertEquals(List.of(new Tarea(3)), arbol.obtenerHijos(0L));
+        arbol.agregarTarea(new Tarea(5), 0L);
+        assertEquals(List.of(new Tarea(3), new Tarea(5)), arbol.obtenerHijos(0L));
+        assertEquals(List.of(new Tarea(0), new Tarea(3), new Tarea(1), new Tarea(2), new Tarea(5)),
+                arbol.obtenerTareasDelArbol());
+        assertFalse(arbol.moverNodo(3L, 2L)); // Bajo su propio descendiente
+    }
+
+    @Test
+    void recorridosCoincidenConElArbolDeNodosTrasMoverYEliminar() {
+        Random aleatorio = new Random(19);
+        ArbolJerarquicoTareas<Tarea> esperado = new ArbolJerarquicoTareas<>(Tarea::id);
+        ArbolJerarquicoCompacto<Tarea> arbol = new ArbolJerarquicoCompacto<>(Tarea::id);
+        esperado.agregarTarea(new Tarea(0), null);
+        arbol.agregarTarea(new Tarea(0), null);
+        long siguienteId = 1;
+        for (int paso = 0; paso < 3000; paso++) {
+            List<Tarea> tareas = esperado.obtenerTareasDelArbol();
+            long unId = tareas.get(aleatorio.nextInt(tareas.size())).id();
+            long otroId = tareas.get(aleatorio.nextInt(tareas.size())).id();
+            int operacion = aleatorio.nextInt(10);
+            if (operacion < 5 || tareas.size() < 4) {
+                Tarea tarea = new Tarea(siguienteId++);
+                esperado.agregarTarea(tarea, unId);
+                arbol.agregarTarea(tarea, unId);
+            } else if (operacion < 8) {
+                assertEquals(esperado.moverNodo(unId, otroId), arbol.moverNodo(unId, otroId), "mover " + unId);
+            } else if (unId != 0) {
+                assertEquals(esperado.eliminarNodoPorId(unId), arbol.eliminarNodoPorId(unId), "eliminar " + unId);
+            }
+            if (paso % 100 == 0) {
+                verificar(esperado, arbol);
+            }
+        }
+        verificar(esperado, arbol);
+        arbol.compactar();
+        verificar(esperado, arbol);
+    }
+}
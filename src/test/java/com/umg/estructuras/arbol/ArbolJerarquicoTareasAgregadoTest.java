@@ -0,0 +1,102 @@
+package com.umg.estructuras.arbol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ArbolJerarquicoTareasAgregadoTest {
+
+    record Tarea(long id, long esfuerzo) {
+    }
+
+    private static final Agregado<Tarea, Long> SUMA = Agregado.suma(Tarea::esfuerzo);
+
+    /** La misma suma sin restar, para recorrer el camino que recalcula cada ancestro. */
+    private static final Agregado<Tarea, Long> SUMA_SIN_INVERSO = new Agregado<>() {
+        @Override
+        public Long valor(Tarea dato) {
+            return dato.esfuerzo();
+        }
+
+        @Override
+        public Long combinar(Long a, Long b) {
+            return a + b;
+        }
+    };
+
+    private static ArbolJerarquicoTareas<Tarea> cadena() {
+        ArbolJerarquicoTareas<Tarea> arbol = new ArbolJerarquicoTareas<>(Tarea::id);
+        arbol.agregarTarea(new Tarea(1, 1), null);
+        arbol.agregarTarea(new Tarea(2, 10), 1L);
+        arbol.agregarTarea(new Tarea(3, 100), 2L);
+        arbol.registrarAgregado(SUMA);
+        arbol.registrarAgregado(SUMA_SIN_INVERSO);
+        return arbol;
+    }
+
+    private static long recalcular(NodoArbolTarea<Tarea> nodo) {
+        long total = nodo.getDato().esfuerzo();
+        for (NodoArbolTarea<Tarea> hijo : nodo.getHijos()) {
+            total += recalcular(hijo);
+        }
+        return total;
+    }
+
+    private static void verificar(ArbolJerarquicoTareas<Tarea> arbol) {
+        arbol.nodos(OrdenRecorrido.PRE_ORDEN).forEach(nodo -> {
+            long id = nodo.getDato().id();
+            long esperado = recalcular(nodo);
+            assertEquals(esperado, arbol.obtenerAgregado(id, SUMA), "suma con inverso en " + id);
+            assertEquals(esperado, arbol.obtenerAgregado(id, SUMA_SIN_INVERSO), "suma sin inverso en " + id);
+        });
+    }
+
+    @Test
+    void moverHaciaElAbueloNoCuentaDosVecesAlNodo() {
+        ArbolJerarquicoTareas<Tarea> arbol = cadena();
+        assertTrue(arbol.moverNodo(3L, 1L));
+        assertEquals(111L, arbol.obtenerAgregado(1L, SUMA_SIN_INVERSO));
+        assertEquals(111L, arbol.obtenerAgregado(1L, SUMA));
+        assertEquals(10L, arbol.obtenerAgregado(2L, SUMA_SIN_INVERSO));
+        verificar(arbol);
+    }
+
+    @Test
+    void moverHaciaAbajoYALosLados() {
+        ArbolJerarquicoTareas<Tarea> arbol = cadena();
+        arbol.agregarTarea(new Tarea(4, 1000), 1L);
+        assertTrue(arbol.moverNodo(4L, 3L)); // Hacia abajo
+        verificar(arbol);
+        assertTrue(arbol.moverNodo(3L, 1L)); // Hacia arriba, con su subárbol
+        verificar(arbol);
+        assertTrue(arbol.moverNodo(4L, 2L)); // A un primo
+        verificar(arbol);
+        assertEquals(1111L, arbol.obtenerAgregado(1L, SUMA_SIN_INVERSO));
+    }
+
+    @Test
+    void movimientosAleatoriosCoincidenConElRecalculo() {
+        Random aleatorio = new Random(42);
+        ArbolJerarquicoTareas<Tarea> arbol = new ArbolJerarquicoTareas<>(Tarea::id);
+        int n = 200;
+        arbol.agregarTarea(new Tarea(0, 1), null);
+        for (int i = 1; i < n; i++) {
+            arbol.agregarTarea(new Tarea(i, aleatorio.nextInt(1000)), (long) aleatorio.nextInt(i));
+        }
+        arbol.registrarAgregado(SUMA);
+        arbol.registrarAgregado(SUMA_SIN_INVERSO);
+        for (int paso = 0; paso < 2000; paso++) {
+            long nodo = 1 + aleatorio.nextInt(n - 1);
+            long padre = aleatorio.nextInt(n);
+            if (nodo != padre && !arbol.esDescendiente(padre, nodo)) {
+                assertTrue(arbol.moverNodo(nodo, padre));
+            }
+            if (paso % 50 == 0) {
+                verificar(arbol);
+            }
+        }
+        verificar(arbol);
+    }
+}
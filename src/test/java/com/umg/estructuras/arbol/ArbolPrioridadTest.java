@@ -0,0 +1,147 @@
+package com.umg.estructuras.arbol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class ArbolPrioridadTest {
+
+    record Tarea(long id) {
+    }
+
+    record Entrada(long id, long prioridad) {
+    }
+
+    private static long prioridadAleatoria(Random aleatorio) {
+        return switch (aleatorio.nextInt(20)) {
+            case 0 -> Long.MIN_VALUE;
+            case 1 -> Long.MAX_VALUE;
+            case 2 -> aleatorio.nextLong();
+            default -> aleatorio.nextInt(50) - 25; // Muchos empates
+        };
+    }
+
+    /**
+     * Aplica operaciones aleatorias al montículo y a una PriorityQueue de referencia; como el orden
+     * entre prioridades iguales no está definido, se compara la prioridad de cada elemento extraído.
+     */
+    private static void compararConPriorityQueue(int aridad, boolean esMaximo, long semilla) {
+        Random aleatorio = new Random(semilla);
+        ArbolPrioridad<Tarea> arbol = new ArbolPrioridad<>(aridad, esMaximo, Tarea::id);
+        Comparator<Entrada> orden = Comparator.comparingLong(Entrada::prioridad);
+        PriorityQueue<Entrada> referencia = new PriorityQueue<>(esMaximo ? orden.reversed() : orden);
+        Map<Long, Entrada> entradas = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        long siguienteId = 1;
+
+        for (int paso = 0; paso < 20_000; paso++) {
+            int operacion = aleatorio.nextInt(10);
+            if (operacion < 4 || ids.isEmpty()) {
+                long id = siguienteId++;
+                Entrada entrada = new Entrada(id, prioridadAleatoria(aleatorio));
+                NodoArbol<Tarea> nodo = arbol.insertar(new Tarea(id), entrada.prioridad());
+                assertEquals(entrada.prioridad(), nodo.getPrioridad());
+                referencia.add(entrada);
+                entradas.put(id, entrada);
+                ids.add(id);
+            } else if (operacion < 7) {
+                // Aumentar o disminuir la clave
+                long id = ids.get(aleatorio.nextInt(ids.size()));
+                Entrada nueva = new Entrada(id, prioridadAleatoria(aleatorio));
+                assertTrue(arbol.cambiarPrioridad(id, nueva.prioridad()));
+                referencia.remove(entradas.put(id, nueva));
+                referencia.add(nueva);
+            } else if (operacion < 8) {
+                // Eliminar por ID un elemento cualquiera
+                int posicion = aleatorio.nextInt(ids.size());
+                long id = ids.get(posicion);
+                NodoArbol<Tarea> nodo = arbol.buscarPorId(id);
+                assertEquals(new Tarea(id), arbol.eliminar(id));
+                assertEquals(-1, nodo.getPosicion());
+                assertFalse(arbol.contiene(id));
+                assertNull(arbol.eliminar(id));
+                referencia.remove(entradas.remove(id));
+                ids.set(posicion, ids.get(ids.size() - 1));
+                ids.remove(ids.size() - 1);
+            } else {
+                long esperada = referencia.peek().prioridad();
+                assertEquals(esperada, arbol.peekNodo().getPrioridad());
+                Tarea extraida = esMaximo ? arbol.extraerMax() : arbol.extraerMin();
+                Entrada entrada = entradas.remove(extraida.id());
+                assertEquals(esperada, entrada.prioridad(), "paso " + paso);
+                referencia.remove(entrada);
+                ids.remove(Long.valueOf(extraida.id()));
+            }
+            assertEquals(referencia.size(), arbol.tamano());
+        }
+        while (!referencia.isEmpty()) {
+            Entrada entrada = entradas.remove(arbol.extraer().id());
+            assertEquals(referencia.poll().prioridad(), entrada.prioridad());
+        }
+        assertTrue(arbol.estaVacio());
+        assertNull(arbol.peek());
+    }
+
+    @Test
+    void monticuloBinarioDeMaximos() {
+        compararConPriorityQueue(2, true, 7);
+    }
+
+    @Test
+    void monticuloBinarioDeMinimos() {
+        compararConPriorityQueue(2, false, 8);
+    }
+
+    @Test
+    void monticuloCuaternarioDeMaximos() {
+        compararConPriorityQueue(4, true, 9);
+    }
+
+    @Test
+    void monticuloCuaternarioDeMinimos() {
+        compararConPriorityQueue(4, false, 10);
+    }
+
+    @Test
+    void lasPrioridadesExtremasNoDesbordanLaClaveComplementada() {
+        ArbolPrioridad<Tarea> minimos = new ArbolPrioridad<>(4, false, Tarea::id);
+        minimos.insertar(new Tarea(1), 0);
+        minimos.insertar(new Tarea(2), Long.MAX_VALUE);
+        minimos.insertar(new Tarea(3), Long.MIN_VALUE);
+        minimos.insertar(new Tarea(4), -1);
+        assertEquals(List.of(3L, 4L, 1L, 2L), List.of(minimos.extraerMin().id(), minimos.extraerMin().id(),
+                minimos.extraerMin().id(), minimos.extraerMin().id()));
+
+        ArbolPrioridad<Tarea> maximos = new ArbolPrioridad<>(2, true, Tarea::id);
+        maximos.insertar(new Tarea(1), Long.MIN_VALUE);
+        maximos.insertar(new Tarea(2), 5);
+        assertTrue(maximos.cambiarPrioridad(1, Long.MAX_VALUE)); // Aumentar la clave
+        assertEquals(new Tarea(1), maximos.peek());
+        assertTrue(maximos.cambiarPrioridad(1, Long.MIN_VALUE)); // Disminuirla
+        assertEquals(new Tarea(2), maximos.extraerMax());
+        assertFalse(maximos.cambiarPrioridad(99, 0));
+    }
+
+    @Test
+    void erroresDeUso() {
+        ArbolPrioridad<Tarea> maximos = new ArbolPrioridad<>(4, true, Tarea::id);
+        assertThrows(NoSuchElementException.class, maximos::extraer);
+        assertThrows(IllegalStateException.class, maximos::extraerMin);
+        maximos.insertar(new Tarea(1), 1);
+        assertThrows(IllegalArgumentException.class, () -> maximos.insertar(new Tarea(1), 2));
+        assertThrows(IllegalArgumentException.class, () -> new ArbolPrioridad<>(1, true, Tarea::id));
+        assertThrows(IllegalStateException.class, () -> new ArbolPrioridad<>(2, false, Tarea::id).extraerMax());
+    }
+}
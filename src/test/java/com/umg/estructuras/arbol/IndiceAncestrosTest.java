@@ -0,0 +1,118 @@
+package com.umg.estructuras.arbol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class IndiceAncestrosTest {
+
+    record Tarea(long id) {
+    }
+
+    /** Ancestros de una tarea, incluida ella misma, subiendo por los padres. */
+    private static Set<Tarea> ancestros(ArbolJerarquicoTareas<Tarea> arbol, Tarea tarea) {
+        Set<Tarea> ancestros = new HashSet<>();
+        for (Tarea actual = tarea; actual != null; actual = arbol.obtenerPadre(actual.id())) {
+            ancestros.add(actual);
+        }
+        return ancestros;
+    }
+
+    private static Tarea ancestroComunIngenuo(ArbolJerarquicoTareas<Tarea> arbol, Tarea a, Tarea b) {
+        Set<Tarea> deA = ancestros(arbol, a);
+        for (Tarea actual = b; actual != null; actual = arbol.obtenerPadre(actual.id())) {
+            if (deA.contains(actual)) {
+                return actual;
+            }
+        }
+        return null;
+    }
+
+    private static void consultar(ArbolJerarquicoTareas<Tarea> arbol, Random aleatorio, int consultas) {
+        List<Tarea> tareas = arbol.obtenerTareasDelArbol();
+        for (int i = 0; i < consultas; i++) {
+            Tarea a = tareas.get(aleatorio.nextInt(tareas.size()));
+            Tarea b = aleatorio.nextInt(4) == 0 ? arbol.obtenerPadre(a.id()) : tareas.get(aleatorio.nextInt(tareas.size()));
+            if (b == null) {
+                b = a;
+            }
+            boolean esperado = !a.equals(b) && ancestros(arbol, a).contains(b);
+            assertEquals(esperado, arbol.esDescendiente(a.id(), b.id()), a + " bajo " + b);
+            assertEquals(ancestroComunIngenuo(arbol, a, b), arbol.ancestroComun(a.id(), b.id()), a + " y " + b);
+        }
+    }
+
+    @Test
+    void coincideConElRecorridoDePadresTrasCadaModificacion() {
+        Random aleatorio = new Random(20);
+        ArbolJerarquicoTareas<Tarea> arbol = new ArbolJerarquicoTareas<>(Tarea::id);
+        arbol.agregarTarea(new Tarea(0), null);
+        long siguienteId = 1;
+        for (int i = 0; i < 300; i++) {
+            // Mezcla de ramas profundas y nodos anchos
+            long padre = aleatorio.nextBoolean() ? siguienteId - 1 : aleatorio.nextInt((int) siguienteId);
+            arbol.agregarTarea(new Tarea(siguienteId++), padre);
+        }
+        for (int ronda = 0; ronda < 300; ronda++) {
+            consultar(arbol, aleatorio, 20);
+            List<Tarea> tareas = arbol.obtenerTareasDelArbol();
+            Tarea tarea = tareas.get(aleatorio.nextInt(tareas.size()));
+            Tarea otra = tareas.get(aleatorio.nextInt(tareas.size()));
+            switch (aleatorio.nextInt(3)) {
+                case 0 -> arbol.agregarTarea(new Tarea(siguienteId++), tarea.id());
+                case 1 -> {
+                    boolean valido = !tarea.equals(otra) && !ancestros(arbol, otra).contains(tarea);
+                    assertEquals(valido, arbol.moverNodo(tarea.id(), otra.id()));
+                }
+                default -> {
+                    if (tarea.id() != 0 && tareas.size() > 50) {
+                        assertTrue(arbol.eliminarNodoPorId(tarea.id()));
+                        assertFalse(arbol.esDescendiente(tarea.id(), 0L));
+                    }
+                }
+            }
+        }
+        consultar(arbol, aleatorio, 500);
+    }
+
+    @Test
+    void unaCadenaProfundaNoDesbordaLaPila() {
+        int profundidad = 50_000;
+        ArbolJerarquicoTareas<Tarea> arbol = new ArbolJerarquicoTareas<>(Tarea::id);
+        arbol.agregarTarea(new Tarea(0), null);
+        for (long id = 1; id < profundidad; id++) {
+            arbol.agregarTarea(new Tarea(id), id - 1);
+        }
+        arbol.agregarTarea(new Tarea(-1), 100L);
+        assertTrue(arbol.esDescendiente((long) profundidad - 1, 0L));
+        assertTrue(arbol.esDescendiente((long) profundidad - 1, 100L));
+        assertFalse(arbol.esDescendiente(100L, (long) profundidad - 1));
+        assertEquals(new Tarea(100), arbol.ancestroComun(-1L, (long) profundidad - 1));
+
+        assertTrue(arbol.moverNodo(-1L, (long) profundidad - 1)); // Cambia la versión: se reconstruye
+        assertEquals(new Tarea(profundidad - 1), arbol.ancestroComun(-1L, (long) profundidad - 1));
+        assertTrue(arbol.esDescendiente(-1L, (long) profundidad - 1));
+    }
+
+    @Test
+    void idsInexistentesOMismaTarea() {
+        ArbolJerarquicoTareas<Tarea> arbol = new ArbolJerarquicoTareas<>(Tarea::id);
+        arbol.agregarTarea(new Tarea(1), null);
+        arbol.agregarTarea(new Tarea(2), 1L);
+        assertFalse(arbol.esDescendiente(2L, 2L));
+        assertEquals(new Tarea(2), arbol.ancestroComun(2L, 2L));
+        assertFalse(arbol.esDescendiente(2L, 99L));
+        assertFalse(arbol.esDescendiente(null, 1L));
+        assertNull(arbol.ancestroComun(2L, 99L));
+        assertTrue(arbol.eliminarNodoPorId(2L));
+        assertFalse(arbol.esDescendiente(2L, 1L));
+        assertNull(arbol.ancestroComun(2L, 1L));
+    }
+}
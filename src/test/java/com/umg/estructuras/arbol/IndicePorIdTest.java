@@ -0,0 +1,39 @@
+package com.umg.estructuras.arbol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.umg.estructuras.metricas.Histograma;
+import com.umg.estructuras.metricas.ResumenHistograma;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IndicePorIdTest {
+
+    @Test
+    void obtenerConSondeosDevuelveLoMismoYRegistraUnaVezPorBusqueda() {
+        Random aleatorio = new Random(24);
+        IndicePorId<Long> indice = new IndicePorId<>();
+        long[] claves = new long[5000];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = i == 0 ? 0 : aleatorio.nextLong();
+            indice.poner(claves[i], claves[i]);
+        }
+        for (int i = 0; i < claves.length; i += 2) {
+            indice.eliminar(claves[i]); // Deja grupos de sondeo desplazados hacia atrás
+        }
+        Histograma sondeos = new Histograma();
+        for (int i = 0; i < claves.length; i++) {
+            assertEquals(indice.obtener(claves[i]), indice.obtener(claves[i], sondeos));
+            if (i % 2 == 0) {
+                assertNull(indice.obtener(claves[i], sondeos));
+            }
+        }
+        assertNull(indice.obtener(-1L, sondeos));
+        ResumenHistograma resumen = sondeos.resumen();
+        assertEquals(claves.length + claves.length / 2 + 1, resumen.getConteo());
+        assertEquals(1, resumen.getMinimo());
+        assertTrue(resumen.getMaximo() < 64, "grupos de sondeo demasiado largos: " + resumen);
+    }
+}
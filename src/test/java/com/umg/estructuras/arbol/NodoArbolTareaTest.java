@@ -0,0 +1,74 @@
+package com.umg.estructuras.arbol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NodoArbolTareaTest {
+
+    private static List<String> datos(List<NodoArbolTarea<String>> nodos) {
+        List<String> datos = new ArrayList<>();
+        for (NodoArbolTarea<String> nodo : nodos) {
+            datos.add(nodo.getDato());
+        }
+        return datos;
+    }
+
+    private static List<String> recorrer(NodoArbolTarea<String> raiz, OrdenRecorrido orden) {
+        List<String> datos = new ArrayList<>();
+        for (Iterator<NodoArbolTarea<String>> it = RecorridoArbol.iterador(raiz, orden); it.hasNext(); ) {
+            datos.add(it.next().getDato());
+        }
+        return datos;
+    }
+
+    @Test
+    void quitarHijoConservaElOrdenDeLosHermanos() {
+        NodoArbolTarea<String> padre = new NodoArbolTarea<>("p");
+        List<NodoArbolTarea<String>> hijos = new ArrayList<>();
+        for (String dato : List.of("a", "b", "c", "d", "e")) {
+            NodoArbolTarea<String> hijo = new NodoArbolTarea<>(dato);
+            padre.agregarHijo(hijo);
+            hijos.add(hijo);
+        }
+        assertTrue(padre.quitarHijo(hijos.get(1)));
+        assertEquals(List.of("a", "c", "d", "e"), datos(padre.getHijos()));
+        hijos.get(0).desvincular();
+        hijos.get(4).desvincular();
+        assertEquals(List.of("c", "d"), datos(padre.getHijos()));
+        assertEquals("d", padre.getHijos().get(1).getDato());
+        assertNull(hijos.get(1).getPadre());
+        assertFalse(padre.quitarHijo(hijos.get(1)));
+
+        padre.agregarHijo(hijos.get(0));
+        assertEquals(List.of("c", "d", "a"), datos(padre.getHijos()));
+        assertEquals(3, padre.getHijos().size());
+    }
+
+    @Test
+    void recorridosSiguenElOrdenDeLosHijos() {
+        NodoArbolTarea<String> raiz = new NodoArbolTarea<>("r");
+        NodoArbolTarea<String> a = new NodoArbolTarea<>("a");
+        NodoArbolTarea<String> b = new NodoArbolTarea<>("b");
+        NodoArbolTarea<String> c = new NodoArbolTarea<>("c");
+        raiz.agregarHijo(a);
+        raiz.agregarHijo(b);
+        raiz.agregarHijo(c);
+        a.agregarHijo(new NodoArbolTarea<>("a1"));
+        a.agregarHijo(new NodoArbolTarea<>("a2"));
+        c.agregarHijo(new NodoArbolTarea<>("c1"));
+        raiz.quitarHijo(b);
+
+        assertEquals(List.of("r", "a", "a1", "a2", "c", "c1"), recorrer(raiz, OrdenRecorrido.PRE_ORDEN));
+        assertEquals(List.of("a1", "a2", "a", "c1", "c", "r"), recorrer(raiz, OrdenRecorrido.POST_ORDEN));
+        assertEquals(List.of("r", "a", "c", "a1", "a2", "c1"), recorrer(raiz, OrdenRecorrido.POR_NIVELES));
+        // Un subárbol se recorre sin salir de él aunque su raíz tenga hermanos
+        assertEquals(List.of("a1", "a2", "a"), recorrer(a, OrdenRecorrido.POST_ORDEN));
+    }
+}
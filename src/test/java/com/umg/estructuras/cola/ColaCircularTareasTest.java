@@ -0,0 +1,48 @@
+package com.umg.estructuras.cola;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import org.junit.jupiter.api.Test;
+
+class ColaCircularTareasTest {
+
+    @Test
+    void drainToExtraeEnOrdenAunqueLaColaDeLaVuelta() {
+        ColaCircularTareas<Integer> cola = new ColaCircularTareas<>(16);
+        for (int i = 0; i < 12; i++) {
+            cola.enqueue(i);
+        }
+        for (int i = 0; i < 10; i++) {
+            cola.dequeue();
+        }
+        for (int i = 12; i < 24; i++) { // Pasa por el final del arreglo
+            cola.enqueue(i);
+        }
+        List<Integer> destino = new ArrayList<>();
+        assertEquals(5, cola.drainTo(destino, 5));
+        assertEquals(List.of(10, 11, 12, 13, 14), destino);
+        assertEquals(9, cola.size());
+        assertEquals(15, cola.dequeue());
+    }
+
+    @Test
+    void unDestinoQueRechazaDejaLosRestantesEnLaCola() {
+        ColaCircularTareas<Integer> cola = new ColaCircularTareas<>();
+        for (int i = 0; i < 10; i++) {
+            cola.enqueue(i);
+        }
+        ArrayBlockingQueue<Integer> destino = new ArrayBlockingQueue<>(4);
+        assertThrows(IllegalStateException.class, () -> cola.drainTo(destino, 10));
+        assertEquals(List.of(0, 1, 2, 3), new ArrayList<>(destino));
+        assertEquals(6, cola.size());
+        for (int i = 4; i < 10; i++) {
+            assertEquals(i, cola.dequeue());
+        }
+        assertNull(cola.dequeue());
+    }
+}
@@ -0,0 +1,112 @@
+package com.umg.estructuras.cola;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(60)
+class ColaTareasConcurrenteTest {
+    private static final int PRODUCTORES = 4;
+    private static final int CONSUMIDORES = 4;
+    private static final int POR_PRODUCTOR = 50_000;
+    private static final long FIN = -1L;
+
+    /**
+     * Varios productores y consumidores a la vez: cada elemento se recibe exactamente una vez y cada
+     * consumidor recibe los elementos de un mismo productor en el orden en que se encolaron.
+     */
+    private static void verificarSinPerdidasNiDuplicados(boolean consumirConTake) throws InterruptedException {
+        ColaTareasConcurrente<Long> cola = new ColaTareasConcurrente<>();
+        AtomicIntegerArray recibidos = new AtomicIntegerArray(PRODUCTORES * POR_PRODUCTOR);
+        List<Throwable> errores = new ArrayList<>();
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Thread> hilos = new ArrayList<>();
+
+        for (int c = 0; c < CONSUMIDORES; c++) {
+            hilos.add(new Thread(() -> {
+                long[] ultimoPorProductor = new long[PRODUCTORES];
+                Arrays.fill(ultimoPorProductor, -1);
+                try {
+                    while (true) {
+                        Long dato = consumirConTake ? cola.take() : cola.poll();
+                        if (dato == null) {
+                            Thread.onSpinWait();
+                            continue;
+                        }
+                        if (dato == FIN) {
+                            return;
+                        }
+                        int productor = (int) (dato / POR_PRODUCTOR);
+                        if (dato <= ultimoPorProductor[productor]) {
+                            throw new AssertionError("Orden FIFO roto para el productor " + productor + ": " + dato);
+                        }
+                        ultimoPorProductor[productor] = dato;
+                        recibidos.incrementAndGet(dato.intValue());
+                    }
+                } catch (Throwable e) {
+                    synchronized (errores) {
+                        errores.add(e);
+                    }
+                }
+            }, "consumidor-" + c));
+        }
+        for (int p = 0; p < PRODUCTORES; p++) {
+            long base = (long) p * POR_PRODUCTOR;
+            hilos.add(new Thread(() -> {
+                try {
+                    salida.await();
+                    for (int i = 0; i < POR_PRODUCTOR; i++) {
+                        cola.offer(base + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "productor-" + p));
+        }
+        hilos.forEach(Thread::start);
+        salida.countDown();
+        for (Thread hilo : hilos.subList(CONSUMIDORES, hilos.size())) {
+            hilo.join();
+        }
+        for (int c = 0; c < CONSUMIDORES; c++) {
+            cola.offer(FIN);
+        }
+        for (Thread hilo : hilos.subList(0, CONSUMIDORES)) {
+            hilo.join();
+        }
+
+        assertTrue(errores.isEmpty(), () -> "Errores en los consumidores: " + errores);
+        for (int i = 0; i < recibidos.length(); i++) {
+            assertEquals(1, recibidos.get(i), "elemento " + i);
+        }
+        assertTrue(cola.isEmpty());
+        assertNull(cola.poll());
+    }
+
+    @Test
+    void variosProductoresYConsumidoresConPoll() throws InterruptedException {
+        verificarSinPerdidasNiDuplicados(false);
+    }
+
+    @Test
+    void variosProductoresYConsumidoresConTake() throws InterruptedException {
+        verificarSinPerdidasNiDuplicados(true);
+    }
+
+    @Test
+    void takeConPlazoDevuelveNullSiNoLlegaNada() throws InterruptedException {
+        ColaTareasConcurrente<String> cola = new ColaTareasConcurrente<>();
+        assertNull(cola.take(20, TimeUnit.MILLISECONDS));
+        cola.offer("a");
+        assertEquals("a", cola.take(20, TimeUnit.MILLISECONDS));
+    }
+}
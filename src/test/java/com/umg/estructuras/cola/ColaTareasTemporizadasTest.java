@@ -0,0 +1,244 @@
+package com.umg.estructuras.cola;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(30)
+class ColaTareasTemporizadasTest {
+    private static final long NIVEL_SUPERIOR = 1L << 36; // Ticks que alcanza la rueda completa
+
+    /** Reloj que solo avanza cuando la prueba lo indica. */
+    static final class RelojManual extends Clock {
+        private final AtomicLong millis = new AtomicLong(1_000_000L);
+
+        void avanzar(long cuanto) {
+            millis.addAndGet(cuanto);
+        }
+
+        void fijar(long valor) {
+            millis.set(valor);
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zona) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private final RelojManual reloj = new RelojManual();
+
+    private ColaTareasTemporizadas<Long> cola(long resolucionMillis) {
+        return new ColaTareasTemporizadas<>(Duration.ofMillis(resolucionMillis), reloj);
+    }
+
+    private Instant en(long millis) {
+        return Instant.ofEpochMilli(reloj.millis() + millis);
+    }
+
+    private static List<Long> vaciar(ColaTareasTemporizadas<Long> cola) {
+        List<Long> datos = new ArrayList<>();
+        for (Long dato = cola.dequeue(); dato != null; dato = cola.dequeue()) {
+            datos.add(dato);
+        }
+        return datos;
+    }
+
+    @Test
+    void lasTareasDeUnMismoTickSalenEnOrdenDeLlegada() {
+        ColaTareasTemporizadas<Long> cola = cola(10);
+        cola.enqueue(1L, en(15));
+        cola.enqueue(2L, en(12));
+        cola.enqueue(3L, en(20));
+        cola.enqueue(4L, en(21)); // Siguiente tick
+        reloj.avanzar(19);
+        assertNull(cola.dequeue()); // Nunca antes de su instante
+        assertNull(cola.peek());
+        reloj.avanzar(1);
+        assertEquals(1L, cola.peek());
+        assertEquals(List.of(1L, 2L, 3L), vaciar(cola));
+        reloj.avanzar(10);
+        assertEquals(List.of(4L), vaciar(cola));
+        assertTrue(cola.isEmpty());
+    }
+
+    @Test
+    void cadaTareaVenceEnLaFronteraEntreNiveles() {
+        ColaTareasTemporizadas<Long> cola = cola(1);
+        long[] vencimientos = {1, 63, 64, 65, 127, 128, 4095, 4096, 4097, 262_143, 262_144, 262_145,
+                16_777_216, 16_777_217, 1L << 30, (1L << 30) + 1};
+        long inicio = reloj.millis();
+        for (long vencimiento : vencimientos) {
+            cola.enqueue(vencimiento, en(vencimiento));
+        }
+        assertEquals(vencimientos.length, cola.size());
+        for (long vencimiento : vencimientos) {
+            reloj.fijar(inicio + vencimiento - 1);
+            assertNull(cola.dequeue(), "antes de " + vencimiento);
+            reloj.fijar(inicio + vencimiento);
+            assertEquals(List.of(vencimiento), vaciar(cola));
+        }
+        assertTrue(cola.isEmpty());
+    }
+
+    @Test
+    void laRuedaDaVariasVueltasMasAllaDeSus64Casillas() {
+        ColaTareasTemporizadas<Long> cola = cola(1);
+        long inicio = reloj.millis();
+        for (long t = 0; t < 1000; t++) {
+            long relativo = reloj.millis() - inicio;
+            cola.enqueue(relativo + 50, en(50));  // Nivel 0
+            cola.enqueue(-(relativo + 70), en(70)); // Nivel 1, baja al nivel 0 antes de vencer
+            reloj.avanzar(1);
+            List<Long> vencidas = vaciar(cola);
+            long ahora = relativo + 1;
+            List<Long> esperadas = new ArrayList<>();
+            if (ahora >= 50) {
+                esperadas.add(ahora);
+            }
+            if (ahora >= 70) {
+                esperadas.add(-ahora);
+            }
+            assertEquals(new HashSet<>(esperadas), new HashSet<>(vencidas), "en el ms " + ahora);
+        }
+    }
+
+    @Test
+    void losVencimientosMasAllaDelNivelSuperiorSeReubican() {
+        ColaTareasTemporizadas<Long> cola = cola(1);
+        long inicio = reloj.millis();
+        long[] vencimientos = {NIVEL_SUPERIOR - 1, NIVEL_SUPERIOR, NIVEL_SUPERIOR + 5, 3 * NIVEL_SUPERIOR + 12_345};
+        for (long vencimiento : vencimientos) {
+            cola.enqueue(vencimiento, en(vencimiento));
+        }
+        cola.enqueue(0L, en(100));
+        reloj.fijar(inicio + 100);
+        assertEquals(List.of(0L), vaciar(cola));
+        for (long vencimiento : vencimientos) {
+            reloj.fijar(inicio + vencimiento - 1);
+            assertNull(cola.dequeue(), "antes de " + vencimiento);
+            reloj.fijar(inicio + vencimiento);
+            assertEquals(List.of(vencimiento), vaciar(cola));
+        }
+        assertTrue(cola.isEmpty());
+    }
+
+    @Test
+    void unInstantePasadoOInmediatoVenceEnSeguida() {
+        ColaTareasTemporizadas<Long> cola = cola(5);
+        reloj.avanzar(1234);
+        cola.enqueue(1L);
+        cola.enqueue(2L, en(-100));
+        cola.enqueue(3L, Instant.EPOCH); // Anterior al origen de la rueda
+        cola.enqueue(4L, en(0));
+        assertEquals(List.of(1L, 2L, 3L, 4L), vaciar(cola));
+    }
+
+    @Test
+    void entregaEnOrdenDeVencimientoConMovimientosAleatoriosDelReloj() {
+        Random aleatorio = new Random(6);
+        ColaTareasTemporizadas<Long> cola = cola(1);
+        long inicio = reloj.millis();
+        Set<Long> pendientes = new HashSet<>();
+        long[] limites = {64, 4096, 262_144, 1L << 24, NIVEL_SUPERIOR * 2};
+        for (int ronda = 0; ronda < 2000; ronda++) {
+            for (int i = aleatorio.nextInt(4); i > 0; i--) {
+                long limite = limites[aleatorio.nextInt(limites.length)];
+                long vencimiento = reloj.millis() - inicio + 1 + Math.floorMod(aleatorio.nextLong(), limite);
+                if (pendientes.add(vencimiento)) {
+                    cola.enqueue(vencimiento, Instant.ofEpochMilli(inicio + vencimiento));
+                }
+            }
+            long salto = aleatorio.nextInt(10) == 0 ? Math.floorMod(aleatorio.nextLong(), NIVEL_SUPERIOR) : aleatorio.nextInt(200);
+            reloj.avanzar(salto);
+            long ahora = reloj.millis() - inicio;
+            long anterior = Long.MIN_VALUE;
+            for (long vencida : vaciar(cola)) {
+                assertTrue(vencida <= ahora, "entregada antes de tiempo: " + vencida);
+                assertTrue(vencida >= anterior, "fuera de orden: " + vencida + " tras " + anterior);
+                assertTrue(pendientes.remove(vencida));
+                anterior = vencida;
+            }
+            for (long pendiente : pendientes) {
+                assertTrue(pendiente > ahora, "no se entregó a tiempo: " + pendiente);
+            }
+            assertEquals(pendientes.size(), cola.size());
+        }
+    }
+
+    @Test
+    void tomarSiguienteVencidaDevuelveNullAlAgotarElPlazo() throws InterruptedException {
+        ColaTareasTemporizadas<Long> cola = cola(1);
+        long antes = System.nanoTime();
+        assertNull(cola.tomarSiguienteVencida(Duration.ofMillis(50)));
+        cola.enqueue(1L, en(60_000)); // Vence mucho después del plazo
+        assertNull(cola.tomarSiguienteVencida(Duration.ofMillis(50)));
+        assertTrue(System.nanoTime() - antes >= Duration.ofMillis(100).toNanos());
+        assertEquals(1, cola.size());
+    }
+
+    @Test
+    void tomarSiguienteVencidaDespiertaConUnaTareaMasTemprana() throws Exception {
+        ColaTareasTemporizadas<Long> cola = cola(1);
+        cola.enqueue(1L, en(3_600_000)); // El líder duerme hasta el plazo: el reloj manual no avanza
+        AtomicReference<Object> resultado = new AtomicReference<>();
+        Thread consumidor = new Thread(() -> {
+            try {
+                resultado.set(cola.tomarSiguienteVencida(Duration.ofSeconds(20)));
+            } catch (InterruptedException e) {
+                resultado.set(e);
+            }
+        }, "consumidor-temporizado");
+        consumidor.start();
+        while (consumidor.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        long antes = System.nanoTime();
+        cola.enqueue(2L);
+        consumidor.join(10_000);
+        assertEquals(2L, resultado.get());
+        assertTrue(System.nanoTime() - antes < Duration.ofSeconds(10).toNanos());
+        assertEquals(1, cola.size());
+    }
+
+    @Test
+    void tomarSiguienteVencidaDuermeHastaElVencimiento() throws InterruptedException {
+        ColaTareasTemporizadas<Long> cola = new ColaTareasTemporizadas<>(Duration.ofMillis(1), Clock.systemUTC());
+        long antes = System.nanoTime();
+        cola.enqueue(1L, Instant.now().plusMillis(100));
+        assertEquals(1L, cola.tomarSiguienteVencida(Duration.ofSeconds(10)));
+        long esperado = System.nanoTime() - antes;
+        assertTrue(esperado >= Duration.ofMillis(99).toNanos(), "entregada antes de tiempo");
+        assertTrue(esperado < Duration.ofSeconds(5).toNanos(), "no despertó al vencer");
+    }
+}
@@ -0,0 +1,89 @@
+package com.umg.estructuras.cola;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(60)
+class DequeTrabajoTest {
+    private static final int ELEMENTOS = 200_000;
+    private static final int LADRONES = 3;
+
+    @Test
+    void elDuenoUsaOrdenLifoYLosLadronesFifo() {
+        DequeTrabajo<Integer> deque = new DequeTrabajo<>();
+        for (int i = 0; i < 100; i++) { // Supera la capacidad inicial
+            deque.apilar(i);
+        }
+        assertEquals(100, deque.tamano());
+        assertEquals(99, deque.desapilar());
+        assertEquals(0, deque.robar());
+        assertEquals(1, deque.robar());
+        assertEquals(98, deque.desapilar());
+        assertEquals(96, deque.tamano());
+    }
+
+    /**
+     * El dueño apila y desapila mientras varios ladrones roban: cada elemento sale exactamente una vez,
+     * también los que se disputan cuando queda uno solo y los que cruzan un crecimiento del arreglo.
+     */
+    @Test
+    void duenoYLadronesNoPierdenNiDuplicanElementos() throws InterruptedException {
+        DequeTrabajo<Integer> deque = new DequeTrabajo<>();
+        AtomicIntegerArray recibidos = new AtomicIntegerArray(ELEMENTOS);
+        AtomicBoolean terminado = new AtomicBoolean();
+        List<Thread> ladrones = new ArrayList<>();
+        for (int l = 0; l < LADRONES; l++) {
+            Thread ladron = new Thread(() -> {
+                while (true) {
+                    Integer dato = deque.robar();
+                    if (dato != null) {
+                        recibidos.incrementAndGet(dato);
+                    } else if (terminado.get() && deque.tamano() == 0) {
+                        return;
+                    } else {
+                        Thread.onSpinWait();
+                    }
+                }
+            }, "ladron-" + l);
+            ladrones.add(ladron);
+            ladron.start();
+        }
+
+        int siguiente = 0;
+        while (siguiente < ELEMENTOS) {
+            // Ráfagas de tamaño variable para pasar a menudo por el deque vacío y por el crecimiento
+            int rafaga = 1 + (siguiente % 200);
+            for (int i = 0; i < rafaga && siguiente < ELEMENTOS; i++) {
+                deque.apilar(siguiente++);
+            }
+            for (int i = 0; i < rafaga / 2; i++) {
+                Integer dato = deque.desapilar();
+                if (dato == null) {
+                    break;
+                }
+                recibidos.incrementAndGet(dato);
+            }
+        }
+        Integer dato;
+        while ((dato = deque.desapilar()) != null) {
+            recibidos.incrementAndGet(dato);
+        }
+        terminado.set(true);
+        for (Thread ladron : ladrones) {
+            ladron.join();
+        }
+
+        for (int i = 0; i < ELEMENTOS; i++) {
+            assertEquals(1, recibidos.get(i), "elemento " + i);
+        }
+        assertNull(deque.robar());
+        assertEquals(0, deque.tamano());
+    }
+}
@@ -0,0 +1,105 @@
+package com.umg.estructuras.cola;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+@Timeout(30)
+class EjecutorRobaTrabajoTest {
+
+    private static EjecutorRobaTrabajo<Runnable> ejecutor(int trabajadores, int limitePendientes) {
+        return EjecutorRobaTrabajo.deRunnables(trabajadores, limitePendientes,
+                EjecutorRobaTrabajo.hilosDePlataforma("prueba-ejecutor-"));
+    }
+
+    @Test
+    void unErrorEnUnaTareaNoDetieneAlTrabajador() throws InterruptedException {
+        AtomicInteger ejecutadas = new AtomicInteger();
+        EjecutorRobaTrabajo<Runnable> ejecutor = ejecutor(1, 16);
+        ejecutor.enviar(() -> {
+            throw new Error("falla de prueba");
+        });
+        for (int i = 0; i < 100; i++) {
+            ejecutor.enviar(ejecutadas::incrementAndGet);
+        }
+        ejecutor.close();
+        assertEquals(100, ejecutadas.get());
+        assertEquals(100, ejecutor.getEjecutadas());
+        assertEquals(1, ejecutor.getFallidas());
+    }
+
+    @Test
+    void cerrarDesdeUnaTareaNoSeBloquea() throws InterruptedException {
+        EjecutorRobaTrabajo<Runnable> ejecutor = ejecutor(2, 16);
+        CountDownLatch cerrado = new CountDownLatch(1);
+        ejecutor.enviar(() -> {
+            ejecutor.close();
+            cerrado.countDown();
+        });
+        assertTrue(cerrado.await(10, TimeUnit.SECONDS));
+        assertTrue(ejecutor.esperarTerminacion(10, TimeUnit.SECONDS));
+        assertTrue(ejecutor.estaCerrado());
+    }
+
+    @Test
+    void cerrarTerminaLasTareasPendientesYRechazaLasNuevas() throws InterruptedException {
+        AtomicInteger ejecutadas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        EjecutorRobaTrabajo<Runnable> ejecutor = ejecutor(2, 1000);
+        for (int i = 0; i < 2; i++) { // Ocupa a los dos trabajadores
+            ejecutor.enviar(() -> {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                ejecutadas.incrementAndGet();
+            });
+        }
+        for (int i = 0; i < 500; i++) {
+            ejecutor.enviar(ejecutadas::incrementAndGet);
+        }
+        ejecutor.cerrar();
+        assertTrue(ejecutor.estaCerrado());
+        assertThrows(IllegalStateException.class, () -> ejecutor.enviar(ejecutadas::incrementAndGet));
+        assertFalse(ejecutor.esperarTerminacion(50, TimeUnit.MILLISECONDS)); // Siguen pendientes
+        assertTrue(ejecutor.getPendientes() > 0);
+
+        liberar.countDown();
+        assertTrue(ejecutor.esperarTerminacion(10, TimeUnit.SECONDS));
+        assertEquals(502, ejecutadas.get());
+        assertEquals(0, ejecutor.getPendientes());
+    }
+
+    @Test
+    void closeEsperaALasTareasPendientes() throws InterruptedException {
+        AtomicInteger ejecutadas = new AtomicInteger();
+        EjecutorRobaTrabajo<Runnable> ejecutor = ejecutor(3, 64);
+        for (int i = 0; i < 10_000; i++) {
+            ejecutor.enviar(() -> {
+                // Cada tarea envía una subtarea al deque de su trabajador mientras el ejecutor siga abierto
+                if (!ejecutor.estaCerrado()) {
+                    try {
+                        ejecutor.enviar(ejecutadas::incrementAndGet);
+                    } catch (IllegalStateException | InterruptedException e) {
+                        ejecutadas.incrementAndGet(); // Rechazada al cerrar: se cuenta igual para el total
+                    }
+                } else {
+                    ejecutadas.incrementAndGet();
+                }
+                ejecutadas.incrementAndGet();
+            });
+        }
+        ejecutor.close();
+        assertEquals(20_000, ejecutadas.get());
+        assertEquals(0, ejecutor.getPendientes());
+        assertEquals(0, ejecutor.getFallidas());
+    }
+}
@@ -0,0 +1,103 @@
+package com.umg.estructuras.lista;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+class ListaTareaTest {
+
+    /** Dato cuya igualdad depende solo de la clave; la serie distingue ocurrencias repetidas. */
+    private static final class Tarea {
+        final int clave;
+        final int serie;
+
+        Tarea(int clave, int serie) {
+            this.clave = clave;
+            this.serie = serie;
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            return otro instanceof Tarea && ((Tarea) otro).clave == clave;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(clave);
+        }
+
+        @Override
+        public String toString() {
+            return clave + "#" + serie;
+        }
+    }
+
+    private static List<String> contenido(Iterable<Tarea> datos) {
+        List<String> resultado = new ArrayList<>();
+        for (Tarea tarea : datos) {
+            resultado.add(tarea.toString());
+        }
+        return resultado;
+    }
+
+    @Test
+    void indiceConDuplicadosCoincideConUnaListaSimple() {
+        Random aleatorio = new Random(3);
+        ListaTarea<Tarea> lista = new ListaTarea<>(true);
+        List<Tarea> esperada = new ArrayList<>();
+        int serie = 0;
+        for (int paso = 0; paso < 5_000; paso++) {
+            Tarea tarea = new Tarea(aleatorio.nextInt(8), serie++);
+            switch (aleatorio.nextInt(5)) {
+                case 0:
+                    lista.agregarAlInicio(tarea);
+                    esperada.add(0, tarea);
+                    break;
+                case 1:
+                    List<Tarea> lote = List.of(tarea, new Tarea(tarea.clave, serie++));
+                    lista.agregarTodos(lote);
+                    esperada.addAll(lote);
+                    break;
+                case 2:
+                    assertEquals(esperada.remove(tarea), lista.eliminar(tarea));
+                    break;
+                default:
+                    lista.agregar(tarea);
+                    esperada.add(tarea);
+            }
+            if (paso % 500 == 0) {
+                assertEquals(contenido(esperada), contenido(lista), "paso " + paso);
+            }
+        }
+        assertEquals(contenido(esperada), contenido(lista));
+        for (int clave = 0; clave < 8; clave++) {
+            Tarea tarea = new Tarea(clave, -1);
+            while (esperada.remove(tarea)) {
+                assertTrue(lista.eliminar(tarea));
+            }
+            assertEquals(contenido(esperada), contenido(lista));
+            assertFalse(lista.buscar(tarea));
+        }
+        assertTrue(lista.estaVacia());
+    }
+
+    @Test
+    @Timeout(5)
+    void agregarMuchosDuplicadosNoEsCuadratico() {
+        ListaTarea<String> lista = new ListaTarea<>(true);
+        for (int i = 0; i < 200_000; i++) {
+            lista.agregar("repetida");
+        }
+        assertEquals(200_000, lista.tamano());
+        assertTrue(lista.eliminar("repetida"));
+        lista.agregar("repetida");
+        assertEquals(200_000, lista.tamano());
+        assertEquals("repetida", lista.obtener(199_999));
+    }
+}
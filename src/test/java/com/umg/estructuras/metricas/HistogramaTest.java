@@ -0,0 +1,89 @@
+package com.umg.estructuras.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class HistogramaTest {
+
+    private static void verificarCubeta(long valor) {
+        int cubeta = Histograma.cubeta(valor);
+        assertTrue(Histograma.limiteSuperior(cubeta) >= valor, "límite de la cubeta de " + valor);
+        if (cubeta > 0) {
+            assertTrue(Histograma.limiteSuperior(cubeta - 1) < valor, "límite de la cubeta anterior a " + valor);
+        }
+        assertEquals(cubeta, Histograma.cubeta(Histograma.limiteSuperior(cubeta)), "ida y vuelta de " + valor);
+    }
+
+    @Test
+    void cubetasAlrededorDelLimiteExacto() {
+        for (long valor = 0; valor <= 200; valor++) {
+            verificarCubeta(valor);
+        }
+        assertEquals(63, Histograma.cubeta(63));
+        assertEquals(63, Histograma.limiteSuperior(63));
+        assertEquals(64, Histograma.cubeta(64));
+        assertEquals(64, Histograma.cubeta(65)); // Desde 64 las cubetas tienen ancho 2
+        assertEquals(65, Histograma.limiteSuperior(64));
+        assertEquals(65, Histograma.cubeta(66));
+    }
+
+    @Test
+    void cubetasEnCadaPotenciaDeDosHastaLongMaxValue() {
+        for (int bit = 6; bit < 63; bit++) {
+            long potencia = 1L << bit;
+            verificarCubeta(potencia - 1);
+            verificarCubeta(potencia);
+            verificarCubeta(potencia + 1);
+        }
+        verificarCubeta(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, Histograma.limiteSuperior(Histograma.cubeta(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void elErrorDeLosPercentilesEsMenorQueUnTreintaYDosavo() {
+        Random aleatorio = new Random(24);
+        int n = 100_000;
+        long[] valores = new long[n];
+        Histograma histograma = new Histograma();
+        for (int i = 0; i < n; i++) {
+            valores[i] = (long) Math.exp(aleatorio.nextDouble() * 40); // De 1 a unos 2^57
+            histograma.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+        ResumenHistograma resumen = histograma.resumen();
+        assertEquals(n, resumen.getConteo());
+        assertEquals(valores[0], resumen.getMinimo());
+        assertEquals(valores[n - 1], resumen.getMaximo());
+        long[] estimados = {resumen.getP50(), resumen.getP90(), resumen.getP99(), resumen.getP999()};
+        double[] percentiles = {50.0, 90.0, 99.0, 99.9};
+        for (int i = 0; i < percentiles.length; i++) {
+            long exacto = valores[(int) Math.ceil(percentiles[i] / 100.0 * n) - 1];
+            assertTrue(estimados[i] >= exacto, "p" + percentiles[i]);
+            assertTrue(estimados[i] - exacto <= exacto / 32, "p" + percentiles[i] + ": " + estimados[i] + " frente a " + exacto);
+        }
+    }
+
+    @Test
+    void reiniciarDescartaLosValores() {
+        Histograma histograma = new Histograma();
+        histograma.registrar(1000);
+        histograma.registrar(-5); // Se cuenta como 0
+        assertEquals(2, histograma.conteo());
+        assertEquals(0, histograma.resumen().getMinimo());
+
+        histograma.reiniciar();
+        assertEquals(0, histograma.conteo());
+        assertEquals(0, histograma.resumen().getConteo());
+        assertEquals(0, histograma.resumen().getP99());
+
+        histograma.registrar(7);
+        ResumenHistograma resumen = histograma.resumen();
+        assertEquals(7, resumen.getMinimo());
+        assertEquals(7, resumen.getMaximo());
+        assertEquals(7.0, resumen.getMedia());
+    }
+}
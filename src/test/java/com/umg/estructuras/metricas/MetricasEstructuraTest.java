@@ -0,0 +1,91 @@
+package com.umg.estructuras.metricas;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import org.junit.jupiter.api.Test;
+
+class MetricasEstructuraTest {
+
+    enum Operacion { AGREGAR, QUITAR }
+
+    private final AtomicInteger tamano = new AtomicInteger();
+
+    private MetricasEstructura<Operacion> metricas(String nombre) {
+        return new MetricasEstructura<>(nombre, Operacion.class, tamano::get, "latencia");
+    }
+
+    @Test
+    void reiniciarPoneACeroContadoresMaximoEHistogramas() {
+        MetricasEstructura<Operacion> metricas = metricas("reiniciar");
+        metricas.contar(Operacion.AGREGAR);
+        metricas.contar(Operacion.AGREGAR);
+        metricas.contar(Operacion.QUITAR);
+        metricas.observarTamano(10);
+        metricas.histograma("latencia").registrar(500);
+        tamano.set(3);
+        assertEquals(2, metricas.contador(Operacion.AGREGAR));
+        assertEquals(10, metricas.getTamanoMaximo());
+
+        metricas.reiniciar();
+
+        assertEquals(0, metricas.contador(Operacion.AGREGAR));
+        assertEquals(0, metricas.contador(Operacion.QUITAR));
+        assertEquals(3, metricas.getTamanoMaximo()); // Nunca menor que el tamaño actual
+        assertEquals(0, metricas.histograma("latencia").conteo());
+        InstantaneaMetricas instantanea = metricas.instantanea();
+        assertEquals(0, instantanea.getOperacion("AGREGAR"));
+        assertEquals(0, instantanea.getHistogramas().get("latencia").getConteo());
+        assertThrows(IllegalArgumentException.class, () -> metricas.histograma("otro"));
+    }
+
+    @Test
+    void registrarJmxPublicaLosAtributos() throws Exception {
+        MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+        MetricasEstructura<Operacion> metricas = metricas("cola \"prueba\"");
+        ObjectName nombre = metricas.registrarJmx();
+        try {
+            assertEquals("com.umg.estructuras", nombre.getDomain());
+            assertEquals("MetricasEstructuraTest", nombre.getKeyProperty("type"));
+            assertTrue(servidor.isRegistered(nombre));
+            assertSame(nombre, metricas.registrarJmx()); // Registrar de nuevo no hace nada
+
+            metricas.contar(Operacion.QUITAR);
+            metricas.histograma("latencia").registrar(40);
+            metricas.histograma("latencia").registrar(80);
+            tamano.set(5);
+            assertEquals("cola \"prueba\"", servidor.getAttribute(nombre, "Nombre"));
+            assertEquals(5, servidor.getAttribute(nombre, "Tamano"));
+            assertEquals(5L, servidor.getAttribute(nombre, "TamanoMaximo"));
+            TabularData operaciones = (TabularData) servidor.getAttribute(nombre, "Operaciones");
+            assertEquals(1L, operaciones.get(new Object[]{"QUITAR"}).get("value"));
+            assertEquals(0L, operaciones.get(new Object[]{"AGREGAR"}).get("value"));
+            TabularData histogramas = (TabularData) servidor.getAttribute(nombre, "Histogramas");
+            CompositeData latencia = (CompositeData) histogramas.get(new Object[]{"latencia"}).get("value");
+            assertEquals(2L, latencia.get("conteo"));
+            assertEquals(40L, latencia.get("minimo"));
+            assertEquals(80L, latencia.get("maximo"));
+
+            servidor.invoke(nombre, "reiniciar", null, null);
+            assertEquals(0L, metricas.contador(Operacion.QUITAR));
+
+            MetricasEstructura<Operacion> repetidas = metricas("cola \"prueba\"");
+            assertThrows(IllegalStateException.class, repetidas::registrarJmx);
+        } finally {
+            metricas.retirarJmx();
+        }
+        assertFalse(servidor.isRegistered(nombre));
+        metricas.retirarJmx(); // Retirar de nuevo no hace nada
+        assertEquals(nombre, metricas.registrarJmx()); // Se puede volver a publicar
+        metricas.retirarJmx();
+    }
+}
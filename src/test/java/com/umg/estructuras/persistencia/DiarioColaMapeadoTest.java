@@ -0,0 +1,221 @@
+package com.umg.estructuras.persistencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DiarioColaMapeadoTest {
+    /** Cabecera más tres registros de un texto de un carácter. */
+    private static final int SEGMENTO_DE_TRES = 16 + 3 * (17 + 4 + 1);
+
+    private static final int POSICION_TIPO = Integer.BYTES;
+
+    @TempDir
+    Path directorio;
+
+    private DiarioColaMapeado<String> abrir(int tamanoSegmento) throws IOException {
+        return DiarioColaMapeado.abrir(directorio, CodificadorBinario.texto(), Durabilidad.cadaOperacion(), tamanoSegmento);
+    }
+
+    private Path ultimoSegmento() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.sorted().reduce((a, b) -> b).orElseThrow();
+        }
+    }
+
+    private long archivos() throws IOException {
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.count();
+        }
+    }
+
+    /**
+     * Posiciones donde empieza cada registro escrito de un segmento (longitud, tipo, secuencia, dato, CRC).
+     */
+    private static List<Integer> registros(Path segmento) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmento));
+        List<Integer> posiciones = new ArrayList<>();
+        int posicion = 16;
+        while (posicion + 17 <= buffer.capacity() && buffer.get(posicion + POSICION_TIPO) != 0) {
+            posiciones.add(posicion);
+            posicion += 17 + buffer.getInt(posicion);
+        }
+        return posiciones;
+    }
+
+    private static void escribirCeros(Path segmento, long desde, int bytes) throws IOException {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(bytes), desde);
+        }
+    }
+
+    @Test
+    void recuperaLosPendientesTrasUnFinalTruncado() throws IOException {
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            for (int i = 0; i < 10; i++) {
+                diario.encolado("tarea-" + i);
+            }
+            diario.desencolado();
+        }
+        Path segmento = ultimoSegmento();
+        List<Integer> posiciones = registros(segmento);
+        int ultimo = posiciones.get(posiciones.size() - 2); // El último encolado, antes del desencolado
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.truncate(ultimo + 10); // Corta el registro a mitad de la secuencia
+        }
+
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            List<String> esperados = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                esperados.add("tarea-" + i);
+            }
+            assertEquals(esperados, diario.recuperar());
+            diario.encolado("despues");
+        }
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            List<String> recuperados = diario.recuperar();
+            assertEquals(10, recuperados.size());
+            assertEquals("tarea-0", recuperados.get(0));
+            assertEquals("despues", recuperados.get(9));
+        }
+    }
+
+    @Test
+    void recuperaLosPendientesTrasUnFinalEnCeros() throws IOException {
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            for (int i = 0; i < 5; i++) {
+                diario.encolado("tarea-" + i);
+            }
+        }
+        Path segmento = ultimoSegmento();
+        List<Integer> posiciones = registros(segmento);
+        // El penúltimo registro conserva su tipo pero pierde el dato y el CRC; el último queda en ceros
+        int penultimo = posiciones.get(3);
+        escribirCeros(segmento, penultimo + 5 + 8, 64);
+
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            assertEquals(List.of("tarea-0", "tarea-1", "tarea-2"), diario.recuperar());
+            diario.encolado("nueva");
+        }
+        // La cola rota se borró al recuperar, así que el registro nuevo no queda seguido de restos
+        assertEquals(4, registros(segmento).size());
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            assertEquals(List.of("tarea-0", "tarea-1", "tarea-2", "nueva"), diario.recuperar());
+        }
+    }
+
+    @Test
+    void descartaUnUltimoSegmentoConLaCabeceraEnCeros() throws IOException {
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            diario.encolado("a");
+            diario.encolado("b");
+        }
+        // Segmento creado y extendido justo antes de un fallo, sin que su cabecera llegara al disco
+        Path sinCabecera = directorio.resolve("diario-00000000000000000001.seg");
+        Files.write(sinCabecera, new byte[4096]);
+
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            assertEquals(List.of("a", "b"), diario.recuperar());
+            assertFalse(Files.exists(sinCabecera));
+            assertEquals(1, diario.segmentos());
+            diario.encolado("c");
+        }
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            assertEquals(List.of("a", "b", "c"), diario.recuperar());
+        }
+    }
+
+    @Test
+    void unUnicoSegmentoConLaCabeceraEnCerosSeRecuperaVacio() throws IOException {
+        Files.write(directorio.resolve("diario-00000000000000000000.seg"), new byte[4096]);
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            assertTrue(diario.recuperar().isEmpty());
+            diario.encolado("a");
+        }
+        try (DiarioColaMapeado<String> diario = abrir(4096)) {
+            assertEquals(List.of("a"), diario.recuperar());
+        }
+    }
+
+    @Test
+    void recuperaTrasCambiosDeSegmentoYCompactacion() throws IOException {
+        Random aleatorio = new Random(7);
+        ArrayDeque<String> esperados = new ArrayDeque<>();
+        int siguiente = 0;
+        for (int ronda = 0; ronda < 20; ronda++) {
+            try (DiarioColaMapeado<String> diario = abrir(256)) {
+                assertEquals(new ArrayList<>(esperados), diario.recuperar(), "ronda " + ronda);
+                for (int i = 0; i < 300; i++) {
+                    if (esperados.isEmpty() || aleatorio.nextInt(10) < 5) {
+                        String dato = "t" + siguiente++ + "x".repeat(aleatorio.nextInt(40));
+                        diario.encolado(dato);
+                        esperados.addLast(dato);
+                    } else {
+                        diario.desencolado();
+                        esperados.removeFirst();
+                    }
+                }
+                assertEquals(diario.segmentos(), archivos());
+            }
+        }
+        try (DiarioColaMapeado<String> diario = abrir(256)) {
+            assertEquals(new ArrayList<>(esperados), diario.recuperar());
+            while (!esperados.isEmpty()) {
+                diario.desencolado();
+                esperados.removeFirst();
+            }
+            // Solo queda el segmento activo con los desencolados del final; los anteriores se borraron
+            assertEquals(1, diario.segmentos());
+            assertEquals(1, archivos());
+            assertTrue(ultimoSegmento().getFileName().toString().compareTo("diario-00000000000000000100.seg") > 0);
+        }
+        try (DiarioColaMapeado<String> diario = abrir(256)) {
+            assertTrue(diario.recuperar().isEmpty());
+        }
+    }
+
+    private static void llenarPrimerSegmentoYConsumirlo(DiarioColaMapeado<String> diario) {
+        for (String dato : new String[]{"a", "b", "c"}) {
+            diario.encolado(dato);
+        }
+        diario.desencolado(); // Ya no cabe: se registra en el segundo segmento
+        diario.desencolado();
+        assertEquals(2, diario.segmentos());
+        diario.desencolado();
+    }
+
+    @Test
+    void compactaTrasForzarCadaDesencolado() throws IOException {
+        try (DiarioColaMapeado<String> diario = DiarioColaMapeado.abrir(directorio, CodificadorBinario.texto(),
+                Durabilidad.cadaOperacion(), SEGMENTO_DE_TRES)) {
+            llenarPrimerSegmentoYConsumirlo(diario);
+            assertEquals(1, diario.segmentos());
+        }
+    }
+
+    @Test
+    void noBorraSegmentosHastaForzarLosDesencolados() throws IOException {
+        try (DiarioColaMapeado<String> diario = DiarioColaMapeado.abrir(directorio, CodificadorBinario.texto(),
+                Durabilidad.cadaIntervalo(Duration.ofHours(1)), SEGMENTO_DE_TRES)) {
+            llenarPrimerSegmentoYConsumirlo(diario);
+            assertEquals(2, diario.segmentos()); // Los desencolados aún no están en disco
+            diario.sincronizar();
+            assertEquals(1, diario.segmentos());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.umg.estructuras.persistencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.umg.estructuras.arbol.ArbolJerarquicoTareas;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InstantaneaArbolTest {
+    private static final int POSICION_PRIMER_DATO = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES;
+
+    @TempDir
+    Path directorio;
+
+    private static ArbolJerarquicoTareas<String> arbol() {
+        ArbolJerarquicoTareas<String> arbol = new ArbolJerarquicoTareas<>(Long::parseLong);
+        arbol.agregarTarea("1", null);
+        arbol.agregarTarea("2", 1L);
+        arbol.agregarTarea("3", 1L);
+        arbol.agregarTarea("4", 2L);
+        arbol.agregarTarea("5", 1L);
+        return arbol;
+    }
+
+    private static void sobrescribirInt(Path ruta, long posicion, int valor) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(Integer.BYTES).putInt(valor).flip(), posicion);
+        }
+    }
+
+    @Test
+    void guardarYCargarConservaLaEstructura() throws IOException {
+        Path ruta = directorio.resolve("arbol.bin");
+        InstantaneaArbol.guardar(arbol(), ruta, CodificadorBinario.texto());
+        ArbolJerarquicoTareas<String> cargado = InstantaneaArbol.cargar(ruta, CodificadorBinario.texto(), Long::parseLong);
+        assertEquals(5, cargado.tamano());
+        assertEquals(List.of("2", "3", "5"), cargado.obtenerHijos(1L));
+        assertEquals("2", cargado.obtenerPadre(4L));
+    }
+
+    @Test
+    void longitudDeTextoDanadaNoReservaMemoria() throws IOException {
+        Path ruta = directorio.resolve("arbol.bin");
+        InstantaneaArbol.guardar(arbol(), ruta, CodificadorBinario.texto());
+        sobrescribirInt(ruta, POSICION_PRIMER_DATO, Integer.MAX_VALUE - 8);
+        IOException error = assertThrows(IOException.class,
+                () -> InstantaneaArbol.cargar(ruta, CodificadorBinario.texto(), Long::parseLong));
+        assertInstanceOf(BufferUnderflowException.class, error.getCause());
+
+        sobrescribirInt(ruta, POSICION_PRIMER_DATO, -5);
+        error = assertThrows(IOException.class,
+                () -> InstantaneaArbol.cargar(ruta, CodificadorBinario.texto(), Long::parseLong));
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    @Test
+    void unErrorDelCodificadorSeConvierteEnIOException() throws IOException {
+        Path ruta = directorio.resolve("arbol.bin");
+        InstantaneaArbol.guardar(arbol(), ruta, CodificadorBinario.texto());
+        CodificadorBinario<String> texto = CodificadorBinario.texto();
+        CodificadorBinario<String> exigente = new CodificadorBinario<>() {
+            @Override
+            public int tamano(String dato) {
+                return texto.tamano(dato);
+            }
+
+            @Override
+            public void escribir(String dato, ByteBuffer destino) {
+                texto.escribir(dato, destino);
+            }
+
+            @Override
+            public String leer(ByteBuffer origen) {
+                String dato = texto.leer(origen);
+                if (dato.equals("4")) {
+                    throw new IllegalStateException("Dato no admitido: " + dato);
+                }
+                return dato;
+            }
+        };
+        ArbolJerarquicoTareas<String> destino = new ArbolJerarquicoTareas<>(Long::parseLong);
+        destino.agregarTarea("9", null);
+        IOException error = assertThrows(IOException.class, () -> InstantaneaArbol.cargarEn(ruta, exigente, destino));
+        assertEquals("Instantánea corrupta", error.getMessage());
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertEquals(1, destino.tamano()); // El árbol no cambia si la carga falla
+    }
+}
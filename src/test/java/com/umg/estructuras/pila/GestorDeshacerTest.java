@@ -0,0 +1,207 @@
+package com.umg.estructuras.pila;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class GestorDeshacerTest {
+
+    /** Agrega texto al final; las escrituras fusionables consecutivas se combinan en una. */
+    record Escribir(String texto, boolean fusionable) implements Accion<StringBuilder> {
+        @Override
+        public void aplicar(StringBuilder estado) {
+            estado.append(texto);
+        }
+
+        @Override
+        public void revertir(StringBuilder estado) {
+            estado.setLength(estado.length() - texto.length());
+        }
+
+        @Override
+        public Accion<StringBuilder> fusionar(Accion<StringBuilder> siguiente) {
+            if (fusionable && siguiente instanceof Escribir otra && otra.fusionable) {
+                return new Escribir(texto + otra.texto, true);
+            }
+            return null;
+        }
+    }
+
+    private static Escribir escribir(String texto) {
+        return new Escribir(texto, false);
+    }
+
+    private static GestorDeshacer<StringBuilder> gestor(int limiteAcciones, int intervalo, int limitePuntos) {
+        return new GestorDeshacer<>(new StringBuilder(), StringBuilder::new, limiteAcciones, intervalo, limitePuntos);
+    }
+
+    private static String texto(GestorDeshacer<StringBuilder> gestor) {
+        return gestor.getEstado().toString();
+    }
+
+    @Test
+    void deshacerYRehacerAtraviesanLosPuntosDeControl() {
+        GestorDeshacer<StringBuilder> gestor = gestor(100, 4, 10);
+        for (int i = 0; i < 10; i++) {
+            gestor.ejecutar(escribir(Integer.toString(i)));
+        }
+        assertEquals(3, gestor.puntosDeControl()); // Posiciones 0, 4 y 8
+        StringBuilder antes = gestor.getEstado();
+
+        assertEquals(7, gestor.deshacer(7)); // Más barato restaurar el punto de la posición 0 y aplicar 3
+        assertEquals("012", texto(gestor));
+        assertNotSame(antes, gestor.getEstado()); // Se restauró una copia
+        assertEquals(5, gestor.rehacer(5)); // Restaura el punto de la posición 8
+        assertEquals("01234567", texto(gestor));
+        assertEquals(1, gestor.deshacer(1));
+        assertEquals("0123456", texto(gestor));
+        assertEquals(3, gestor.rehacer(10));
+        assertEquals("0123456789", texto(gestor));
+        assertEquals(10, gestor.deshacer(20));
+        assertEquals("", texto(gestor));
+        assertFalse(gestor.puedeDeshacer());
+        assertEquals(10, gestor.rehacer(10));
+        assertEquals("0123456789", texto(gestor));
+    }
+
+    @Test
+    void lasAccionesFusionablesSeDeshacenJuntas() {
+        GestorDeshacer<StringBuilder> gestor = gestor(100, 100, 10);
+        gestor.ejecutar(new Escribir("h", true));
+        gestor.ejecutar(new Escribir("o", true));
+        gestor.ejecutar(new Escribir("la", true));
+        gestor.ejecutar(escribir("!"));
+        assertEquals(2, gestor.accionesParaDeshacer());
+        assertTrue(gestor.deshacer());
+        assertEquals("hola", texto(gestor));
+        assertTrue(gestor.deshacer());
+        assertEquals("", texto(gestor));
+        assertEquals(2, gestor.rehacer(2));
+        assertEquals("hola!", texto(gestor));
+    }
+
+    @Test
+    void noSeFusionaConUnaAccionSeguidaDeUnPuntoDeControl() {
+        GestorDeshacer<StringBuilder> gestor = gestor(100, 1, 100);
+        gestor.ejecutar(new Escribir("a", true));
+        gestor.ejecutar(new Escribir("b", true)); // El punto de la posición 1 ya guarda "a"
+        assertEquals(2, gestor.accionesParaDeshacer());
+        assertEquals(1, gestor.deshacer(1));
+        assertEquals("a", texto(gestor));
+        assertEquals(1, gestor.rehacer(1));
+        assertEquals("ab", texto(gestor));
+    }
+
+    @Test
+    void cancelarUnaTransaccionRevierteSusAcciones() {
+        GestorDeshacer<StringBuilder> gestor = gestor(100, 2, 10);
+        gestor.ejecutar(escribir("x"));
+        gestor.iniciarTransaccion();
+        gestor.ejecutar(escribir("a"));
+        gestor.ejecutar(escribir("b"));
+        assertThrows(IllegalStateException.class, gestor::deshacer);
+        gestor.cancelarTransaccion();
+        assertEquals("x", texto(gestor));
+        assertEquals(1, gestor.accionesParaDeshacer());
+        assertThrows(IllegalStateException.class, gestor::confirmarTransaccion);
+
+        // Cancelar dentro de una anidada cancela también la externa
+        gestor.iniciarTransaccion();
+        gestor.ejecutar(escribir("a"));
+        gestor.iniciarTransaccion();
+        gestor.ejecutar(escribir("b"));
+        gestor.cancelarTransaccion();
+        assertEquals("x", texto(gestor));
+        assertThrows(IllegalStateException.class, gestor::confirmarTransaccion);
+        assertTrue(gestor.deshacer());
+        assertEquals("", texto(gestor));
+    }
+
+    @Test
+    void unaTransaccionAnidadaSeRegistraComoUnaSolaAccion() {
+        GestorDeshacer<StringBuilder> gestor = gestor(100, 2, 10);
+        gestor.iniciarTransaccion();
+        gestor.ejecutar(escribir("a"));
+        gestor.iniciarTransaccion();
+        gestor.ejecutar(new Escribir("b", true));
+        gestor.ejecutar(new Escribir("c", true)); // Se fusiona dentro de la transacción
+        gestor.confirmarTransaccion();
+        assertEquals(0, gestor.accionesParaDeshacer()); // Aún no se cerró la externa
+        gestor.ejecutar(escribir("d"));
+        gestor.confirmarTransaccion();
+        assertEquals("abcd", texto(gestor));
+        assertEquals(1, gestor.accionesParaDeshacer());
+        assertTrue(gestor.deshacer());
+        assertEquals("", texto(gestor));
+        assertTrue(gestor.rehacer());
+        assertEquals("abcd", texto(gestor));
+
+        gestor.iniciarTransaccion();
+        gestor.confirmarTransaccion(); // Vacía: no registra nada
+        assertEquals(1, gestor.accionesParaDeshacer());
+    }
+
+    @Test
+    void unaAccionNuevaVaciaElHistorialDeRehacer() {
+        GestorDeshacer<StringBuilder> gestor = gestor(100, 2, 10);
+        gestor.ejecutar(escribir("a"));
+        gestor.ejecutar(escribir("b"));
+        gestor.ejecutar(escribir("c"));
+        assertEquals(2, gestor.deshacer(2));
+        assertTrue(gestor.puedeRehacer());
+        gestor.ejecutar(escribir("d"));
+        assertFalse(gestor.puedeRehacer());
+        assertFalse(gestor.rehacer());
+        assertEquals("ad", texto(gestor));
+        // Los puntos de control de la rama descartada ya no se usan
+        assertEquals(2, gestor.deshacer(2));
+        assertEquals("", texto(gestor));
+        assertEquals(2, gestor.rehacer(2));
+        assertEquals("ad", texto(gestor));
+    }
+
+    @Test
+    void coincideConUnHistorialDeEstadosEnOperacionesAleatorias() {
+        Random aleatorio = new Random(14);
+        int limiteAcciones = 30;
+        GestorDeshacer<StringBuilder> gestor = gestor(limiteAcciones, 3, 4);
+        // Estados alcanzables: historial.get(actual) es el estado actual
+        List<String> historial = new ArrayList<>(List.of(""));
+        int actual = 0;
+        for (int paso = 0; paso < 5000; paso++) {
+            int operacion = aleatorio.nextInt(10);
+            if (operacion < 5) {
+                String letra = String.valueOf((char) ('a' + aleatorio.nextInt(26)));
+                gestor.ejecutar(escribir(letra));
+                historial.subList(actual + 1, historial.size()).clear();
+                historial.add(historial.get(actual) + letra);
+                actual++;
+                if (historial.size() > limiteAcciones + 1) {
+                    historial.remove(0);
+                    actual--;
+                }
+            } else if (operacion < 8) {
+                int pasos = aleatorio.nextInt(12);
+                int esperados = Math.min(pasos, actual);
+                assertEquals(esperados, gestor.deshacer(pasos), "paso " + paso);
+                actual -= esperados;
+            } else {
+                int pasos = aleatorio.nextInt(12);
+                int esperados = Math.min(pasos, historial.size() - 1 - actual);
+                assertEquals(esperados, gestor.rehacer(pasos), "paso " + paso);
+                actual += esperados;
+            }
+            assertEquals(historial.get(actual), texto(gestor), "paso " + paso);
+            assertEquals(actual, gestor.accionesParaDeshacer());
+            assertEquals(historial.size() - 1 - actual, gestor.accionesParaRehacer());
+            assertTrue(gestor.puntosDeControl() <= 4);
+        }
+    }
+}